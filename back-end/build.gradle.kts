@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.3.3"
 	id("io.spring.dependency-management") version "1.1.6"
+	id("me.champeau.jmh") version "0.7.2" // JMH micro-benchmarks in src/jmh, run with `./gradlew jmh`
 }
 
 group = "app.clutter-map"
@@ -21,6 +22,7 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter") // Spring Boot core dependencies and auto-configuration.
 	implementation("org.springframework.boot:spring-boot-starter-web") // Spring MVC for building RESTful web services.
     implementation("org.springframework.boot:spring-boot-starter-hateoas") // Spring HATEOAS for hypermedia-driven REST APIs.
+	implementation("org.springframework.boot:spring-boot-starter-actuator") // Micrometer metrics and health endpoints.
 
 	implementation("com.google.oauth-client:google-oauth-client:1.32.1") // OAuth 2.0 client support for Google services.
     implementation("com.google.oauth-client:google-oauth-client-jetty:1.32.1") // For HTTP transport
@@ -50,7 +52,33 @@ dependencies {
 	// https://stackoverflow.com/questions/68321708/could-not-run-phased-build-action-using-connection-to-gradle-distribution
 }
 
+jmh {
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 	systemProperty("spring.profiles.active", "test")
 }
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+// Database-backed benchmarks (@Tag("benchmark")), run with `./gradlew benchmark`
+tasks.register<Test>("benchmark") {
+	description = "Runs the database-backed benchmarks."
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
@@ -0,0 +1,158 @@
+package app.cluttermap.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+import app.cluttermap.model.User;
+import app.cluttermap.util.EntityDiffPlan;
+
+/**
+ * Compares the old reflective {@code EventService.detectChanges} (copied
+ * below) against {@link EntityDiffPlan} for one changed field on each entity
+ * we log updates for. The org unit and room carry {@code childCount}
+ * children, which the reflective version compares element by element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityDiffBenchmark {
+    @Param({ "0", "50" })
+    private int childCount;
+
+    private Item oldItem;
+    private Item newItem;
+    private OrgUnit oldOrgUnit;
+    private OrgUnit newOrgUnit;
+    private Room oldRoom;
+    private Room newRoom;
+
+    @Setup
+    public void setUp() {
+        Project project = new Project("Benchmark Project", new User("benchmarkProviderId"));
+        project.setId(1L);
+
+        oldRoom = room(project, "Old Description");
+        newRoom = room(project, "New Description");
+
+        oldOrgUnit = orgUnit(oldRoom, "Old Description");
+        newOrgUnit = orgUnit(newRoom, "New Description");
+
+        oldItem = item(oldOrgUnit, 1);
+        newItem = item(newOrgUnit, 2);
+    }
+
+    @Benchmark
+    public Map<String, Object> itemReflective() {
+        return reflectiveDetectChanges(oldItem, newItem);
+    }
+
+    @Benchmark
+    public Map<String, Object> itemPlan() {
+        return EntityDiffPlan.forClass(Item.class).diff(oldItem, newItem);
+    }
+
+    @Benchmark
+    public Map<String, Object> orgUnitReflective() {
+        return reflectiveDetectChanges(oldOrgUnit, newOrgUnit);
+    }
+
+    @Benchmark
+    public Map<String, Object> orgUnitPlan() {
+        return EntityDiffPlan.forClass(OrgUnit.class).diff(oldOrgUnit, newOrgUnit);
+    }
+
+    @Benchmark
+    public Map<String, Object> roomReflective() {
+        return reflectiveDetectChanges(oldRoom, newRoom);
+    }
+
+    @Benchmark
+    public Map<String, Object> roomPlan() {
+        return EntityDiffPlan.forClass(Room.class).diff(oldRoom, newRoom);
+    }
+
+    private Room room(Project project, String description) {
+        Room room = new Room("Room", description, project);
+        room.setId(1L);
+        for (int i = 0; i < childCount; i++) {
+            OrgUnit orgUnit = new OrgUnit("Org Unit " + i, null, room);
+            orgUnit.setId(100L + i);
+            room.addOrgUnit(orgUnit);
+        }
+        return room;
+    }
+
+    private OrgUnit orgUnit(Room room, String description) {
+        OrgUnit orgUnit = new OrgUnit("Org Unit", description, room);
+        orgUnit.setId(1L);
+        for (int i = 0; i < childCount; i++) {
+            Item item = new Item("Item " + i, null, List.of("tag"), 1, orgUnit);
+            item.setId(100L + i);
+            orgUnit.addItem(item);
+        }
+        return orgUnit;
+    }
+
+    private Item item(OrgUnit orgUnit, int quantity) {
+        Item item = new Item("Item", "Description", List.of("tag"), quantity, orgUnit);
+        item.setId(1L);
+        return item;
+    }
+
+    // EventService.detectChanges before the diff plans
+    private static Map<String, Object> reflectiveDetectChanges(Object oldEntity, Object newEntity) {
+        Map<String, Object> changes = new HashMap<>();
+
+        for (Field field : oldEntity.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+
+            try {
+                Object oldValue = field.get(oldEntity);
+                Object newValue = field.get(newEntity);
+
+                if ((oldValue != null && !oldValue.equals(newValue)) || (oldValue == null && newValue != null)) {
+                    Field idField = getIdField(field.getType());
+                    if (idField != null) {
+                        idField.setAccessible(true);
+                        Long oldId = oldValue != null ? (Long) idField.get(oldValue) : null;
+                        Long newId = newValue != null ? (Long) idField.get(newValue) : null;
+                        if (!Objects.equals(oldId, newId)) {
+                            changes.put(field.getName() + "Id", newId);
+                        }
+                    } else {
+                        changes.put(field.getName(), newValue);
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error accessing field: " + field.getName(), e);
+            }
+        }
+
+        return changes;
+    }
+
+    private static Field getIdField(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredField("id");
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+}
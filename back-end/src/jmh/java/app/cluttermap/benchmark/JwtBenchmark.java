@@ -0,0 +1,84 @@
+package app.cluttermap.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import app.cluttermap.config.JwtConfig;
+import app.cluttermap.service.JwtKeyService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares issuing and decoding our JWTs with per-call key derivation (the old
+ * AuthService/SecurityConfig behaviour) against the keys held by
+ * {@link JwtKeyService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+    private static final String SECRET = "benchmark-secret-that-is-at-least-256-bits-long";
+
+    private JwtKeyService jwtKeyService;
+    private JwtDecoder sharedDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey(SECRET);
+        jwtKeyService = new JwtKeyService(jwtConfig);
+        sharedDecoder = jwtKeyService.createJwtDecoder();
+        token = issueWithSharedKey();
+    }
+
+    @Benchmark
+    public String issueWithPerCallKey() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return issue(key, null);
+    }
+
+    @Benchmark
+    public String issueWithSharedKey() {
+        return issue(jwtKeyService.getSigningKey(), jwtKeyService.getSigningKeyId());
+    }
+
+    @Benchmark
+    public Jwt decodeWithPerCallDecoder() {
+        SecretKey key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return NimbusJwtDecoder.withSecretKey(key).build().decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeWithSharedDecoder() {
+        return sharedDecoder.decode(token);
+    }
+
+    private String issue(SecretKey key, String keyId) {
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setSubject("1")
+                .claim("email", "benchmark@example.com")
+                .claim("username", "benchmark")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
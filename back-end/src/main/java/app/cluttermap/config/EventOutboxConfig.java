@@ -0,0 +1,45 @@
+package app.cluttermap.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "events.outbox")
+@Component
+public class EventOutboxConfig {
+    // When on, requests write their events to event_outbox and a background
+    // worker moves them into the event store (see EventOutboxWorker)
+    private boolean enabled = false;
+
+    // Outbox rows moved per worker transaction
+    private int batchSize = 500;
+
+    // How long the worker waits for new rows before looking again. Rows
+    // committed on this node wake it up early.
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
@@ -0,0 +1,43 @@
+package app.cluttermap.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@ConfigurationProperties(prefix = "events.retention")
+@Component
+public class EventRetentionConfig {
+    // Whole months of events kept as individual changes. Older monthly
+    // partitions are compacted into entity snapshots and detached.
+    private int horizonMonths = 12;
+
+    // Monthly partitions created ahead of the current month. There is no
+    // default partition, so this must cover any month events can be logged in.
+    private int partitionsAhead = 2;
+
+    // When the retention job runs (daily at 03:15 by default)
+    private String cron = "0 15 3 * * *";
+
+    public int getHorizonMonths() {
+        return horizonMonths;
+    }
+
+    public void setHorizonMonths(int horizonMonths) {
+        this.horizonMonths = horizonMonths;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
@@ -0,0 +1,48 @@
+package app.cluttermap.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleOAuthConstants;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+
+@ConfigurationProperties(prefix = "security.google")
+@Configuration
+public class GoogleAuthConfig {
+    // Where Google's public signing certificates are fetched from. Tests can point
+    // this at a local stand-in.
+    private String certsUrl = GoogleOAuthConstants.DEFAULT_PUBLIC_CERTS_ENCODED_URL;
+
+    // How often the certificates are refreshed in the background
+    private Duration refreshInterval = Duration.ofHours(1);
+
+    // Shared key source for GoogleTokenVerifier. Caches the certificates until
+    // Google's Cache-Control max-age runs out.
+    @Bean
+    public GooglePublicKeysManager googlePublicKeysManager() {
+        return new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+    }
+
+    public String getCertsUrl() {
+        return certsUrl;
+    }
+
+    public void setCertsUrl(String certsUrl) {
+        this.certsUrl = certsUrl;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -1,5 +1,9 @@
 package app.cluttermap.config;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -8,6 +12,14 @@ import org.springframework.stereotype.Component;
 public class JwtConfig {
     private String secretKey;
 
+    // Written to the "kid" header of every token signed with secretKey
+    private String keyId = "primary";
+
+    // Keys that were rotated out. Tokens signed with them are still accepted
+    // until their validUntil, which should be at least one token lifetime after
+    // the rotation.
+    private List<PreviousKey> previousKeys = new ArrayList<>();
+
     public String getSecretKey() {
         return secretKey;
     }
@@ -15,4 +27,50 @@ public class JwtConfig {
     public void setSecretKey(String secretKey) {
         this.secretKey = secretKey;
     }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    public List<PreviousKey> getPreviousKeys() {
+        return previousKeys;
+    }
+
+    public void setPreviousKeys(List<PreviousKey> previousKeys) {
+        this.previousKeys = previousKeys;
+    }
+
+    public static class PreviousKey {
+        private String keyId;
+        private String secretKey;
+        private Instant validUntil;
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+
+        public String getSecretKey() {
+            return secretKey;
+        }
+
+        public void setSecretKey(String secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        public Instant getValidUntil() {
+            return validUntil;
+        }
+
+        public void setValidUntil(Instant validUntil) {
+            this.validUntil = validUntil;
+        }
+    }
 }
@@ -1,24 +1,42 @@
 package app.cluttermap.config;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.List;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import app.cluttermap.service.AuthService;
+import app.cluttermap.service.JwtKeyService;
+import jakarta.servlet.http.HttpServletRequest;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -27,9 +45,15 @@ public class SecurityConfig {
     // Logger supports different levels (INFO, DEBUG, ERROR, WARN)
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
-    // Used to get the jwt secret token
+    // EventSource cannot send headers, so the change stream also takes a token
+    // from AuthService.generateStreamToken in the query string
+    public static final String STREAM_TOKEN_PARAMETER = "stream_token";
+    private static final RequestMatcher CHANGE_STREAM = new AntPathRequestMatcher("/projects/changes/stream",
+            HttpMethod.GET.name());
+
+    // Shared key material for our own JWTs
     @Autowired
-    private JwtConfig jwtConfig;
+    private JwtKeyService jwtKeyService;
 
     @Bean
     protected SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -52,7 +76,8 @@ public class SecurityConfig {
 
                 // Configure the OAuth2 resource server to expect JWT tokens
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(Customizer.withDefaults()));
+                        .bearerTokenResolver(bearerTokenResolver())
+                        .authenticationManagerResolver(authenticationManagerResolver()));
 
         logger.info("Security configuration applied successfully.");
 
@@ -62,14 +87,39 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        // Retrieve the JWT secret key from configuration
-        String JWT_SECRET = jwtConfig.getSecretKey();
+        // Verification keys are derived once by JwtKeyService and selected by the
+        // token's "kid" header. Stream tokens are turned away here, so they only
+        // ever open the change stream.
+        return jwtKeyService.createJwtDecoder(audienceValidator(
+                audience -> audience == null || !audience.contains(AuthService.STREAM_TOKEN_AUDIENCE)));
+    }
+
+    /* ------------- Change Stream Tokens ------------- */
+    private BearerTokenResolver bearerTokenResolver() {
+        // The Authorization header wins; the query string is only read on the stream
+        DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+        return request -> isStreamTokenRequest(request)
+                ? request.getParameter(STREAM_TOKEN_PARAMETER)
+                : headerResolver.resolve(request);
+    }
 
-        // Create a SecretKey using the secret string with HmacSHA256 algorithm
-        SecretKey key = new SecretKeySpec(JWT_SECRET.getBytes(), "HmacSHA256");
+    private AuthenticationManagerResolver<HttpServletRequest> authenticationManagerResolver() {
+        AuthenticationManager accessTokens = new ProviderManager(new JwtAuthenticationProvider(jwtDecoder()));
+        AuthenticationManager streamTokens = new ProviderManager(new JwtAuthenticationProvider(
+                jwtKeyService.createJwtDecoder(audienceValidator(
+                        audience -> audience != null && audience.contains(AuthService.STREAM_TOKEN_AUDIENCE)))));
+
+        return request -> isStreamTokenRequest(request) ? streamTokens : accessTokens;
+    }
+
+    private boolean isStreamTokenRequest(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && request.getParameter(STREAM_TOKEN_PARAMETER) != null
+                && CHANGE_STREAM.matches(request);
+    }
 
-        // Create and return a JwtDecoder using the secret key
-        return NimbusJwtDecoder.withSecretKey(key).build();
+    private static OAuth2TokenValidator<Jwt> audienceValidator(Predicate<List<String>> test) {
+        return JwtValidators.createDefaultWithValidators(new JwtClaimValidator<>(JwtClaimNames.AUD, test));
     }
 
     // Global CORS configuration
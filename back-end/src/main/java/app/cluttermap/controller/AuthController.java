@@ -58,6 +58,16 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    // EventSource cannot send the Authorization header, so the change stream is
+    // opened with a short-lived token from here instead
+    @PostMapping("/stream-token")
+    public ResponseEntity<Map<String, String>> createStreamToken() {
+        Map<String, String> response = new HashMap<>();
+        response.put("token", authService.generateStreamToken());
+
+        return ResponseEntity.ok(response);
+    }
+
     /* ------------- User Information Retrieval ------------- */
     // Used to both validate a JWT token (issued from this backend)
     // as well as get simple user info to return to the frontend
@@ -1,61 +1,155 @@
 package app.cluttermap.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.SlicedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.model.dto.SyncPageDTO;
 import app.cluttermap.service.EventService;
+import app.cluttermap.service.ProjectChangeBroadcaster;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 
 @RestController
 public class EventController {
     /* ------------- Injected Dependencies ------------- */
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final ProjectChangeBroadcaster projectChangeBroadcaster;
 
     /* ------------- Constructor ------------- */
     public EventController(
-            EventService eventService) {
+            EventService eventService,
+            ObjectMapper objectMapper,
+            ProjectChangeBroadcaster projectChangeBroadcaster) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.projectChangeBroadcaster = projectChangeBroadcaster;
     }
 
     /* ------------- GET Operations ------------- */
     @GetMapping("/events/{entityType}/{id}")
-    public ResponseEntity<PagedModel<EntityModel<EntityHistoryDTO>>> getEntityHistory(
+    public ResponseEntity<SlicedModel<EntityModel<EntityHistoryDTO>>> getEntityHistory(
             @PathVariable("entityType") ResourceType entityType,
             @PathVariable("id") Long id,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
-            PagedResourcesAssembler<EntityHistoryDTO> assembler) {
-        Page<EntityHistoryDTO> historyPage = eventService.getEntityHistory(entityType, id, page, size);
+            SlicedResourcesAssembler<EntityHistoryDTO> assembler) {
+        Slice<EntityHistoryDTO> historySlice = eventService.getEntityHistory(entityType, id, page, size);
+
+        return ResponseEntity.ok(assembler.toModel(historySlice));
+    }
+
+    // Every parent the entity was added to or removed from, newest first
+    @GetMapping("/events/{entityType}/{id}/placements")
+    public ResponseEntity<List<EntityHistoryDTO>> getPlacementHistory(
+            @PathVariable("entityType") ResourceType entityType,
+            @PathVariable("id") Long id) {
+        return ResponseEntity.ok(eventService.getPlacementHistory(entityType, id));
+    }
 
-        return ResponseEntity.ok(assembler.toModel(historyPage));
+    @GetMapping("/events/{entityType}/{id}/moves-out")
+    public ResponseEntity<List<EntityHistoryDTO>> getMovesOutOf(
+            @PathVariable("entityType") ResourceType entityType,
+            @PathVariable("id") Long id) {
+        return ResponseEntity.ok(eventService.getMovesOutOf(entityType, id));
+    }
+
+    @GetMapping("/events/{entityType}/{id}/children-added")
+    public ResponseEntity<List<EntityHistoryDTO>> getChildrenAddedSince(
+            @PathVariable("entityType") ResourceType entityType,
+            @PathVariable("id") Long id,
+            @RequestParam("since") String since) {
+        return ResponseEntity.ok(eventService.getChildrenAddedSince(entityType, id, parseSince(since)));
     }
 
     @GetMapping("/fetch-updates")
     public ResponseEntity<List<EntityHistoryDTO>> getChangedEntitiesSince(@RequestParam("since") String since) {
-        Instant sinceTime;
+        List<EntityHistoryDTO> updates = eventService.fetchUpdatesSince(parseSince(since));
+
+        return ResponseEntity.ok(updates);
+    }
+
+    // Same changes as above, written one JSON object per line as they are read
+    // from the database (Accept: application/x-ndjson)
+    @GetMapping(value = "/fetch-updates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamChangedEntitiesSince(@RequestParam("since") String since) {
+        Instant sinceTime = parseSince(since);
+
+        // The body is written on another thread, so check access here first
+        List<Long> projectIds = eventService.getUpdatedProjectIds(sinceTime);
+
+        StreamingResponseBody body = outputStream -> {
+            eventService.streamUpdatesSince(sinceTime, projectIds, change -> writeLine(outputStream, change));
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Keyset-paginated change log. Pass the returned nextCursor as "after" to
+    // get the following page; omit it to start from the beginning.
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPageDTO> syncChanges(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        return ResponseEntity.ok(eventService.fetchChangesAfter(SyncCursor.parse(after), limit));
+    }
+
+    // Server-sent "changes" events carrying the same pages as /sync, pushed as
+    // changes commit. EventSource cannot send the Authorization header, so
+    // browsers open it with a token from POST /auth/stream-token in the
+    // "stream_token" query parameter (see SecurityConfig). That token is short
+    // lived, so reconnecting takes a new one and the last event ID as "after",
+    // which also takes a cursor from /sync or a project snapshot.
+    @GetMapping(value = "/projects/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProjectChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "after", required = false) String after) {
+        String cursor = lastEventId != null ? lastEventId : after;
+        return projectChangeBroadcaster.subscribe(cursor != null ? SyncCursor.parse(cursor) : null);
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private Instant parseSince(String since) {
         try {
             // Try parsing as an ISO-8601 string (e.g., "2025-01-02T14:30:50Z")
-            sinceTime = Instant.parse(since);
+            return Instant.parse(since);
         } catch (DateTimeParseException e) {
             // If parsing fails, assume it's a Unix timestamp in milliseconds
             long epochMillis = Long.parseLong(since);
-            sinceTime = Instant.ofEpochMilli(epochMillis);
+            return Instant.ofEpochMilli(epochMillis);
         }
+    }
 
-        List<EntityHistoryDTO> updates = eventService.fetchUpdatesSince(sinceTime);
-
-        return ResponseEntity.ok(updates);
+    private void writeLine(OutputStream outputStream, EntityHistoryDTO change) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(change));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
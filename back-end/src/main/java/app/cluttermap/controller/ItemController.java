@@ -1,6 +1,5 @@
 package app.cluttermap.controller;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -13,12 +12,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import app.cluttermap.model.Item;
 import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewItemDTO;
 import app.cluttermap.model.dto.UpdateItemDTO;
 import app.cluttermap.service.ItemService;
+import app.cluttermap.service.ProjectVersionService;
+import app.cluttermap.util.ResourceType;
 import jakarta.validation.Valid;
 
 @RestController
@@ -26,24 +27,30 @@ import jakarta.validation.Valid;
 public class ItemController {
     /* ------------- Injected Dependencies ------------- */
     private final ItemService itemService;
+    private final ProjectVersionService projectVersionService;
 
     /* ------------- Constructor ------------- */
-    public ItemController(ItemService itemService) {
+    public ItemController(
+            ItemService itemService,
+            ProjectVersionService projectVersionService) {
         this.itemService = itemService;
+        this.projectVersionService = projectVersionService;
     }
 
     /* ------------- GET Operations ------------- */
     @GetMapping()
-    public ResponseEntity<List<ItemDTO>> getItems() {
-        List<ItemDTO> itemDTOs = new ArrayList<>();
-        for (Item item : itemService.getUserItems()) {
-            itemDTOs.add(new ItemDTO(item));
+    public ResponseEntity<List<ItemDTO>> getItems(WebRequest request) {
+        if (projectVersionService.checkNotModified(request)) {
+            return null;
         }
-        return ResponseEntity.ok(itemDTOs);
+        return ResponseEntity.ok(itemService.getUserItems());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDTO> getOneItem(@PathVariable("id") Long id) {
+    public ResponseEntity<ItemDTO> getOneItem(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.ITEM, id, request)) {
+            return null;
+        }
         return ResponseEntity.ok(new ItemDTO(itemService.getItemById(id)));
     }
 
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
@@ -22,6 +23,8 @@ import app.cluttermap.model.dto.OrgUnitDTO;
 import app.cluttermap.model.dto.UpdateOrgUnitDTO;
 import app.cluttermap.service.ItemService;
 import app.cluttermap.service.OrgUnitService;
+import app.cluttermap.service.ProjectVersionService;
+import app.cluttermap.util.ResourceType;
 import jakarta.validation.Valid;
 
 @RestController
@@ -30,18 +33,24 @@ public class OrgUnitController {
     /* ------------- Injected Dependencies ------------- */
     private final OrgUnitService orgUnitService;
     private final ItemService itemService;
+    private final ProjectVersionService projectVersionService;
 
     /* ------------- Constructor ------------- */
     public OrgUnitController(
             OrgUnitService orgUnitService,
-            ItemService itemService) {
+            ItemService itemService,
+            ProjectVersionService projectVersionService) {
         this.orgUnitService = orgUnitService;
         this.itemService = itemService;
+        this.projectVersionService = projectVersionService;
     }
 
     /* ------------- GET Operations ------------- */
     @GetMapping()
-    public ResponseEntity<List<OrgUnitDTO>> getOrgUnits() {
+    public ResponseEntity<List<OrgUnitDTO>> getOrgUnits(WebRequest request) {
+        if (projectVersionService.checkNotModified(request)) {
+            return null;
+        }
         List<OrgUnitDTO> orgUnitDTOS = new ArrayList<>();
         for (OrgUnit orgUnit : orgUnitService.getUserOrgUnits()) {
             orgUnitDTOS.add(new OrgUnitDTO(orgUnit));
@@ -50,18 +59,20 @@ public class OrgUnitController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrgUnitDTO> getOneOrgUnit(@PathVariable("id") Long id) {
+    public ResponseEntity<OrgUnitDTO> getOneOrgUnit(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.ORGANIZATIONAL_UNIT, id, request)) {
+            return null;
+        }
         return ResponseEntity.ok(new OrgUnitDTO(orgUnitService.getOrgUnitById(id)));
     }
 
     // TODO should this be a query like /items?org-unit={id}
     @GetMapping("/{id}/items")
-    public ResponseEntity<List<ItemDTO>> getOrgUnitItems(@PathVariable("id") Long id) {
-        List<ItemDTO> itemDTOs = new ArrayList<>();
-        for (Item item : orgUnitService.getOrgUnitById(id).getItems()) {
-            itemDTOs.add(new ItemDTO(item));
+    public ResponseEntity<List<ItemDTO>> getOrgUnitItems(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.ORGANIZATIONAL_UNIT, id, request)) {
+            return null;
         }
-        return ResponseEntity.ok(itemDTOs);
+        return ResponseEntity.ok(itemService.getItemsByOrgUnitId(id));
     }
 
     /* ------------- POST Operations ------------- */
@@ -13,8 +13,8 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
@@ -22,11 +22,14 @@ import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewProjectDTO;
 import app.cluttermap.model.dto.OrgUnitDTO;
 import app.cluttermap.model.dto.ProjectDTO;
+import app.cluttermap.model.dto.ProjectSnapshotDTO;
 import app.cluttermap.model.dto.RoomDTO;
 import app.cluttermap.model.dto.UpdateProjectDTO;
 import app.cluttermap.service.ItemService;
 import app.cluttermap.service.OrgUnitService;
 import app.cluttermap.service.ProjectService;
+import app.cluttermap.service.ProjectVersionService;
+import app.cluttermap.util.ResourceType;
 import jakarta.validation.Valid;
 
 @RestController
@@ -36,29 +39,34 @@ public class ProjectController {
     private final ProjectService projectService;
     private final OrgUnitService orgUnitService;
     private final ItemService itemService;
+    private final ProjectVersionService projectVersionService;
 
     /* ------------- Constructor ------------- */
     public ProjectController(
             ProjectService projectService,
             OrgUnitService orgUnitService,
-            ItemService itemService) {
+            ItemService itemService,
+            ProjectVersionService projectVersionService) {
         this.projectService = projectService;
         this.orgUnitService = orgUnitService;
         this.itemService = itemService;
+        this.projectVersionService = projectVersionService;
     }
 
     /* ------------- GET Operations ------------- */
     @GetMapping()
-    public ResponseEntity<List<ProjectDTO>> getProjects() {
-        List<ProjectDTO> projectDTOs = new ArrayList<>();
-        for (Project project : projectService.getUserProjects()) {
-            projectDTOs.add(new ProjectDTO(project));
+    public ResponseEntity<List<ProjectDTO>> getProjects(WebRequest request) {
+        if (projectVersionService.checkNotModified(request)) {
+            return null;
         }
-        return ResponseEntity.ok(projectDTOs);
+        return ResponseEntity.ok(projectService.getUserProjectDTOs());
     }
 
     @GetMapping("/ids")
-    public ResponseEntity<List<Long>> getProjectIDs() {
+    public ResponseEntity<List<Long>> getProjectIDs(WebRequest request) {
+        if (projectVersionService.checkNotModified(request)) {
+            return null;
+        }
         List<Long> projectIds = projectService.getUserProjects()
                 .stream()
                 .map(Project::getId)
@@ -67,12 +75,18 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getOneProject(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(new ProjectDTO(projectService.getProjectById(id)));
+    public ResponseEntity<ProjectDTO> getOneProject(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, id, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(projectService.getProjectDTOById(id));
     }
 
     @GetMapping("/{id}/rooms")
-    public ResponseEntity<List<RoomDTO>> getProjectRooms(@PathVariable("id") Long id) {
+    public ResponseEntity<List<RoomDTO>> getProjectRooms(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, id, request)) {
+            return null;
+        }
         List<RoomDTO> roomDTOs = new ArrayList<>();
         for (Room room : projectService.getProjectById(id).getRooms()) {
             roomDTOs.add(new RoomDTO(room));
@@ -81,7 +95,10 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}/org-units")
-    public ResponseEntity<List<OrgUnitDTO>> getProjectOrgUnits(@PathVariable("id") Long id) {
+    public ResponseEntity<List<OrgUnitDTO>> getProjectOrgUnits(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, id, request)) {
+            return null;
+        }
         List<OrgUnitDTO> orgUnitDTOs = new ArrayList<>();
         for (OrgUnit orgUnit : projectService.getProjectById(id).getOrgUnits()) {
             orgUnitDTOs.add(new OrgUnitDTO(orgUnit));
@@ -90,16 +107,27 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}/items")
-    public ResponseEntity<List<ItemDTO>> getProjectItems(@PathVariable("id") Long id) {
-        List<ItemDTO> itemDTOs = new ArrayList<>();
-        for (Item item : projectService.getProjectById(id).getItems()) {
-            itemDTOs.add(new ItemDTO(item));
+    public ResponseEntity<List<ItemDTO>> getProjectItems(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, id, request)) {
+            return null;
         }
-        return ResponseEntity.ok(itemDTOs);
+        return ResponseEntity.ok(itemService.getItemsByProjectId(id));
+    }
+
+    // Everything in the project at once, plus the /sync cursor to continue from
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<ProjectSnapshotDTO> getProjectSnapshot(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, id, request)) {
+            return null;
+        }
+        return ResponseEntity.ok(projectService.getProjectSnapshot(id));
     }
 
     @GetMapping("/{projectId}/org-units/unassigned")
-    public ResponseEntity<List<OrgUnitDTO>> getUnassignedOrgUnitsByProjectId(@PathVariable Long projectId) {
+    public ResponseEntity<List<OrgUnitDTO>> getUnassignedOrgUnitsByProjectId(@PathVariable Long projectId, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, projectId, request)) {
+            return null;
+        }
         List<OrgUnitDTO> unassignedOrgUnitDTOs = new ArrayList<>();
         for (OrgUnit orgUnit : orgUnitService.getUnassignedOrgUnitsByProjectId(projectId)) {
             unassignedOrgUnitDTOs.add(new OrgUnitDTO(orgUnit));
@@ -108,12 +136,11 @@ public class ProjectController {
     }
 
     @GetMapping("/{projectId}/items/unassigned")
-    public ResponseEntity<List<ItemDTO>> getUnassignedItemsByProjectId(@PathVariable Long projectId) {
-        List<ItemDTO> unassignedItemDTOs = new ArrayList<>();
-        for (Item item : itemService.getUnassignedItemsByProjectId(projectId)) {
-            unassignedItemDTOs.add(new ItemDTO(item));
+    public ResponseEntity<List<ItemDTO>> getUnassignedItemsByProjectId(@PathVariable Long projectId, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.PROJECT, projectId, request)) {
+            return null;
         }
-        return ResponseEntity.ok(unassignedItemDTOs);
+        return ResponseEntity.ok(itemService.getUnassignedItemsByProjectId(projectId));
     }
 
     /* ------------- POST Operations ------------- */
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Room;
@@ -22,6 +23,8 @@ import app.cluttermap.model.dto.RoomDTO;
 import app.cluttermap.model.dto.UpdateRoomDTO;
 import app.cluttermap.service.OrgUnitService;
 import app.cluttermap.service.RoomService;
+import app.cluttermap.service.ProjectVersionService;
+import app.cluttermap.util.ResourceType;
 import jakarta.validation.Valid;
 
 @RestController
@@ -31,18 +34,24 @@ public class RoomController {
     /* ------------- Injected Dependencies ------------- */
     private final RoomService roomService;
     private final OrgUnitService orgUnitService;
+    private final ProjectVersionService projectVersionService;
 
     /* ------------- Constructor ------------- */
     public RoomController(
             RoomService roomService,
-            OrgUnitService orgUnitService) {
+            OrgUnitService orgUnitService,
+            ProjectVersionService projectVersionService) {
         this.roomService = roomService;
         this.orgUnitService = orgUnitService;
+        this.projectVersionService = projectVersionService;
     }
 
     /* ------------- GET Operations ------------- */
     @GetMapping()
-    public ResponseEntity<List<RoomDTO>> getRooms() {
+    public ResponseEntity<List<RoomDTO>> getRooms(WebRequest request) {
+        if (projectVersionService.checkNotModified(request)) {
+            return null;
+        }
         List<RoomDTO> roomDTOs = new ArrayList<>();
         for (Room room : roomService.getUserRooms()) {
             roomDTOs.add(new RoomDTO(room));
@@ -51,13 +60,19 @@ public class RoomController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RoomDTO> getOneRoom(@PathVariable("id") Long id) {
+    public ResponseEntity<RoomDTO> getOneRoom(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.ROOM, id, request)) {
+            return null;
+        }
         return ResponseEntity.ok(new RoomDTO(roomService.getRoomById(id)));
     }
 
     // TODO should this be a query like /org-units?room={id}
     @GetMapping("/{id}/org-units")
-    public ResponseEntity<List<OrgUnitDTO>> getRoomOrgUnits(@PathVariable("id") Long id) {
+    public ResponseEntity<List<OrgUnitDTO>> getRoomOrgUnits(@PathVariable("id") Long id, WebRequest request) {
+        if (projectVersionService.checkNotModified(ResourceType.ROOM, id, request)) {
+            return null;
+        }
         List<OrgUnitDTO> orgUnitDTOs = new ArrayList<>();
         for (OrgUnit orgUnit : roomService.getRoomById(id).getOrgUnits()) {
             orgUnitDTOs.add(new OrgUnitDTO(orgUnit));
@@ -1,13 +1,48 @@
 package app.cluttermap.migration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 
+// Runs after Hibernate has created/updated the tables it maps
 @Component
+@DependsOn("entityManagerFactory")
 public class DatabaseMigrationService {
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    // Indexes behind the hot queries, by name. ddl-auto=update never creates
+    // indexes, so these are created here and left alone once they exist.
+    static final Map<String, String> MANAGED_INDEXES = new LinkedHashMap<>();
+    static {
+        // EventEntityRepository.findHistoryByEntity
+        MANAGED_INDEXES.put("idx_event_entities_entity", "event_entities (entity_type, entity_id, event_id)");
+        // EventEntityRepository.findChangesSince, EventRepository.findAllEventsInProject
+        MANAGED_INDEXES.put("idx_events_project_timestamp", "events (project_id, timestamp)");
+        // EventEntityRepository.findChangePositionsAfter
+        MANAGED_INDEXES.put("idx_event_entities_project_tx_change_seq",
+                "event_entities (project_id, tx_id, change_seq)");
+        // Items of a project, by org unit
+        MANAGED_INDEXES.put("idx_items_project_org_unit", "items (project_id, org_unit_id)");
+        // Org units of a project, by room
+        MANAGED_INDEXES.put("idx_org_units_project_room", "org_units (project_id, room_id)");
+        // Rooms of a project (ProjectRepository.findChildIdsByProjectIdIn)
+        MANAGED_INDEXES.put("idx_rooms_project", "rooms (project_id)");
+        // EntityTimelineRepository.findHistoryByEntity
+        MANAGED_INDEXES.put("idx_entity_timeline_entity", "entity_timeline (entity_type, entity_id, ts DESC, seq DESC)");
+        // EventEntityRepository.findChildChangeIds, findMoveIdsOutOfParent (@>)
+        MANAGED_INDEXES.put("idx_event_entities_details", "event_entities USING GIN (details jsonb_path_ops)");
+        // EventOutbox.readBatch
+        MANAGED_INDEXES.put("idx_event_outbox_tx_id", "event_outbox (tx_id, id)");
+        // ProjectRepository.findUpdatedProjectIds
+        MANAGED_INDEXES.put("idx_projects_owner_last_updated", "projects (owner_id, last_updated)");
+    }
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
@@ -16,12 +51,29 @@ public class DatabaseMigrationService {
     public void migrateDatabase() {
         addColumnIfNotExists("org_units", "project_id", "BIGINT");
         addColumnIfNotExists("items", "project_id", "BIGINT");
+        addColumnIfNotExists("event_entities", "project_id", "BIGINT");
         addTimestampColumnIfNotExists("projects", "last_updated");
 
         updateEventsActionConstraint();
 
+        alignIdSequence("items_seq", "items");
+        alignIdSequence("org_units_seq", "org_units");
+        alignIdSequence("rooms_seq", "rooms");
+        alignIdSequence("events_seq", "events");
+        alignIdSequence("event_entities_seq", "event_entities");
+        addChangeLogPosition();
+        partitionEventStore();
+        createEntitySnapshots();
+        convertDetailsToJsonb("event_entities");
+        convertDetailsToJsonb("entity_timeline");
+        backfillEntityTimeline();
+        alignIdSequence("entity_timeline_seq", "entity_timeline");
+        createEventOutbox();
+        createManagedIndexes();
+
         populateProjectIdForOrgUnits();
         populateProjectIdForItems();
+        populateProjectIdForEventEntities();
     }
 
     private void addTimestampColumnIfNotExists(String tableName, String columnName) {
@@ -54,6 +106,349 @@ public class DatabaseMigrationService {
         jdbcTemplate.execute(sql);
     }
 
+    /**
+     * Creates the sequence behind a pooled {@code @SequenceGenerator} if needed
+     * and makes it step by the generator's allocation size. Hibernate hands out
+     * the 50 IDs up to each value it reads, so the sequence is only moved
+     * forward when it is behind the table's highest ID, and never backwards.
+     * The table is locked while comparing so no insert can slip in between.
+     */
+    private void alignIdSequence(String sequenceName, String tableName) {
+        String sql = String.format("""
+                DO $$
+                DECLARE
+                    max_id BIGINT := 0;
+                    current_value BIGINT;
+                BEGIN
+                    CREATE SEQUENCE IF NOT EXISTS %1$s START WITH 1 INCREMENT BY %3$d;
+                    ALTER SEQUENCE %1$s INCREMENT BY %3$d;
+
+                    IF to_regclass('%2$s') IS NOT NULL THEN
+                        LOCK TABLE %2$s IN EXCLUSIVE MODE;
+                        SELECT COALESCE(MAX(id), 0) INTO max_id FROM %2$s;
+                    END IF;
+
+                    SELECT last_value INTO current_value FROM %1$s;
+                    IF max_id > current_value THEN
+                        PERFORM setval('%1$s', max_id);
+                    END IF;
+                END $$;
+                """, sequenceName, tableName, ID_ALLOCATION_SIZE);
+
+        jdbcTemplate.execute(sql);
+    }
+
+    /**
+     * Gives every event entity its position in the change log read by
+     * {@code /sync}: the ID of the transaction that wrote it and a global
+     * change sequence. Both are filled in by column defaults, so inserts do not
+     * need to know about them. Existing rows are numbered in ID order and
+     * placed before any new transaction.
+     */
+    private void addChangeLogPosition() {
+        String sql = """
+                DO $$
+                BEGIN
+                    CREATE SEQUENCE IF NOT EXISTS event_change_seq;
+
+                    IF NOT EXISTS (
+                        SELECT 1 FROM information_schema.columns
+                        WHERE table_name='event_entities' AND column_name='change_seq'
+                    ) THEN
+                        ALTER TABLE event_entities ADD COLUMN change_seq BIGINT;
+                        UPDATE event_entities ee
+                        SET change_seq = numbered.seq
+                        FROM (
+                            SELECT id, nextval('event_change_seq') AS seq
+                            FROM (SELECT id FROM event_entities ORDER BY id) ordered
+                        ) numbered
+                        WHERE ee.id = numbered.id;
+                        ALTER TABLE event_entities
+                            ALTER COLUMN change_seq SET DEFAULT nextval('event_change_seq'),
+                            ALTER COLUMN change_seq SET NOT NULL;
+                    END IF;
+
+                    IF NOT EXISTS (
+                        SELECT 1 FROM information_schema.columns
+                        WHERE table_name='event_entities' AND column_name='tx_id'
+                    ) THEN
+                        ALTER TABLE event_entities ADD COLUMN tx_id xid8 NOT NULL DEFAULT '0';
+                        ALTER TABLE event_entities ALTER COLUMN tx_id SET DEFAULT pg_current_xact_id();
+                    END IF;
+                END $$;
+                """;
+        jdbcTemplate.execute(sql);
+    }
+
+    /**
+     * Turns {@code events} and {@code event_entities} into tables partitioned
+     * by month, so old months can be compacted and detached by
+     * {@code EventRetentionService} instead of deleted row by row. The primary
+     * keys have to include the partition key, and event entities carry a copy
+     * of their event's timestamp so both tables split on the same boundaries.
+     * <p>
+     * There is no default partition: {@code DETACH PARTITION ... CONCURRENTLY}
+     * refuses to run while one exists, and rows in it would never be archived.
+     * The current and next month are created here and later months by
+     * {@code EventRetentionService}, so inserts always have a partition.
+     * <p>
+     * The conversion runs once: the tables Hibernate created are renamed,
+     * copied into the partitioned tables and dropped. Default partitions left
+     * by earlier versions have their rows moved into monthly partitions.
+     */
+    private void partitionEventStore() {
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION create_event_partition(month_start DATE) RETURNS BOOLEAN AS $$
+                DECLARE
+                    suffix TEXT := to_char(month_start, 'YYYYMM');
+                    lower_bound TIMESTAMPTZ := month_start::TIMESTAMP AT TIME ZONE 'UTC';
+                    upper_bound TIMESTAMPTZ := (month_start + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC';
+                BEGIN
+                    IF to_regclass('events_p' || suffix) IS NOT NULL THEN
+                        RETURN TRUE;
+                    END IF;
+
+                    EXECUTE format('CREATE TABLE events_p%s PARTITION OF events FOR VALUES FROM (%L) TO (%L)',
+                            suffix, lower_bound, upper_bound);
+                    EXECUTE format('CREATE TABLE event_entities_p%s PARTITION OF event_entities FOR VALUES FROM (%L) TO (%L)',
+                            suffix, lower_bound, upper_bound);
+                    RETURN TRUE;
+                END;
+                $$ LANGUAGE plpgsql;
+                """);
+
+        String sql = """
+                DO $$
+                DECLARE
+                    month_start DATE;
+                    last_month DATE;
+                BEGIN
+                    IF (SELECT relkind FROM pg_class WHERE oid = 'events'::regclass) = 'p' THEN
+                        RETURN;
+                    END IF;
+
+                    LOCK TABLE events, event_entities IN ACCESS EXCLUSIVE MODE;
+                    -- Hibernate cannot add a NOT NULL column to a populated table, so it
+                    -- is added nullable here, filled from the events and then required
+                    ALTER TABLE event_entities ADD COLUMN IF NOT EXISTS event_timestamp TIMESTAMP WITH TIME ZONE;
+                    ALTER TABLE event_entities RENAME TO event_entities_unpartitioned;
+                    ALTER TABLE events RENAME TO events_unpartitioned;
+                    -- Free up the primary key names. This also drops the foreign key from
+                    -- event entities, which would have to include the event's timestamp.
+                    ALTER TABLE event_entities_unpartitioned DROP CONSTRAINT IF EXISTS event_entities_pkey;
+                    ALTER TABLE events_unpartitioned DROP CONSTRAINT IF EXISTS events_pkey CASCADE;
+
+                    CREATE TABLE events (LIKE events_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+                        PARTITION BY RANGE (timestamp);
+                    ALTER TABLE events ADD PRIMARY KEY (id, timestamp);
+
+                    UPDATE event_entities_unpartitioned ee
+                    SET event_timestamp = e.timestamp
+                    FROM events_unpartitioned e
+                    WHERE e.id = ee.event_id AND ee.event_timestamp IS NULL;
+                    ALTER TABLE event_entities_unpartitioned ALTER COLUMN event_timestamp SET NOT NULL;
+
+                    CREATE TABLE event_entities (LIKE event_entities_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+                        PARTITION BY RANGE (event_timestamp);
+                    ALTER TABLE event_entities ADD PRIMARY KEY (id, event_timestamp);
+
+                    SELECT date_trunc('month', MIN(timestamp) AT TIME ZONE 'UTC')::DATE,
+                           date_trunc('month', MAX(timestamp) AT TIME ZONE 'UTC')::DATE
+                    INTO month_start, last_month
+                    FROM events_unpartitioned;
+
+                    WHILE month_start <= last_month LOOP
+                        PERFORM create_event_partition(month_start);
+                        month_start := (month_start + INTERVAL '1 month')::DATE;
+                    END LOOP;
+
+                    INSERT INTO events SELECT * FROM events_unpartitioned;
+                    INSERT INTO event_entities SELECT * FROM event_entities_unpartitioned;
+
+                    DROP TABLE event_entities_unpartitioned;
+                    DROP TABLE events_unpartitioned;
+                END $$;
+                """;
+        jdbcTemplate.execute(sql);
+
+        moveDefaultPartitionRows();
+
+        // Later months are created ahead of time by EventRetentionService
+        jdbcTemplate.execute("""
+                SELECT create_event_partition(date_trunc('month', NOW() AT TIME ZONE 'UTC')::DATE),
+                       create_event_partition((date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '1 month')::DATE)
+                """);
+    }
+
+    /**
+     * Detaches the default partitions earlier versions created, makes a
+     * monthly partition for every month they hold rows for, moves the rows
+     * there and drops them. Runs at startup, so the exclusive lock is taken
+     * before the application serves requests.
+     */
+    private void moveDefaultPartitionRows() {
+        String sql = """
+                DO $$
+                DECLARE
+                    month_start DATE;
+                    event_columns TEXT;
+                    event_entity_columns TEXT;
+                BEGIN
+                    IF to_regclass('events_default') IS NULL THEN
+                        RETURN;
+                    END IF;
+
+                    LOCK TABLE events, event_entities IN ACCESS EXCLUSIVE MODE;
+                    -- Hibernate cannot add a NOT NULL column to a populated table, so it
+                    -- is added nullable here, filled from the events and then required
+                    ALTER TABLE event_entities ADD COLUMN IF NOT EXISTS event_timestamp TIMESTAMP WITH TIME ZONE;
+                    ALTER TABLE event_entities DETACH PARTITION event_entities_default;
+                    ALTER TABLE events DETACH PARTITION events_default;
+
+                    FOR month_start IN
+                        SELECT DISTINCT date_trunc('month', timestamp AT TIME ZONE 'UTC')::DATE FROM events_default
+                        UNION
+                        SELECT DISTINCT date_trunc('month', event_timestamp AT TIME ZONE 'UTC')::DATE
+                        FROM event_entities_default
+                    LOOP
+                        PERFORM create_event_partition(month_start);
+                    END LOOP;
+
+                    -- By name, as the detached tables' column order can differ from the parents'
+                    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO event_columns
+                    FROM pg_attribute WHERE attrelid = 'events'::regclass AND attnum > 0 AND NOT attisdropped;
+                    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO event_entity_columns
+                    FROM pg_attribute WHERE attrelid = 'event_entities'::regclass AND attnum > 0 AND NOT attisdropped;
+
+                    EXECUTE format('INSERT INTO events (%1$s) SELECT %1$s FROM events_default', event_columns);
+                    EXECUTE format('INSERT INTO event_entities (%1$s) SELECT %1$s FROM event_entities_default',
+                            event_entity_columns);
+
+                    DROP TABLE event_entities_default;
+                    DROP TABLE events_default;
+                END $$;
+                """;
+        jdbcTemplate.execute(sql);
+    }
+
+    /**
+     * Per-entity state folded out of the monthly partitions that retention has
+     * detached. {@code state} is the entity's fields as of its last compacted
+     * change (see {@code EventRetentionService.foldIntoSnapshots}).
+     */
+    private void createEntitySnapshots() {
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE AGGREGATE jsonb_merge_agg(jsonb) (
+                    SFUNC = jsonb_concat,
+                    STYPE = jsonb,
+                    INITCOND = '{}'
+                )
+                """);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS entity_snapshots (
+                    entity_type VARCHAR(255) NOT NULL,
+                    entity_id BIGINT NOT NULL,
+                    state JSONB NOT NULL,
+                    last_change VARCHAR(255) NOT NULL,
+                    user_id BIGINT,
+                    user_name VARCHAR(255),
+                    ts TIMESTAMP WITH TIME ZONE NOT NULL,
+                    change_count BIGINT NOT NULL,
+                    PRIMARY KEY (entity_type, entity_id)
+                )
+                """);
+
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS event_archive");
+
+        // Months folded into snapshots, whose partitions may still be waiting
+        // to be detached
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS compacted_event_partitions (
+                    month DATE PRIMARY KEY,
+                    compacted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+                )
+                """);
+
+        // Hibernate wrote the allowed values of the enum into this check when it
+        // created the table, which predates SNAPSHOT
+        jdbcTemplate.execute("ALTER TABLE entity_timeline DROP CONSTRAINT IF EXISTS entity_timeline_change_check");
+    }
+
+    /**
+     * Changes {@code details} from the TEXT it used to be mapped as to JSONB.
+     * ddl-auto=update never changes a column's type. Empty strings, which
+     * are not valid JSON, become NULL. On {@code event_entities} this
+     * rewrites every attached partition; archived partitions keep TEXT.
+     */
+    private void convertDetailsToJsonb(String tableName) {
+        String sql = String.format("""
+                DO $$
+                BEGIN
+                    IF EXISTS (
+                        SELECT 1 FROM information_schema.columns
+                        WHERE table_schema = current_schema()
+                        AND table_name = '%1$s' AND column_name = 'details' AND data_type = 'text'
+                    ) THEN
+                        ALTER TABLE %1$s ALTER COLUMN details TYPE JSONB USING CAST(NULLIF(details, '') AS JSONB);
+                    END IF;
+                END $$;
+                """, tableName);
+        jdbcTemplate.execute(sql);
+    }
+
+    /**
+     * Fills the entity timeline from the event store the first time it is
+     * found empty. Rows reuse the event entity's ID, and the sequence is
+     * aligned afterwards.
+     */
+    private void backfillEntityTimeline() {
+        String sql = """
+                DO $$
+                BEGIN
+                    IF NOT EXISTS (SELECT 1 FROM entity_timeline) THEN
+                        INSERT INTO entity_timeline
+                            (id, entity_type, entity_id, seq, change, details, user_id, user_name, ts)
+                        SELECT ee.id, ee.entity_type, ee.entity_id, ee.id, ee.change, ee.details,
+                            u.id, u.username, e.timestamp
+                        FROM event_entities ee
+                        JOIN events e ON e.id = ee.event_id
+                        LEFT JOIN app_users u ON u.id = e.user_id;
+                    END IF;
+                END $$;
+                """;
+        jdbcTemplate.execute(sql);
+    }
+
+    /**
+     * Events waiting to be moved into the event store when the outbox is
+     * enabled (see {@code EventOutbox}), one row per event with its entity
+     * rows in {@code entries}. Like the event store, rows record the
+     * transaction that wrote them, which is the order they are moved in.
+     */
+    private void createEventOutbox() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS event_outbox (
+                    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                    tx_id xid8 NOT NULL DEFAULT pg_current_xact_id(),
+                    project_id BIGINT NOT NULL,
+                    user_id BIGINT,
+                    action VARCHAR(255) NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    entries JSONB NOT NULL
+                )
+                """);
+    }
+
+    private void createManagedIndexes() {
+        // Replaced by idx_event_entities_project_tx_change_seq, which /sync can
+        // scan per project instead of across every project's changes
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_event_entities_tx_change_seq");
+
+        MANAGED_INDEXES.forEach((indexName, definition) -> jdbcTemplate.execute(
+                String.format("CREATE INDEX IF NOT EXISTS %s ON %s", indexName, definition)));
+    }
+
     private void populateProjectIdForOrgUnits() {
         String updateOrgUnitsSql = "UPDATE org_units " +
                 "SET project_id = (SELECT project_id FROM rooms WHERE rooms.id = org_units.room_id) " +
@@ -68,6 +463,13 @@ public class DatabaseMigrationService {
         jdbcTemplate.update(updateItemsSql);
     }
 
+    private void populateProjectIdForEventEntities() {
+        String updateEventEntitiesSql = "UPDATE event_entities " +
+                "SET project_id = (SELECT project_id FROM events WHERE events.id = event_entities.event_id) " +
+                "WHERE project_id IS NULL";
+        jdbcTemplate.update(updateEventEntitiesSql);
+    }
+
     private void updateEventsActionConstraint() {
         // Drop the old constraint if it exists
         String dropConstraintSql = """
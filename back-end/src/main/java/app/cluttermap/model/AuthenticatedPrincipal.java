@@ -0,0 +1,44 @@
+package app.cluttermap.model;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The caller as described by the claims of the JWT issued in
+ * {@code AuthService.generateJwtToken}. Built without touching the database, so
+ * code that only needs the user's ID should prefer this over loading the
+ * {@link User} entity.
+ */
+public class AuthenticatedPrincipal {
+
+    /* ------------- Fields ------------- */
+    private final Long id;
+    private final String email;
+    private final String username;
+
+    /* ------------- Constructors ------------- */
+    public AuthenticatedPrincipal(Long id, String email, String username) {
+        this.id = id;
+        this.email = email;
+        this.username = username;
+    }
+
+    public static AuthenticatedPrincipal fromJwt(Jwt jwt) {
+        return new AuthenticatedPrincipal(
+                Long.valueOf(jwt.getSubject()),
+                jwt.getClaimAsString("email"),
+                jwt.getClaimAsString("username"));
+    }
+
+    /* ------------- Getters ------------- */
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
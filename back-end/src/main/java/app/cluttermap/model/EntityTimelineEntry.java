@@ -0,0 +1,154 @@
+package app.cluttermap.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.hibernate.annotations.ColumnTransformer;
+
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Read model for entity history. One row is written per {@link EventEntity}
+ * in the same transaction, with the user and timestamp of its {@link Event}
+ * copied in, so a history page is a single range scan on
+ * {@code (entity_type, entity_id, ts, seq)} instead of a join through events
+ * and users.
+ */
+@Entity
+@Table(name = "entity_timeline")
+public class EntityTimelineEntry {
+
+    /* ------------- Fields ------------- */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_timeline_seq")
+    @SequenceGenerator(name = "entity_timeline_seq", sequenceName = "entity_timeline_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ResourceType entityType;
+
+    @NotNull
+    private Long entityId;
+
+    // ID of the EventEntity this row was copied from; orders rows that share a
+    // timestamp
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private EventChangeType change;
+
+    @Column(columnDefinition = "JSONB", nullable = true)
+    @ColumnTransformer(write = "CAST(? AS JSONB)")
+    private String details;
+
+    private Long userId;
+
+    private String userName;
+
+    @Column(name = "ts", nullable = false)
+    private Instant timestamp;
+
+    /* ------------- Constructors ------------- */
+    // NOTE: Constructors should list parameters in the same order as the fields for
+    // consistency.
+    public EntityTimelineEntry() {
+    }
+
+    public EntityTimelineEntry(EventEntity eventEntity) {
+        Event event = eventEntity.getEvent();
+        User user = event.getUser();
+
+        this.entityType = eventEntity.getEntityType();
+        this.entityId = eventEntity.getEntityId();
+        this.seq = eventEntity.getId();
+        this.change = eventEntity.getChange();
+        this.details = eventEntity.getDetails();
+        this.userId = user != null ? user.getId() : null;
+        this.userName = user != null ? user.getUsername() : null;
+        this.timestamp = event.getTimestamp();
+    }
+
+    /* ------------- Getters ------------- */
+    // NOTE: Getters should follow the same order as the fields and constructors
+    // for consistency. Rows are never changed once written, so there are no
+    // setters.
+    public Long getId() {
+        return id;
+    }
+
+    public ResourceType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public EventChangeType getChange() {
+        return change;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /* ------------- Equals, HashCode, and ToString ------------- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof EntityTimelineEntry)) {
+            return false;
+        }
+        EntityTimelineEntry entry = (EntityTimelineEntry) o;
+        return Objects.equals(id, entry.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityTimelineEntry{" +
+                " id='" + getId() + "'" +
+                ", entityType='" + getEntityType() + "'" +
+                ", entityId='" + getEntityId() + "'" +
+                ", seq='" + getSeq() + "'" +
+                ", change='" + getChange() + "'" +
+                ", userName='" + getUserName() + "'" +
+                ", timestamp='" + getTimestamp() + "'" +
+                "}";
+    }
+}
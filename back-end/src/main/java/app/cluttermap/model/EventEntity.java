@@ -1,20 +1,27 @@
 package app.cluttermap.model;
 
+import java.time.Instant;
 import java.util.Objects;
 
+import org.hibernate.annotations.ColumnTransformer;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -24,14 +31,28 @@ public class EventEntity {
 
     /* ------------- Fields ------------- */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_entities_seq")
+    @SequenceGenerator(name = "event_entities_seq", sequenceName = "event_entities_seq", allocationSize = 50)
     private Long id;
 
+    // No foreign key: events is partitioned by timestamp, so one would have to
+    // include it (see DatabaseMigrationService.partitionEventStore)
     @ManyToOne()
-    @JoinColumn(name = "event_id", nullable = false)
+    @JoinColumn(name = "event_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonBackReference
     private Event event;
 
+    // Copy of the event's timestamp; event_entities is partitioned on it. Mapped
+    // nullable so ddl-auto can add it to a populated table; the migration fills
+    // it in and makes it part of the primary key.
+    @Column(name = "event_timestamp")
+    private Instant eventTimestamp;
+
+    // Copy of the event's project, so /sync reads each project's changes with a
+    // range scan on idx_event_entities_project_tx_change_seq
+    @Column(name = "project_id")
+    private Long projectId;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private ResourceType entityType;
@@ -43,7 +64,10 @@ public class EventEntity {
     @NotNull
     private EventChangeType change;
 
-    @Column(columnDefinition = "TEXT", nullable = true)
+    // JSON written by EventService.convertToJson. Stored as JSONB so changes can
+    // be looked up by payload keys (e.g. childId) on idx_event_entities_details
+    @Column(columnDefinition = "JSONB", nullable = true)
+    @ColumnTransformer(write = "CAST(? AS JSONB)")
     private String details;
 
     /* ------------- Constructors ------------- */
@@ -84,6 +108,14 @@ public class EventEntity {
         this.event = event;
     }
 
+    public Instant getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
     public ResourceType getEntityType() {
         return entityType;
     }
@@ -116,6 +148,14 @@ public class EventEntity {
         this.details = details;
     }
 
+    /* ------------- Lifecycle Callback Methods ------------- */
+
+    @PrePersist
+    private void prePersist() {
+        this.eventTimestamp = event.getTimestamp();
+        this.projectId = event.getProject().getId();
+    }
+
     /* ------------- Custom Builders (Fluent Methods) ------------- */
 
     public EventEntity id(Long id) {
@@ -18,6 +18,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -26,7 +27,8 @@ public class OrgUnit {
 
     /* ------------- Fields ------------- */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "org_units_seq")
+    @SequenceGenerator(name = "org_units_seq", sequenceName = "org_units_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,7 +37,8 @@ public class Project {
     @JsonBackReference
     private User owner;
 
-    @Column(updatable = true, name = "last_updated")
+    // Only written by ProjectRepository.touch, see ProjectTouchTracker
+    @Column(updatable = false, name = "last_updated")
     private Instant lastUpdated;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -203,10 +204,6 @@ public class Project {
         items.remove(item);
     }
 
-    public void touch() {
-        this.lastUpdated = Instant.now();
-    }
-
     /* ------------- Equals, HashCode, and ToString ------------- */
 
     @Override
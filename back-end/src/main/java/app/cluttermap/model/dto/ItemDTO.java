@@ -36,6 +36,31 @@ public class ItemDTO {
         this.projectId = item.getProject().getId();
     }
 
+    // Used by ItemRepository's constructor expressions, so list reads need no
+    // entities; orgUnit and room columns are null for unassigned items
+    public ItemDTO(
+            Long id,
+            String name,
+            String description,
+            List<String> tags,
+            Integer quantity,
+            Long orgUnitId,
+            String orgUnitName,
+            Long roomId,
+            String roomName,
+            Long projectId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.tags = tags != null ? tags : new ArrayList<>();
+        this.quantity = quantity;
+        this.orgUnitId = Optional.ofNullable(orgUnitId);
+        this.orgUnitName = Optional.ofNullable(orgUnitName);
+        this.roomId = Optional.ofNullable(roomId);
+        this.roomName = Optional.ofNullable(roomName);
+        this.projectId = projectId;
+    }
+
     /* ------------- Getters ------------- */
     // NOTE: Getters should follow the same order as the fields and constructor for
     // consistency.
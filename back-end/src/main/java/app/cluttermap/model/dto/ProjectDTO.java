@@ -32,6 +32,20 @@ public class ProjectDTO {
                 .collect(Collectors.toList());
     }
 
+    // For ProjectService, which reads the child IDs without loading the children
+    public ProjectDTO(
+            Long id,
+            String name,
+            List<Long> roomIds,
+            List<Long> orgUnitIds,
+            List<Long> itemIds) {
+        this.id = id;
+        this.name = name;
+        this.roomIds = roomIds;
+        this.orgUnitIds = orgUnitIds;
+        this.itemIds = itemIds;
+    }
+
     /* ------------- Getters ------------- */
     // NOTE: Getters should follow the same order as the fields and constructor for
     // consistency.
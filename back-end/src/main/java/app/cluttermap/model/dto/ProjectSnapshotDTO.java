@@ -0,0 +1,59 @@
+package app.cluttermap.model.dto;
+
+import java.util.List;
+
+public class ProjectSnapshotDTO {
+    /* ------------- Fields ------------- */
+    private Long projectId;
+    private String projectName;
+    private List<RoomDTO> rooms;
+    private List<OrgUnitDTO> orgUnits;
+    private List<ItemDTO> items;
+    // Pass to /sync as "after" to receive the changes made since
+    private String cursor;
+
+    /* ------------- Constructors ------------- */
+    // NOTE: Constructor parameters should follow the same order as the fields.
+    public ProjectSnapshotDTO(
+            Long projectId,
+            String projectName,
+            List<RoomDTO> rooms,
+            List<OrgUnitDTO> orgUnits,
+            List<ItemDTO> items,
+            String cursor) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.rooms = rooms;
+        this.orgUnits = orgUnits;
+        this.items = items;
+        this.cursor = cursor;
+    }
+
+    /* ------------- Getters ------------- */
+    // NOTE: Getters should follow the same order as the fields and constructor for
+    // consistency.
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public List<RoomDTO> getRooms() {
+        return rooms;
+    }
+
+    public List<OrgUnitDTO> getOrgUnits() {
+        return orgUnits;
+    }
+
+    public List<ItemDTO> getItems() {
+        return items;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
@@ -0,0 +1,31 @@
+package app.cluttermap.model.dto;
+
+import java.util.List;
+
+public class SyncPageDTO {
+    /* ------------- Fields ------------- */
+    private List<EntityHistoryDTO> changes;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /* ------------- Constructors ------------- */
+    // NOTE: Constructor parameters should follow the same order as the fields.
+    public SyncPageDTO(List<EntityHistoryDTO> changes, String nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /* ------------- Getters ------------- */
+    public List<EntityHistoryDTO> getChanges() {
+        return changes;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,11 @@
+package app.cluttermap.model.payload;
+
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Details of an ADD_CHILD or REMOVE_CHILD change on the parent entity.
+ */
+public record ChildChangePayload(
+        Long childId,
+        ResourceType childType) {
+}
@@ -0,0 +1,45 @@
+package app.cluttermap.model.payload;
+
+import java.util.List;
+
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+
+/**
+ * Details of a CREATE change: the new entity's fields and where it was
+ * created. Fields that don't apply to the entity type are left null and
+ * omitted from the stored JSON.
+ */
+public record CreatePayload(
+        Long projectId,
+        Long roomId,
+        Long orgUnitId,
+        String name,
+        String description,
+        Integer quantity,
+        List<String> tags) {
+
+    public static CreatePayload of(Project project) {
+        return new CreatePayload(null, null, null, project.getName(), null, null, null);
+    }
+
+    public static CreatePayload of(Room room) {
+        return new CreatePayload(
+                room.getProject().getId(), null, null, room.getName(), room.getDescription(), null, null);
+    }
+
+    public static CreatePayload of(OrgUnit orgUnit) {
+        Long roomId = orgUnit.getRoom() != null ? orgUnit.getRoom().getId() : null;
+        return new CreatePayload(
+                orgUnit.getProject().getId(), roomId, null, orgUnit.getName(), orgUnit.getDescription(), null, null);
+    }
+
+    public static CreatePayload of(Item item) {
+        Long orgUnitId = item.getOrgUnit() != null ? item.getOrgUnit().getId() : null;
+        return new CreatePayload(
+                item.getProject().getId(), null, orgUnitId, item.getName(), item.getDescription(),
+                item.getQuantity(), item.getTags());
+    }
+}
@@ -0,0 +1,52 @@
+package app.cluttermap.model.payload;
+
+import java.util.List;
+import java.util.Objects;
+
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+
+/**
+ * Details of an UPDATE change: the new value of each field that changed.
+ * Unchanged fields are null and omitted from the stored JSON.
+ */
+public record FieldChangePayload(
+        String name,
+        String description,
+        Integer quantity,
+        List<String> tags) {
+
+    public static FieldChangePayload between(Project oldProject, Project newProject) {
+        return new FieldChangePayload(changed(oldProject.getName(), newProject.getName()), null, null, null);
+    }
+
+    public static FieldChangePayload between(Room oldRoom, Room newRoom) {
+        return new FieldChangePayload(
+                changed(oldRoom.getName(), newRoom.getName()),
+                changed(oldRoom.getDescription(), newRoom.getDescription()),
+                null,
+                null);
+    }
+
+    public static FieldChangePayload between(OrgUnit oldOrgUnit, OrgUnit newOrgUnit) {
+        return new FieldChangePayload(
+                changed(oldOrgUnit.getName(), newOrgUnit.getName()),
+                changed(oldOrgUnit.getDescription(), newOrgUnit.getDescription()),
+                null,
+                null);
+    }
+
+    public static FieldChangePayload between(Item oldItem, Item newItem) {
+        return new FieldChangePayload(
+                changed(oldItem.getName(), newItem.getName()),
+                changed(oldItem.getDescription(), newItem.getDescription()),
+                changed(oldItem.getQuantity(), newItem.getQuantity()),
+                changed(oldItem.getTags(), newItem.getTags()));
+    }
+
+    private static <T> T changed(T oldValue, T newValue) {
+        return Objects.equals(oldValue, newValue) ? null : newValue;
+    }
+}
@@ -0,0 +1,13 @@
+package app.cluttermap.model.payload;
+
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Details of a MOVE change. Either parent ID is null when the entity was
+ * moved from or to the project's unassigned list.
+ */
+public record MovePayload(
+        Long previousParentId,
+        Long newParentId,
+        ResourceType parentType) {
+}
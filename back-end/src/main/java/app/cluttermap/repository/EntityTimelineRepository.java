@@ -0,0 +1,37 @@
+package app.cluttermap.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import app.cluttermap.model.EntityTimelineEntry;
+import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.util.ResourceType;
+
+@Repository
+public interface EntityTimelineRepository extends CrudRepository<EntityTimelineEntry, Long> {
+    // Timeline for a single entity, newest first. Returned as a Slice so no
+    // count query is run; Spring Data reads one extra row to set hasNext.
+    @Query("""
+                SELECT new app.cluttermap.model.dto.EntityHistoryDTO(
+                    t.entityType,
+                    t.entityId,
+                    t.change,
+                    t.details,
+                    t.userName,
+                    t.userId,
+                    t.timestamp
+                )
+                FROM EntityTimelineEntry t
+                WHERE t.entityType = :entityType
+                AND t.entityId = :entityId
+                ORDER BY t.timestamp DESC, t.seq DESC
+            """)
+    Slice<EntityHistoryDTO> findHistoryByEntity(
+            @Param("entityType") ResourceType entityType,
+            @Param("entityId") Long entityId,
+            Pageable pageable);
+}
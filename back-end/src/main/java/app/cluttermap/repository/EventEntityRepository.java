@@ -1,18 +1,24 @@
 package app.cluttermap.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.cluttermap.model.EventEntity;
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.repository.projection.ChangePositionProjection;
 import app.cluttermap.util.ResourceType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface EventEntityRepository extends CrudRepository<EventEntity, Long> {
@@ -64,4 +70,130 @@ public interface EventEntityRepository extends CrudRepository<EventEntity, Long>
             @Param("since") Instant since,
             @Param("projectIds") List<Long> projectIds);
 
+    // Same as findChangesSince, but read through a cursor 500 rows at a time
+    // instead of loading every row. Must be consumed (and closed) inside a
+    // transaction, otherwise the driver fetches everything up front.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+                SELECT new app.cluttermap.model.dto.EntityHistoryDTO(
+                    ee.entityType,
+                    ee.entityId,
+                    ee.change,
+                    ee.details,
+                    u.username,
+                    u.id,
+                    e.timestamp
+                )
+                FROM EventEntity ee
+                JOIN ee.event e
+                JOIN e.user u
+                WHERE e.timestamp > :since
+                AND e.project.id IN :projectIds
+                ORDER BY e.timestamp ASC
+            """)
+    Stream<EntityHistoryDTO> streamChangesSince(
+            @Param("since") Instant since,
+            @Param("projectIds") List<Long> projectIds);
+
+    // Keyset page of the change log for /sync: the next :limit changes after the
+    // (txId, changeSeq) cursor. Each project's changes are read with a range
+    // scan on idx_event_entities_project_tx_change_seq and the per-project
+    // ranges merged, so a page costs as much as the user's own changes however
+    // much other projects write. Only changes from transactions older than
+    // every transaction still running are returned, so a change can never
+    // appear behind a cursor that a client has already moved past.
+    @Query(value = """
+                SELECT c.id AS "id",
+                    CAST(CAST(c.tx_id AS TEXT) AS BIGINT) AS "txId",
+                    c.change_seq AS "changeSeq"
+                FROM projects p
+                CROSS JOIN LATERAL (
+                    SELECT ee.id, ee.tx_id, ee.change_seq
+                    FROM event_entities ee
+                    WHERE ee.project_id = p.id
+                    AND (ee.tx_id, ee.change_seq) > (CAST(CAST(:afterTxId AS TEXT) AS xid8), :afterSeq)
+                    AND ee.tx_id < pg_snapshot_xmin(pg_current_snapshot())
+                    ORDER BY ee.tx_id, ee.change_seq
+                    LIMIT :limit
+                ) c
+                WHERE p.id IN (:projectIds)
+                ORDER BY c.tx_id, c.change_seq
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangePositionProjection> findChangePositionsAfter(
+            @Param("projectIds") List<Long> projectIds,
+            @Param("afterTxId") long afterTxId,
+            @Param("afterSeq") long afterSeq,
+            @Param("limit") int limit);
+
+    // Whether any committed change in these projects comes after the cursor,
+    // including changes findChangePositionsAfter still holds back because an
+    // older transaction is running
+    @Query(value = """
+                SELECT EXISTS (
+                    SELECT 1 FROM event_entities ee
+                    WHERE ee.project_id IN (:projectIds)
+                    AND (ee.tx_id, ee.change_seq) > (CAST(CAST(:afterTxId AS TEXT) AS xid8), :afterSeq)
+                )
+            """, nativeQuery = true)
+    boolean existsChangeAfter(
+            @Param("projectIds") List<Long> projectIds,
+            @Param("afterTxId") long afterTxId,
+            @Param("afterSeq") long afterSeq);
+
+    // Oldest transaction still running when the current transaction took its
+    // snapshot. Every change from an earlier transaction is visible to it.
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)", nativeQuery = true)
+    Long findSnapshotXmin();
+
+    @Query("""
+                SELECT ee FROM EventEntity ee
+                JOIN FETCH ee.event e
+                LEFT JOIN FETCH e.user
+                WHERE ee.id IN :ids
+            """)
+    List<EventEntity> findWithEventByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ADD_CHILD and REMOVE_CHILD changes, on any parent, that name this child:
+    // where an item or org unit has been, newest first. Matched on the details
+    // with @> so idx_event_entities_details can be used.
+    @Query(value = """
+                SELECT ee.id FROM event_entities ee
+                WHERE ee.details @> jsonb_build_object(
+                    'childType', CAST(:childType AS TEXT),
+                    'childId', CAST(:childId AS BIGINT))
+                AND ee.change IN ('ADD_CHILD', 'REMOVE_CHILD')
+                ORDER BY ee.event_timestamp DESC, ee.id DESC
+            """, nativeQuery = true)
+    List<Long> findChildChangeIds(
+            @Param("childType") String childType,
+            @Param("childId") Long childId);
+
+    // MOVE changes that took an entity out of this parent, newest first
+    @Query(value = """
+                SELECT ee.id FROM event_entities ee
+                WHERE ee.details @> jsonb_build_object(
+                    'parentType', CAST(:parentType AS TEXT),
+                    'previousParentId', CAST(:parentId AS BIGINT))
+                AND ee.change = 'MOVE'
+                ORDER BY ee.event_timestamp DESC, ee.id DESC
+            """, nativeQuery = true)
+    List<Long> findMoveIdsOutOfParent(
+            @Param("parentType") String parentType,
+            @Param("parentId") Long parentId);
+
+    // ADD_CHILD changes on this parent since the given time, newest first.
+    // Only the partitions from :since on are scanned.
+    @Query(value = """
+                SELECT ee.id FROM event_entities ee
+                WHERE ee.entity_type = :parentType
+                AND ee.entity_id = :parentId
+                AND ee.change = 'ADD_CHILD'
+                AND ee.event_timestamp >= :since
+                ORDER BY ee.event_timestamp DESC, ee.id DESC
+            """, nativeQuery = true)
+    List<Long> findChildAddedIdsSince(
+            @Param("parentType") String parentType,
+            @Param("parentId") Long parentId,
+            @Param("since") Instant since);
 }
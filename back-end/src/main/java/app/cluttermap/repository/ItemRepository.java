@@ -1,13 +1,21 @@
 package app.cluttermap.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.cluttermap.model.Item;
+import app.cluttermap.model.dto.ItemDTO;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
+import jakarta.transaction.Transactional;
 
 @Repository
 public interface ItemRepository extends CrudRepository<Item, Long> {
@@ -18,4 +26,128 @@ public interface ItemRepository extends CrudRepository<Item, Long> {
 
     @Query(value = "SELECT * FROM items i WHERE i.project_id = :projectId AND i.org_unit_id IS NULL", nativeQuery = true)
     List<Item> findUnassignedItemsByProjectId(@Param("projectId") Long projectId);
+
+    // Read-only list views: one row per item with its placement, so building
+    // the DTOs loads no org units, rooms or projects
+    @Query("""
+                SELECT new app.cluttermap.model.dto.ItemDTO(
+                    i.id,
+                    i.name,
+                    i.description,
+                    i.tags,
+                    i.quantity,
+                    o.id,
+                    o.name,
+                    r.id,
+                    r.name,
+                    i.project.id
+                )
+                FROM Item i
+                LEFT JOIN i.orgUnit o
+                LEFT JOIN o.room r
+                WHERE i.project.owner.id = :ownerId
+                ORDER BY i.id
+            """)
+    List<ItemDTO> findItemDTOsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("""
+                SELECT new app.cluttermap.model.dto.ItemDTO(
+                    i.id,
+                    i.name,
+                    i.description,
+                    i.tags,
+                    i.quantity,
+                    o.id,
+                    o.name,
+                    r.id,
+                    r.name,
+                    i.project.id
+                )
+                FROM Item i
+                LEFT JOIN i.orgUnit o
+                LEFT JOIN o.room r
+                WHERE i.project.id = :projectId
+                ORDER BY i.id
+            """)
+    List<ItemDTO> findItemDTOsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("""
+                SELECT new app.cluttermap.model.dto.ItemDTO(
+                    i.id,
+                    i.name,
+                    i.description,
+                    i.tags,
+                    i.quantity,
+                    o.id,
+                    o.name,
+                    r.id,
+                    r.name,
+                    i.project.id
+                )
+                FROM Item i
+                LEFT JOIN i.orgUnit o
+                LEFT JOIN o.room r
+                WHERE o.id = :orgUnitId
+                ORDER BY i.id
+            """)
+    List<ItemDTO> findItemDTOsByOrgUnitId(@Param("orgUnitId") Long orgUnitId);
+
+    @Query("""
+                SELECT new app.cluttermap.model.dto.ItemDTO(
+                    i.id,
+                    i.name,
+                    i.description,
+                    i.tags,
+                    i.quantity,
+                    o.id,
+                    o.name,
+                    r.id,
+                    r.name,
+                    i.project.id
+                )
+                FROM Item i
+                LEFT JOIN i.orgUnit o
+                LEFT JOIN o.room r
+                WHERE i.project.id = :projectId
+                AND i.orgUnit IS NULL
+                ORDER BY i.id
+            """)
+    List<ItemDTO> findUnassignedItemDTOsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT i.project.owner.id FROM Item i WHERE i.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT i.project.owner.id AS ownerId, i.project.lastUpdated AS lastUpdated FROM Item i WHERE i.id = :id")
+    Optional<ProjectVersionProjection> findProjectVersionById(@Param("id") Long id);
+
+    @Query("SELECT i.id AS id, i.project.owner.id AS ownerId FROM Item i WHERE i.id IN :ids")
+    List<ResourceOwnerProjection> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.id AS id, i.project.id AS projectId, o.id AS parentId " +
+            "FROM Item i LEFT JOIN i.orgUnit o WHERE i.id IN :ids")
+    List<ResourcePlacementProjection> findPlacementsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i FROM Item i " +
+            "JOIN FETCH i.project " +
+            "LEFT JOIN FETCH i.orgUnit o " +
+            "LEFT JOIN FETCH o.room " +
+            "WHERE i.id IN :ids")
+    List<Item> findAllWithPlacementByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i FROM Item i " +
+            "LEFT JOIN FETCH i.orgUnit o " +
+            "LEFT JOIN FETCH o.room " +
+            "WHERE i.project.id = :projectId " +
+            "ORDER BY i.id")
+    List<Item> findAllForSnapshotByProjectId(@Param("projectId") Long projectId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET org_unit_id = :orgUnitId WHERE id IN (:ids)", nativeQuery = true)
+    int assignOrgUnitByIdIn(@Param("orgUnitId") Long orgUnitId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items SET org_unit_id = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int clearOrgUnitByIdIn(@Param("ids") Collection<Long> ids);
 }
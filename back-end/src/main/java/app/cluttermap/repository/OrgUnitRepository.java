@@ -1,13 +1,20 @@
 package app.cluttermap.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.cluttermap.model.OrgUnit;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
+import jakarta.transaction.Transactional;
 
 @Repository
 public interface OrgUnitRepository extends CrudRepository<OrgUnit, Long> {
@@ -21,4 +28,42 @@ public interface OrgUnitRepository extends CrudRepository<OrgUnit, Long> {
 
     @Query(value = "SELECT ou.* FROM org_units ou WHERE ou.project_id = :projectId AND ou.room_id IS NULL", nativeQuery = true)
     List<OrgUnit> findUnassignedOrgUnitsByProjectId(@Param("projectId") Long projectId);
-}
\ No newline at end of file
+
+    @Query("SELECT ou.project.owner.id FROM OrgUnit ou WHERE ou.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT ou.project.owner.id AS ownerId, ou.project.lastUpdated AS lastUpdated FROM OrgUnit ou " +
+            "WHERE ou.id = :id")
+    Optional<ProjectVersionProjection> findProjectVersionById(@Param("id") Long id);
+
+    @Query("SELECT ou.id AS id, ou.project.owner.id AS ownerId FROM OrgUnit ou WHERE ou.id IN :ids")
+    List<ResourceOwnerProjection> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT ou.id AS id, ou.project.id AS projectId, r.id AS parentId " +
+            "FROM OrgUnit ou LEFT JOIN ou.room r WHERE ou.id IN :ids")
+    List<ResourcePlacementProjection> findPlacementsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT ou FROM OrgUnit ou " +
+            "JOIN FETCH ou.project " +
+            "LEFT JOIN FETCH ou.room " +
+            "LEFT JOIN FETCH ou.items " +
+            "WHERE ou.id IN :ids")
+    List<OrgUnit> findAllWithPlacementByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT ou FROM OrgUnit ou " +
+            "LEFT JOIN FETCH ou.room " +
+            "LEFT JOIN FETCH ou.items " +
+            "WHERE ou.project.id = :projectId " +
+            "ORDER BY ou.id")
+    List<OrgUnit> findAllForSnapshotByProjectId(@Param("projectId") Long projectId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE org_units SET room_id = :roomId WHERE id IN (:ids)", nativeQuery = true)
+    int assignRoomByIdIn(@Param("roomId") Long roomId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE org_units SET room_id = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int clearRoomByIdIn(@Param("ids") Collection<Long> ids);
+}
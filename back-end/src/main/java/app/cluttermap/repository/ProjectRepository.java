@@ -1,8 +1,11 @@
 package app.cluttermap.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,11 @@ import org.springframework.stereotype.Repository;
 
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
+import app.cluttermap.repository.projection.ProjectChildProjection;
+import app.cluttermap.repository.projection.ProjectSetVersionProjection;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
+import jakarta.transaction.Transactional;
 
 @Repository
 public interface ProjectRepository extends CrudRepository<Project, Long> {
@@ -21,8 +29,55 @@ public interface ProjectRepository extends CrudRepository<Project, Long> {
     @Query("SELECT p.id FROM Project p WHERE p.owner.id = :userId")
     List<Long> findProjectIdsByOwnerId(@Param("userId") Long userId);
 
+    // Every child ID of the given projects in one round trip, so ProjectDTOs
+    // need no rooms, org units or items loaded
+    @Query(value = """
+            SELECT r.project_id AS "projectId", 'ROOM' AS "childType", r.id AS "childId"
+            FROM rooms r WHERE r.project_id IN (:projectIds)
+            UNION ALL
+            SELECT o.project_id, 'ORGANIZATIONAL_UNIT', o.id
+            FROM org_units o WHERE o.project_id IN (:projectIds)
+            UNION ALL
+            SELECT i.project_id, 'ITEM', i.id
+            FROM items i WHERE i.project_id IN (:projectIds)
+            ORDER BY "childId"
+            """, nativeQuery = true)
+    List<ProjectChildProjection> findChildIdsByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
     @Query("SELECT p.id FROM Project p WHERE p.owner.id = :userId AND p.lastUpdated > :since")
     List<Long> findUpdatedProjectIds(
             @Param("since") Instant since,
             @Param("userId") Long userId);
+
+    // Moves lastUpdated forward, never back, and by at least a microsecond so
+    // every touch gives the project a new version (see ProjectVersionService).
+    // Used by ProjectTouchTracker at commit; lastUpdated is not written by
+    // entity updates.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE projects " +
+            "SET last_updated = GREATEST(last_updated + INTERVAL '1 microsecond', :touchedAt) " +
+            "WHERE id = :id", nativeQuery = true)
+    int touch(@Param("id") Long id, @Param("touchedAt") Instant touchedAt);
+
+    @Query("SELECT p.owner.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT p.owner.id AS ownerId, p.lastUpdated AS lastUpdated FROM Project p WHERE p.id = :id")
+    Optional<ProjectVersionProjection> findProjectVersionById(@Param("id") Long id);
+
+    // Index-only on idx_projects_owner_last_updated. Summed rather than MAX:
+    // every touch moves its own project's last_updated forward, but not past a
+    // later timestamp another project already holds.
+    @Query(value = """
+                SELECT COUNT(*) AS "projectCount",
+                    COALESCE(SUM(CAST(EXTRACT(EPOCH FROM p.last_updated) * 1000000 AS BIGINT)), 0)
+                        AS "lastUpdatedSum"
+                FROM projects p
+                WHERE p.owner_id = :ownerId
+            """, nativeQuery = true)
+    ProjectSetVersionProjection findProjectSetVersionByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT p.id AS id, p.owner.id AS ownerId FROM Project p WHERE p.id IN :ids")
+    List<ResourceOwnerProjection> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
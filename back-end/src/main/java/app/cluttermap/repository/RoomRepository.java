@@ -1,6 +1,8 @@
 package app.cluttermap.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -8,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.cluttermap.model.Room;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
 
 @Repository
 public interface RoomRepository extends CrudRepository<Room, Long> {
@@ -16,4 +20,19 @@ public interface RoomRepository extends CrudRepository<Room, Long> {
 
     @Query(value = "SELECT r.* FROM rooms r WHERE r.project_id =:projectId", nativeQuery = true)
     List<Room> findByProjectId(@Param("projectId") Long project_id);
+
+    @Query("SELECT r.project.owner.id FROM Room r WHERE r.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT r.project.owner.id AS ownerId, r.project.lastUpdated AS lastUpdated FROM Room r WHERE r.id = :id")
+    Optional<ProjectVersionProjection> findProjectVersionById(@Param("id") Long id);
+
+    @Query("SELECT r.id AS id, r.project.owner.id AS ownerId FROM Room r WHERE r.id IN :ids")
+    List<ResourceOwnerProjection> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r FROM Room r " +
+            "LEFT JOIN FETCH r.orgUnits " +
+            "WHERE r.project.id = :projectId " +
+            "ORDER BY r.id")
+    List<Room> findAllForSnapshotByProjectId(@Param("projectId") Long projectId);
 }
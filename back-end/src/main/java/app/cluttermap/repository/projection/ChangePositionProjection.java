@@ -0,0 +1,14 @@
+package app.cluttermap.repository.projection;
+
+/**
+ * Position of one event entity in the change log: the ID of the transaction
+ * that wrote it and its change sequence. Used by the keyset-paginated sync
+ * query, which only needs these to select and order a page.
+ */
+public interface ChangePositionProjection {
+    Long getId();
+
+    Long getTxId();
+
+    Long getChangeSeq();
+}
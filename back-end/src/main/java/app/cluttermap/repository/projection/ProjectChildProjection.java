@@ -0,0 +1,15 @@
+package app.cluttermap.repository.projection;
+
+import app.cluttermap.util.ResourceType;
+
+/**
+ * One room, org unit or item ID of a project, tagged with its type. Lets the
+ * project DTOs list their children without loading them.
+ */
+public interface ProjectChildProjection {
+    Long getProjectId();
+
+    ResourceType getChildType();
+
+    Long getChildId();
+}
@@ -0,0 +1,15 @@
+package app.cluttermap.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * How many projects a user owns and the sum of their {@code lastUpdated}, in
+ * microseconds. Every touch moves one project's {@code lastUpdated} forward,
+ * so together they change whenever any of the projects does, or one is added
+ * or deleted, whatever order the touches commit in.
+ */
+public interface ProjectSetVersionProjection {
+    long getProjectCount();
+
+    BigDecimal getLastUpdatedSum();
+}
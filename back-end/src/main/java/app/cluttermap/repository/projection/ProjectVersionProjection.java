@@ -0,0 +1,14 @@
+package app.cluttermap.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * The owner and {@code lastUpdated} of the project a resource belongs to,
+ * read together so a conditional GET can be authorized and answered with
+ * one query.
+ */
+public interface ProjectVersionProjection {
+    Long getOwnerId();
+
+    Instant getLastUpdated();
+}
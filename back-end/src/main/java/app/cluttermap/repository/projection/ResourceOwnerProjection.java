@@ -0,0 +1,12 @@
+package app.cluttermap.repository.projection;
+
+/**
+ * Pairs a resource ID with the ID of the user who owns its project.
+ * Used by the set-based ownership queries so a whole list of IDs can be
+ * checked in one round trip.
+ */
+public interface ResourceOwnerProjection {
+    Long getId();
+
+    Long getOwnerId();
+}
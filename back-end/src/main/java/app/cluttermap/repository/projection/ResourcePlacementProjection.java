@@ -0,0 +1,14 @@
+package app.cluttermap.repository.projection;
+
+/**
+ * Pairs a resource ID with the project it belongs to and the ID of its current
+ * parent (e.g. the org unit of an item), which may be {@code null}. Used by the
+ * bulk move operations to validate and log a whole list of IDs from one query.
+ */
+public interface ResourcePlacementProjection {
+    Long getId();
+
+    Long getProjectId();
+
+    Long getParentId();
+}
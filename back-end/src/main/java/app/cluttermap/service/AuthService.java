@@ -1,73 +1,59 @@
 package app.cluttermap.service;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.util.Collections;
 import java.util.Date;
 
 import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.JsonFactory;
-import com.google.api.client.json.gson.GsonFactory;
 
 import app.cluttermap.exception.auth.InvalidAuthenticationException;
+import app.cluttermap.model.AuthenticatedPrincipal;
 import app.cluttermap.model.User;
 import app.cluttermap.repository.UserRepository;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 
 @Service("authService")
 public class AuthService {
     /* ------------- Constants ------------- */
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
-    // Factory for JSON processing, using Gson for serialization and deserialization
-    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
-
-    // HTTP transport layer, used to send HTTP requests over the network
-    private final NetHttpTransport transport = new NetHttpTransport();
-
     private final long EXPIRATION_TIME = 86400000; // 1 day
 
+    // Audience of the tokens that open the change stream. SecurityConfig only
+    // accepts them there, and rejects them everywhere else.
+    public static final String STREAM_TOKEN_AUDIENCE = "changes-stream";
+    private final long STREAM_TOKEN_EXPIRATION_TIME = 60000; // 1 minute
+
     /* ------------- Injected Dependencies ------------- */
     public final SecurityService securityService;
     private UserRepository userRepository;
-
-    /* ------------- Configuration Values ------------- */
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String clientId;
-
-    @Value("${security.jwt.secret-key}")
-    private String JWT_SECRET;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final JwtKeyService jwtKeyService;
 
     /* ------------- Constructor ------------- */
-    public AuthService(SecurityService securityService, UserRepository userRepository) {
+    public AuthService(
+            SecurityService securityService,
+            UserRepository userRepository,
+            GoogleTokenVerifier googleTokenVerifier,
+            JwtKeyService jwtKeyService) {
         this.securityService = securityService;
         this.userRepository = userRepository;
+        this.googleTokenVerifier = googleTokenVerifier;
+        this.jwtKeyService = jwtKeyService;
     }
 
     /* ------------- Token Verification ------------- */
     public GoogleIdToken verifyGoogleToken(String idTokenString) throws GeneralSecurityException, IOException {
         try {
-            // Create the google id token verifier
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(transport, jsonFactory)
-                    // Set the audience to our client id
-                    // this verifies that the token was issued for our app
-                    .setAudience(Collections.singletonList(clientId))
-                    .build();
-
-            // Verify the token
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            // Verify the token against the shared verifier and its cached keys
+            GoogleIdToken idToken = googleTokenVerifier.verify(idTokenString);
             if (idToken == null) {
                 throw new InvalidAuthenticationException("Invalid ID token.");
             }
@@ -111,14 +97,14 @@ public class AuthService {
 
     /* ------------- Token Generation ------------- */
     public String generateJwtToken(User user) {
-        // Securely convert the JWT_SECRET into a key used for signing the JWT using
-        // HMAC SHA-256.
+        // The HMAC SHA-256 signing key is derived once by JwtKeyService.
         // This helps ensure that the JWT is tamper-proof once signed.
-        SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = jwtKeyService.getSigningKey();
 
         // Create our own JWT
         // https://www.baeldung.com/java-json-web-tokens-jjwt
         return Jwts.builder()
+                .setHeaderParam("kid", jwtKeyService.getSigningKeyId())
                 .setSubject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("username", user.getUsername())
@@ -127,4 +113,26 @@ public class AuthService {
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
+
+    /**
+     * Issues a token for opening {@code /projects/changes/stream} as the current
+     * user. A browser's EventSource cannot send an Authorization header, so it is
+     * passed in the query string instead; being short-lived and limited to the
+     * stream keeps it of little use if it ends up in a log. It is only checked
+     * when the stream is opened, so clients ask for a new one to reconnect.
+     */
+    public String generateStreamToken() {
+        AuthenticatedPrincipal principal = securityService.getCurrentPrincipal();
+
+        return Jwts.builder()
+                .setHeaderParam("kid", jwtKeyService.getSigningKeyId())
+                .setSubject(principal.getId().toString())
+                .claim("email", principal.getEmail())
+                .claim("username", principal.getUsername())
+                .setAudience(STREAM_TOKEN_AUDIENCE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + STREAM_TOKEN_EXPIRATION_TIME))
+                .signWith(jwtKeyService.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
 }
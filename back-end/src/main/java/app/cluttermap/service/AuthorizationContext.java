@@ -0,0 +1,120 @@
+package app.cluttermap.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import app.cluttermap.model.User;
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Memoizes authorization lookups for the lifetime of a single HTTP request.
+ * <p>
+ * Nested service calls (e.g. createItemInOrgUnit -> getOrgUnitById ->
+ * getProjectById) each run their own {@code @PreAuthorize} check. Caching the
+ * current user and the owner of each resource in the request attributes means
+ * those checks only hit the database once per request.
+ * <p>
+ * Outside of a request (scheduled jobs, unit tests) nothing is cached and every
+ * call goes straight to the loader.
+ */
+@Component
+public class AuthorizationContext {
+    /* ------------- Constants ------------- */
+    private static final String CURRENT_USER_ATTRIBUTE = AuthorizationContext.class.getName() + ".currentUser";
+    private static final String OWNER_IDS_ATTRIBUTE = AuthorizationContext.class.getName() + ".ownerIds";
+
+    /* ------------- Cached Lookups ------------- */
+    public User getCurrentUser(Supplier<User> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+
+        User user = (User) attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            user = loader.get();
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public Long getOwnerId(ResourceType resourceType, Long resourceId, Supplier<Long> loader) {
+        Map<Long, Long> ownerIds = getOwnerIds(resourceType);
+        if (ownerIds == null) {
+            return loader.get();
+        }
+
+        Long ownerId = ownerIds.get(resourceId);
+        if (ownerId == null) {
+            ownerId = loader.get();
+            if (ownerId != null) {
+                ownerIds.put(resourceId, ownerId);
+            }
+        }
+        return ownerId;
+    }
+
+    /**
+     * Bulk variant of {@link #getOwnerId}. Only the IDs that are not cached yet
+     * are handed to the loader, and its answers are cached for later checks in
+     * the same request.
+     */
+    public Map<Long, Long> getOwnerIds(
+            ResourceType resourceType,
+            Collection<Long> resourceIds,
+            Function<Collection<Long>, Map<Long, Long>> loader) {
+        Map<Long, Long> cached = getOwnerIds(resourceType);
+        if (cached == null) {
+            return loader.apply(resourceIds);
+        }
+
+        Map<Long, Long> ownerIds = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long resourceId : resourceIds) {
+            Long ownerId = cached.get(resourceId);
+            if (ownerId != null) {
+                ownerIds.put(resourceId, ownerId);
+            } else {
+                missingIds.add(resourceId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            Map<Long, Long> loaded = loader.apply(missingIds);
+            loaded.forEach((resourceId, ownerId) -> {
+                ownerIds.put(resourceId, ownerId);
+                if (ownerId != null) {
+                    cached.put(resourceId, ownerId);
+                }
+            });
+        }
+        return ownerIds;
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> getOwnerIds(ResourceType resourceType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Map<ResourceType, Map<Long, Long>> ownerIds = (Map<ResourceType, Map<Long, Long>>) attributes
+                .getAttribute(OWNER_IDS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (ownerIds == null) {
+            ownerIds = new EnumMap<>(ResourceType.class);
+            attributes.setAttribute(OWNER_IDS_ATTRIBUTE, ownerIds, RequestAttributes.SCOPE_REQUEST);
+        }
+        return ownerIds.computeIfAbsent(resourceType, type -> new HashMap<>());
+    }
+}
@@ -0,0 +1,157 @@
+package app.cluttermap.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tells the other nodes about committed changes through PostgreSQL
+ * {@code NOTIFY}, so their push channels and caches hear about them as soon
+ * as this node's do.
+ * <p>
+ * Each stored event sends {@code <node>:<projectId>:<txId>} on
+ * {@value #CHANNEL} from inside its transaction. PostgreSQL only delivers it
+ * once the transaction commits, and sends identical payloads from one
+ * transaction once. Every node keeps one connection listening on the
+ * channel and republishes other nodes' notifications as
+ * {@link ProjectChangedEvent}s. After the listener reconnects it publishes
+ * one with no project, as notifications sent in the meantime are lost.
+ * <p>
+ * The listening connection is taken from the application's
+ * {@link DataSource}, so it goes wherever the pool does, and is held for as
+ * long as the listener runs. That is one connection out of the pool.
+ */
+@Service
+public class ChangeNotificationBus implements SmartLifecycle {
+    /* ------------- Constants ------------- */
+    private static final Logger logger = LoggerFactory.getLogger(ChangeNotificationBus.class);
+
+    static final String CHANNEL = "project_changes";
+
+    private static final int RECEIVE_TIMEOUT_MILLIS = 1000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    /* ------------- Injected Dependencies ------------- */
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Thread listener;
+
+    /* ------------- Constructor ------------- */
+    public ChangeNotificationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /* ------------- Sending ------------- */
+    // Only changes published inside a transaction get here, i.e. this node's
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        // pg_notify returns void, so its one row is discarded
+        jdbcTemplate.query(
+                "SELECT pg_notify(?, CONCAT(CAST(? AS TEXT), ':', CAST(? AS TEXT), ':', pg_current_xact_id()))",
+                (RowCallbackHandler) rs -> {
+                }, CHANNEL, nodeId, event.projectId());
+    }
+
+    /* ------------- Lifecycle ------------- */
+    // A platform thread: the driver holds a monitor while it waits for
+    // notifications, which would pin a virtual thread's carrier
+    @Override
+    public void start() {
+        listener = Thread.ofPlatform().daemon().name("change-notification-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        Thread running = listener;
+        listener = null;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener != null;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private void listen() {
+        boolean reconnecting = false;
+
+        while (listener == Thread.currentThread()) {
+            try (Connection connection = dataSource.getConnection()) {
+                // LISTEN only takes effect once committed
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    eventPublisher.publishEvent(new ProjectChangedEvent(null));
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (listener == Thread.currentThread()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (listener != Thread.currentThread()) {
+                    return;
+                }
+                logger.warn("Change notification listener lost its connection, reconnecting", e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 3) {
+            logger.warn("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+        // This node already published its own changes locally
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(Long.parseLong(parts[1])));
+    }
+}
@@ -0,0 +1,116 @@
+package app.cluttermap.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import app.cluttermap.model.Project;
+import app.cluttermap.model.payload.ChildChangePayload;
+import app.cluttermap.model.payload.MovePayload;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Collects the entity changes of one logical operation (e.g. creating an item
+ * adds a CREATE on the item and an ADD_CHILD on its project and org unit) so
+ * they can be written by {@link EventService#logBatch} as a single
+ * {@code Event}.
+ */
+public class EventBatch {
+    /* ------------- Fields ------------- */
+    private final EventChangeType action;
+    private final Project project;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /* ------------- Constructor ------------- */
+    public EventBatch(EventChangeType action, Project project) {
+        if (action == null || project == null) {
+            throw new IllegalArgumentException("Action type and project must not be null");
+        }
+        this.action = action;
+        this.project = project;
+    }
+
+    /* ------------- Entity Changes ------------- */
+    public EventBatch add(ResourceType entityType, Long entityId, EventChangeType change, Object payload) {
+        entries.add(new Entry(entityType, entityId, change, payload));
+        return this;
+    }
+
+    public EventBatch addChild(ResourceType parentType, Long parentId, ResourceType childType, Long childId) {
+        return add(parentType, parentId, EventChangeType.ADD_CHILD, new ChildChangePayload(childId, childType));
+    }
+
+    public EventBatch removeChild(ResourceType parentType, Long parentId, ResourceType childType, Long childId) {
+        return add(parentType, parentId, EventChangeType.REMOVE_CHILD, new ChildChangePayload(childId, childType));
+    }
+
+    /**
+     * Adds a MOVE on the entity, plus a REMOVE_CHILD on the previous parent and
+     * an ADD_CHILD on the new parent when they are set.
+     */
+    public EventBatch addMove(
+            ResourceType entityType,
+            Long entityId,
+            ResourceType parentType,
+            Long previousParentId,
+            Long newParentId) {
+        add(entityType, entityId, EventChangeType.MOVE, new MovePayload(previousParentId, newParentId, parentType));
+
+        if (previousParentId != null) {
+            removeChild(parentType, previousParentId, entityType, entityId);
+        }
+        if (newParentId != null) {
+            addChild(parentType, newParentId, entityType, entityId);
+        }
+        return this;
+    }
+
+    /* ------------- Getters ------------- */
+    public EventChangeType getAction() {
+        return action;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /* ------------- Entry ------------- */
+    public static class Entry {
+        private final ResourceType entityType;
+        private final Long entityId;
+        private final EventChangeType change;
+        private final Object payload;
+
+        Entry(ResourceType entityType, Long entityId, EventChangeType change, Object payload) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.change = change;
+            this.payload = payload;
+        }
+
+        public ResourceType getEntityType() {
+            return entityType;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+
+        public EventChangeType getChange() {
+            return change;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+    }
+}
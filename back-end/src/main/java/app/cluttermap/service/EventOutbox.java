@@ -0,0 +1,196 @@
+package app.cluttermap.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import app.cluttermap.config.EventOutboxConfig;
+import app.cluttermap.model.Event;
+import app.cluttermap.model.EventEntity;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.User;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+import jakarta.persistence.EntityManager;
+
+/**
+ * The {@code event_outbox} table (see
+ * {@code DatabaseMigrationService.createEventOutbox}). When enabled,
+ * {@link EventService#logBatch} writes each event here as one row in the
+ * request's transaction instead of into the event store, and
+ * {@link EventOutboxWorker} moves the rows over later.
+ * <p>
+ * Rows are read in the order of the transaction IDs that wrote them, the same
+ * order {@code /sync} uses, and only once no older transaction can still
+ * commit. Every project's events therefore reach the event store in the order
+ * they would have had if written directly.
+ */
+@Service
+public class EventOutbox {
+    /* ------------- Constants ------------- */
+    // Held by the transaction moving rows, so only one does at a time
+    private static final long DRAIN_LOCK_KEY = 0x65766f7574626f78L;
+
+    /* ------------- Injected Dependencies ------------- */
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final EventOutboxConfig config;
+
+    // Released when a transaction that wrote to the outbox commits
+    private final Semaphore committed = new Semaphore(0);
+
+    /* ------------- Constructor ------------- */
+    public EventOutbox(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            EventOutboxConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.config = config;
+    }
+
+    /* ------------- Public Methods ------------- */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Writes an unsaved event and its entity rows as one outbox row. Must run
+     * in the transaction that made the changes, so the event is only kept if
+     * they are.
+     */
+    public void enqueue(Event event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Events can only be added to the outbox inside a transaction");
+        }
+
+        ArrayNode entries = objectMapper.createArrayNode();
+        for (EventEntity eventEntity : event.getEventEntities()) {
+            ObjectNode entry = entries.addObject()
+                    .put("entityType", eventEntity.getEntityType().name())
+                    .put("entityId", eventEntity.getEntityId())
+                    .put("change", eventEntity.getChange().name());
+            if (eventEntity.getDetails() != null) {
+                entry.putRawValue("details", new RawValue(eventEntity.getDetails()));
+            }
+        }
+
+        jdbcTemplate.update("""
+                INSERT INTO event_outbox (project_id, user_id, action, created_at, entries)
+                VALUES (?, ?, ?, ?, CAST(? AS JSONB))
+                """,
+                event.getProject().getId(),
+                event.getUser() != null ? event.getUser().getId() : null,
+                event.getAction().name(),
+                Timestamp.from(event.getTimestamp()),
+                entries.toString());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.release();
+            }
+        });
+    }
+
+    /**
+     * Waits until a transaction on this node has written to the outbox, or
+     * until {@code timeout} has passed. Returns straight away if one already
+     * has since the last call.
+     */
+    public void awaitCommitted(Duration timeout) throws InterruptedException {
+        if (committed.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            committed.drainPermits();
+        }
+    }
+
+    /**
+     * Takes the lock that lets the current transaction move rows. Returns
+     * {@code false} if another transaction, possibly on another node, holds it.
+     */
+    public boolean tryLockDrain() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, DRAIN_LOCK_KEY));
+    }
+
+    /**
+     * The next {@code limit} rows that can be moved, rebuilt as unsaved events.
+     * Rows written by transactions that may still be running are left alone,
+     * and rows for projects deleted in the meantime are dropped, as their
+     * events would have been deleted with the project.
+     */
+    public List<Entry> readBatch(int limit) {
+        jdbcTemplate.update("""
+                DELETE FROM event_outbox o
+                WHERE o.tx_id < pg_snapshot_xmin(pg_current_snapshot())
+                AND NOT EXISTS (SELECT 1 FROM projects p WHERE p.id = o.project_id)
+                """);
+
+        return jdbcTemplate.query("""
+                SELECT o.id, o.project_id, u.id AS user_id, o.action, o.created_at, CAST(o.entries AS TEXT) AS entries
+                FROM event_outbox o
+                LEFT JOIN app_users u ON u.id = o.user_id
+                WHERE o.tx_id < pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY o.tx_id, o.id
+                LIMIT ?
+                """,
+                (rs, rowNum) -> {
+                    Event event = new Event()
+                            .action(EventChangeType.valueOf(rs.getString("action")))
+                            .project(entityManager.getReference(Project.class, rs.getLong("project_id")))
+                            .timestamp(rs.getTimestamp("created_at").toInstant());
+
+                    long userId = rs.getLong("user_id");
+                    if (!rs.wasNull()) {
+                        event.setUser(entityManager.getReference(User.class, userId));
+                    }
+
+                    addEntities(event, rs.getString("entries"));
+                    return new Entry(rs.getLong("id"), event);
+                },
+                limit);
+    }
+
+    public void delete(List<Long> ids) {
+        jdbcTemplate.update("DELETE FROM event_outbox WHERE id = ANY(?)",
+                (Object) ids.toArray(new Long[0]));
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private void addEntities(Event event, String entries) {
+        try {
+            for (JsonNode entry : objectMapper.readTree(entries)) {
+                JsonNode details = entry.get("details");
+                event.addEventEntity(new EventEntity(
+                        event,
+                        ResourceType.valueOf(entry.get("entityType").asText()),
+                        entry.get("entityId").asLong(),
+                        EventChangeType.valueOf(entry.get("change").asText()),
+                        details != null ? details.toString() : null));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox entries: " + entries, e);
+        }
+    }
+
+    /* ------------- Entry ------------- */
+    public record Entry(Long id, Event event) {
+    }
+}
@@ -0,0 +1,112 @@
+package app.cluttermap.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import app.cluttermap.config.EventOutboxConfig;
+import jakarta.transaction.Transactional;
+
+/**
+ * Moves events from the {@link EventOutbox} into the event store on a virtual
+ * thread, one batch per transaction. Only started when
+ * {@code events.outbox.enabled} is set. Every node runs a worker, but the
+ * outbox's drain lock lets only one of them move rows at a time, which keeps
+ * the rows in order.
+ */
+@Service
+public class EventOutboxWorker implements SmartLifecycle {
+    /* ------------- Constants ------------- */
+    private static final Logger logger = LoggerFactory.getLogger(EventOutboxWorker.class);
+
+    /* ------------- Injected Dependencies ------------- */
+    private final EventOutbox eventOutbox;
+    private final EventService eventService;
+    private final EventOutboxConfig config;
+    private final EventOutboxWorker self;
+
+    private volatile Thread worker;
+
+    /* ------------- Constructor ------------- */
+    public EventOutboxWorker(
+            EventOutbox eventOutbox,
+            EventService eventService,
+            EventOutboxConfig config,
+            @Lazy EventOutboxWorker self) {
+        this.eventOutbox = eventOutbox;
+        this.eventService = eventService;
+        this.config = config;
+        this.self = self;
+    }
+
+    /* ------------- Lifecycle ------------- */
+    @Override
+    public void start() {
+        if (config.isEnabled()) {
+            worker = Thread.ofVirtual().name("event-outbox-worker").start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread running = worker;
+        worker = null;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    /* ------------- Draining ------------- */
+    /**
+     * Moves the next batch of outbox rows into the event store. Returns how
+     * many were moved, which is 0 if another node is already moving rows.
+     */
+    @Transactional
+    public int drainBatch() {
+        if (!eventOutbox.tryLockDrain()) {
+            return 0;
+        }
+
+        List<EventOutbox.Entry> entries = eventOutbox.readBatch(config.getBatchSize());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        for (EventOutbox.Entry entry : entries) {
+            eventService.storeEvent(entry.event());
+        }
+        eventOutbox.delete(entries.stream().map(EventOutbox.Entry::id).toList());
+
+        return entries.size();
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                // Keep going while full batches come back, then wait for more
+                if (self.drainBatch() < config.getBatchSize()) {
+                    eventOutbox.awaitCommitted(config.getPollInterval());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Could not move events out of the outbox, retrying", e);
+                try {
+                    Thread.sleep(config.getPollInterval());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
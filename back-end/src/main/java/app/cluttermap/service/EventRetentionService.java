@@ -0,0 +1,282 @@
+package app.cluttermap.service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.cluttermap.config.EventRetentionConfig;
+import jakarta.transaction.Transactional;
+
+/**
+ * Keeps the monthly partitions of the event store in shape (see
+ * {@code DatabaseMigrationService.partitionEventStore}).
+ * <p>
+ * Partitions are created ahead of the current month; there is no default
+ * partition to catch rows for a month that was not. Partitions older than
+ * the configured horizon are folded into one snapshot per entity, their rows
+ * in the entity timeline are replaced by a single {@code SNAPSHOT} row, and
+ * the partitions are detached into the {@code event_archive} schema. History
+ * reads keep working across the boundary because they only ever see the
+ * timeline.
+ * <p>
+ * Folding runs in a transaction and is recorded in
+ * {@code compacted_event_partitions}. Detaching runs afterwards, outside any
+ * transaction, with {@code DETACH PARTITION ... CONCURRENTLY} so reads and
+ * writes of the event store are not blocked while it waits.
+ */
+@Service
+public class EventRetentionService {
+    /* ------------- Constants ------------- */
+    private static final Logger logger = LoggerFactory.getLogger(EventRetentionService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern EVENTS_PARTITION = Pattern.compile("events_p(\\d{6})");
+    private static final String RETENTION_LOCK = "hashtext('event_retention')";
+
+    /* ------------- Injected Dependencies ------------- */
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRetentionConfig config;
+    private final EventRetentionService self;
+    private final Clock clock;
+
+    /* ------------- Constructors ------------- */
+    @Autowired
+    public EventRetentionService(
+            JdbcTemplate jdbcTemplate,
+            EventRetentionConfig config,
+            @Lazy EventRetentionService self) {
+        this(jdbcTemplate, config, self, Clock.systemUTC());
+    }
+
+    EventRetentionService(
+            JdbcTemplate jdbcTemplate,
+            EventRetentionConfig config,
+            EventRetentionService self,
+            Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.self = self;
+        this.clock = clock;
+    }
+
+    /* ------------- Scheduled Job ------------- */
+    @Scheduled(cron = "#{@eventRetentionConfig.cron}")
+    public void runRetention() {
+        YearMonth currentMonth = YearMonth.now(clock);
+
+        createUpcomingPartitions(currentMonth);
+
+        for (YearMonth month : findExpiredPartitions(currentMonth)) {
+            if (self.compactPartition(month)) {
+                logger.info("Compacted event partition {}", month);
+            }
+            if (self.archivePartition(month)) {
+                logger.info("Archived event partition {}", month);
+            }
+        }
+    }
+
+    /* ------------- Partition Maintenance ------------- */
+    public void createUpcomingPartitions(YearMonth currentMonth) {
+        for (int i = 0; i <= config.getPartitionsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, month.atDay(1));
+        }
+    }
+
+    /**
+     * Attached monthly partitions that are older than the horizon, oldest
+     * first so snapshots are folded in order. This includes partitions whose
+     * concurrent detach was interrupted, so the next run finishes it.
+     */
+    public List<YearMonth> findExpiredPartitions(YearMonth currentMonth) {
+        YearMonth oldestKept = currentMonth.minusMonths(config.getHorizonMonths());
+
+        List<String> partitionNames = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'events'::regclass
+                """, String.class);
+
+        List<YearMonth> expired = new ArrayList<>();
+        for (String partitionName : partitionNames) {
+            Matcher matcher = EVENTS_PARTITION.matcher(partitionName);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    expired.add(month);
+                }
+            }
+        }
+        Collections.sort(expired);
+        return expired;
+    }
+
+    /**
+     * Folds one month of changes into {@code entity_snapshots}, swaps that
+     * month's timeline rows for a {@code SNAPSHOT} row per entity, and records
+     * the month as compacted. Returns {@code false} if another node holds the
+     * retention lock or the month was already compacted.
+     */
+    @Transactional
+    public boolean compactPartition(YearMonth month) {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(" + RETENTION_LOCK + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        String suffix = month.format(PARTITION_SUFFIX);
+        String eventsPartition = "events_p" + suffix;
+        String eventEntitiesPartition = "event_entities_p" + suffix;
+
+        Integer attached = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = to_regclass(?)", Integer.class, eventsPartition);
+        if (attached == null || attached == 0 || isCompacted(jdbcTemplate, month)) {
+            return false;
+        }
+
+        OffsetDateTime upperBound = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        foldIntoSnapshots(eventsPartition, eventEntitiesPartition);
+        replaceTimelineRows(eventEntitiesPartition, upperBound);
+
+        jdbcTemplate.update("INSERT INTO compacted_event_partitions (month) VALUES (?)", month.atDay(1));
+        return true;
+    }
+
+    /**
+     * Detaches a compacted month's partitions concurrently and moves them to
+     * {@code event_archive}. Must not run inside a transaction, and holds the
+     * retention lock on its own connection for as long as it runs. A detach
+     * that was interrupted is finalized instead. Returns {@code false} if the
+     * month is not compacted yet or another node holds the lock.
+     */
+    public boolean archivePartition(YearMonth month) {
+        String suffix = month.format(PARTITION_SUFFIX);
+
+        Boolean archived = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            Boolean locked = session.queryForObject(
+                    "SELECT pg_try_advisory_lock(" + RETENTION_LOCK + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(locked)) {
+                return false;
+            }
+            try {
+                if (!isCompacted(session, month)) {
+                    return false;
+                }
+                detachIntoArchive(session, "event_entities", "event_entities_p" + suffix);
+                detachIntoArchive(session, "events", "events_p" + suffix);
+                return true;
+            } finally {
+                session.queryForObject("SELECT pg_advisory_unlock(" + RETENTION_LOCK + ")", Boolean.class);
+            }
+        });
+        return Boolean.TRUE.equals(archived);
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private boolean isCompacted(JdbcTemplate template, YearMonth month) {
+        return Boolean.TRUE.equals(template.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM compacted_event_partitions WHERE month = ?)",
+                Boolean.class, month.atDay(1)));
+    }
+
+    private void detachIntoArchive(JdbcTemplate session, String parent, String partition) {
+        // NULL once detached, TRUE while a concurrent detach is left half done
+        Boolean detachPending = session.query(
+                "SELECT inhdetachpending FROM pg_inherits WHERE inhrelid = to_regclass(?)",
+                rs -> rs.next() ? rs.getBoolean(1) : null, partition);
+        if (detachPending != null) {
+            session.execute(String.format("ALTER TABLE %s DETACH PARTITION %s %s",
+                    parent, partition, detachPending ? "FINALIZE" : "CONCURRENTLY"));
+        }
+
+        Boolean inEventStore = session.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(inEventStore)) {
+            session.execute("ALTER TABLE " + partition + " SET SCHEMA event_archive");
+        }
+    }
+
+    // State is the entity's own fields, under the keys CREATE uses: field
+    // payloads merged in order, then the parent from the month's latest MOVE,
+    // null when moved to unassigned. ADD_CHILD and REMOVE_CHILD payloads are
+    // left out; the children's own snapshots say where they are.
+    private void foldIntoSnapshots(String eventsPartition, String eventEntitiesPartition) {
+        jdbcTemplate.update(String.format("""
+                INSERT INTO entity_snapshots AS s
+                    (entity_type, entity_id, state, last_change, user_id, user_name, ts, change_count)
+                SELECT ee.entity_type,
+                       ee.entity_id,
+                       jsonb_merge_agg(COALESCE(ee.details, '{}'::JSONB) ORDER BY e.timestamp, ee.id)
+                           FILTER (WHERE ee.change IN ('CREATE', 'UPDATE'))
+                       || COALESCE((array_agg(jsonb_build_object(
+                               CASE ee.details->>'parentType'
+                                   WHEN 'ROOM' THEN 'roomId'
+                                   WHEN 'ORGANIZATIONAL_UNIT' THEN 'orgUnitId'
+                                   ELSE 'parentId'
+                               END,
+                               ee.details->'newParentId')
+                           ORDER BY e.timestamp DESC, ee.id DESC)
+                           FILTER (WHERE ee.change = 'MOVE'))[1], '{}'::JSONB),
+                       (array_agg(ee.change ORDER BY e.timestamp DESC, ee.id DESC))[1],
+                       (array_agg(u.id ORDER BY e.timestamp DESC, ee.id DESC))[1],
+                       (array_agg(u.username ORDER BY e.timestamp DESC, ee.id DESC))[1],
+                       MAX(e.timestamp),
+                       COUNT(*)
+                FROM %s ee
+                JOIN %s e ON e.id = ee.event_id
+                LEFT JOIN app_users u ON u.id = e.user_id
+                GROUP BY ee.entity_type, ee.entity_id
+                ON CONFLICT (entity_type, entity_id) DO UPDATE SET
+                    state = s.state || EXCLUDED.state,
+                    last_change = EXCLUDED.last_change,
+                    user_id = EXCLUDED.user_id,
+                    user_name = EXCLUDED.user_name,
+                    ts = EXCLUDED.ts,
+                    change_count = s.change_count + EXCLUDED.change_count
+                """, eventEntitiesPartition, eventsPartition));
+    }
+
+    private void replaceTimelineRows(String eventEntitiesPartition, OffsetDateTime upperBound) {
+        // The month's own rows and the entity's previous snapshot row
+        jdbcTemplate.update(String.format("""
+                DELETE FROM entity_timeline t
+                USING (SELECT DISTINCT entity_type, entity_id FROM %1$s) c
+                WHERE t.entity_type = c.entity_type
+                AND t.entity_id = c.entity_id
+                AND t.ts < ?
+                AND (t.change = 'SNAPSHOT' OR t.seq IN (SELECT id FROM %1$s))
+                """, eventEntitiesPartition), upperBound);
+
+        jdbcTemplate.update(String.format("""
+                INSERT INTO entity_timeline (id, entity_type, entity_id, seq, change, details, user_id, user_name, ts)
+                SELECT nextval('entity_timeline_seq'), s.entity_type, s.entity_id, 0, 'SNAPSHOT',
+                       s.state, s.user_id, s.user_name, s.ts
+                FROM entity_snapshots s
+                JOIN (SELECT DISTINCT entity_type, entity_id FROM %s) c
+                    ON c.entity_type = s.entity_type AND c.entity_id = s.entity_id
+                """, eventEntitiesPartition));
+    }
+}
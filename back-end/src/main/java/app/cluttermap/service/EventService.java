@@ -1,46 +1,68 @@
 package app.cluttermap.service;
 
-import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import app.cluttermap.model.EntityTimelineEntry;
 import app.cluttermap.model.Event;
 import app.cluttermap.model.EventEntity;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.model.dto.SyncPageDTO;
+import app.cluttermap.repository.EntityTimelineRepository;
 import app.cluttermap.repository.EventEntityRepository;
 import app.cluttermap.repository.EventRepository;
-import app.cluttermap.util.EventChangeType;
+import app.cluttermap.repository.projection.ChangePositionProjection;
+import app.cluttermap.util.EntityDiffPlan;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 import jakarta.transaction.Transactional;
 
 @Service
 public class EventService {
+    /* ------------- Constants ------------- */
+    public static final int MAX_SYNC_PAGE_SIZE = 1000;
+
+    // Writes the details of every event entity. Built once so the serializers
+    // for the payload types are cached across events; empty fields are left out.
+    private static final ObjectWriter DETAILS_WRITER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .writer();
+
     /* ------------- Injected Dependencies ------------- */
     private final EventRepository eventRepository;
     private final EventEntityRepository eventEntityRepository;
+    private final EntityTimelineRepository entityTimelineRepository;
     private final SecurityService securityService;
     private final ProjectAccessService projectAccessService;
     private final EntityResolutionService entityResolutionService;
+    private final ProjectTouchTracker projectTouchTracker;
+    private final EventOutbox eventOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final EventService self;
 
@@ -50,15 +72,23 @@ public class EventService {
     public EventService(
             EventRepository eventRepository,
             EventEntityRepository eventEntityRepository,
+            EntityTimelineRepository entityTimelineRepository,
             SecurityService securityService,
             ProjectAccessService projectAccessService,
             EntityResolutionService entityResolutionService,
+            ProjectTouchTracker projectTouchTracker,
+            EventOutbox eventOutbox,
+            ApplicationEventPublisher eventPublisher,
             @Lazy EventService self) {
         this.eventRepository = eventRepository;
         this.eventEntityRepository = eventEntityRepository;
+        this.entityTimelineRepository = entityTimelineRepository;
         this.securityService = securityService;
         this.projectAccessService = projectAccessService;
         this.entityResolutionService = entityResolutionService;
+        this.projectTouchTracker = projectTouchTracker;
+        this.eventOutbox = eventOutbox;
+        this.eventPublisher = eventPublisher;
         this.self = self;
     }
 
@@ -72,9 +102,28 @@ public class EventService {
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#entityId, #entityType)")
-    public Page<EntityHistoryDTO> getEntityHistory(ResourceType entityType, Long entityId, int page, int size) {
+    public Slice<EntityHistoryDTO> getEntityHistory(ResourceType entityType, Long entityId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return eventEntityRepository.findHistoryByEntity(entityType, entityId, pageable);
+        return entityTimelineRepository.findHistoryByEntity(entityType, entityId, pageable);
+    }
+
+    /**
+     * ADD_CHILD and REMOVE_CHILD changes naming this entity as the child, i.e.
+     * every parent it was added to or removed from, newest first.
+     */
+    @PreAuthorize("@securityService.isResourceOwner(#entityId, #entityType)")
+    public List<EntityHistoryDTO> getPlacementHistory(ResourceType entityType, Long entityId) {
+        return loadHistory(eventEntityRepository.findChildChangeIds(entityType.name(), entityId));
+    }
+
+    @PreAuthorize("@securityService.isResourceOwner(#parentId, #parentType)")
+    public List<EntityHistoryDTO> getMovesOutOf(ResourceType parentType, Long parentId) {
+        return loadHistory(eventEntityRepository.findMoveIdsOutOfParent(parentType.name(), parentId));
+    }
+
+    @PreAuthorize("@securityService.isResourceOwner(#parentId, #parentType)")
+    public List<EntityHistoryDTO> getChildrenAddedSince(ResourceType parentType, Long parentId, Instant since) {
+        return loadHistory(eventEntityRepository.findChildAddedIdsSince(parentType.name(), parentId, since));
     }
 
     public List<EntityHistoryDTO> fetchUpdatesSince(Instant since) {
@@ -87,24 +136,115 @@ public class EventService {
         return eventEntityRepository.findChangesSince(since, projectIds);
     }
 
+    /**
+     * The current user's projects that changed since the given time. Split out
+     * of {@link #fetchUpdatesSince} so a streamed response can resolve access
+     * on the request thread before it starts writing.
+     */
+    public List<Long> getUpdatedProjectIds(Instant since) {
+        return projectAccessService.getUpdatedProjectIds(since);
+    }
+
+    /**
+     * Streaming variant of {@link #fetchUpdatesSince}. Changes are read through
+     * a database cursor and handed to {@code action} one at a time, so memory
+     * use stays flat however many changes there are. {@code projectIds} must
+     * come from {@link #getUpdatedProjectIds}.
+     */
+    @Transactional
+    public void streamUpdatesSince(Instant since, List<Long> projectIds, Consumer<EntityHistoryDTO> action) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+
+        try (Stream<EntityHistoryDTO> changes = eventEntityRepository.streamChangesSince(since, projectIds)) {
+            changes.forEach(action);
+        }
+    }
+
+    /**
+     * Returns the next page of changes after {@code after} in the order they
+     * were committed, for the current user's projects. Unlike
+     * {@link #fetchUpdatesSince} this does not depend on clocks: a client that
+     * keeps passing back {@code nextCursor} sees every change exactly once.
+     */
+    @Transactional
+    public SyncPageDTO fetchChangesAfter(SyncCursor after, int limit) {
+        return self.fetchChangesAfter(projectAccessService.getAccessibleProjectIds(), after, limit);
+    }
+
+    /**
+     * {@link #fetchChangesAfter(SyncCursor, int)} for projects the caller has
+     * already checked access to, e.g. when no user is signed in on the current
+     * thread ({@link ProjectChangeBroadcaster}).
+     */
+    @Transactional
+    public SyncPageDTO fetchChangesAfter(List<Long> projectIds, SyncCursor after, int limit) {
+        if (limit < 1 || limit > MAX_SYNC_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SYNC_PAGE_SIZE);
+        }
+
+        if (projectIds.isEmpty()) {
+            return new SyncPageDTO(Collections.emptyList(), after.toString(), false);
+        }
+
+        // Read one extra row to find out whether there is another page
+        List<ChangePositionProjection> positions = eventEntityRepository.findChangePositionsAfter(
+                projectIds, after.getTxId(), after.getChangeSeq(), limit + 1);
+        boolean hasMore = positions.size() > limit;
+        if (hasMore) {
+            positions = positions.subList(0, limit);
+        }
+        if (positions.isEmpty()) {
+            return new SyncPageDTO(Collections.emptyList(), after.toString(), false);
+        }
+
+        List<EntityHistoryDTO> changes = loadHistory(
+                positions.stream().map(ChangePositionProjection::getId).toList());
+
+        ChangePositionProjection last = positions.get(positions.size() - 1);
+        SyncCursor nextCursor = new SyncCursor(last.getTxId(), last.getChangeSeq());
+        return new SyncPageDTO(changes, nextCursor.toString(), hasMore);
+    }
+
+    /**
+     * Whether changes in {@code projectIds} have been committed after
+     * {@code after}, whether or not {@link #fetchChangesAfter} returns them
+     * yet. When it finds nothing but this is {@code true}, the changes are
+     * waiting for an older transaction to finish.
+     */
+    public boolean hasChangesAfter(List<Long> projectIds, SyncCursor after) {
+        if (projectIds.isEmpty()) {
+            return false;
+        }
+        return eventEntityRepository.existsChangeAfter(projectIds, after.getTxId(), after.getChangeSeq());
+    }
+
+    /**
+     * The {@code /sync} cursor for the current transaction's snapshot. Data
+     * read in the same transaction already reflects every change before the
+     * cursor. Changes after it may also be reflected if their transaction
+     * committed while older ones were still running. Replaying those is
+     * harmless, because each change carries the new values.
+     */
+    public SyncCursor getSnapshotCursor() {
+        return new SyncCursor(eventEntityRepository.findSnapshotXmin(), 0);
+    }
+
     /* --- Create Operation (POST) --- */
     @Transactional
     public Event logEvent(
             ResourceType entityType,
             Long entityId,
             EventChangeType actionType,
-            Map<String, Object> payload) {
+            Object payload) {
 
         Project project = entityResolutionService.resolveProject(entityType, entityId);
-        Event event = initializeEvent(actionType, project);
 
-        EventEntity eventEntity = new EventEntity(
-                event, entityType, entityId,
-                actionType, convertToJson(payload));
+        EventBatch batch = new EventBatch(actionType, project)
+                .add(entityType, entityId, actionType, payload);
 
-        event.addEventEntity(eventEntity);
-
-        return self.save(event);
+        return self.logBatch(batch);
     }
 
     @Transactional
@@ -117,39 +257,67 @@ public class EventService {
 
         Project project = entityResolutionService.resolveProject(entityType, entityId);
 
-        Event event = initializeEvent(EventChangeType.UPDATE, project);
+        EventBatch batch = new EventBatch(EventChangeType.UPDATE, project)
+                .addMove(entityType, entityId, parentEntityType, previousParentId, newParentId);
+
+        return self.logBatch(batch);
+    }
 
-        Map<String, Object> moveDetails = new HashMap<>();
-        moveDetails.put("previousParentId", previousParentId);
-        moveDetails.put("newParentId", newParentId);
-        moveDetails.put("parentType", parentEntityType);
+    /**
+     * Writes every change collected in the batch as a single {@link Event}. The
+     * current user is looked up and the project touched once per batch (and
+     * once per transaction in the database, see {@link ProjectTouchTracker}),
+     * and the entity rows are cascaded from the one save. Returns {@code null}
+     * if the batch is empty.
+     * <p>
+     * With the outbox enabled the event is only added to the {@link EventOutbox}
+     * here and stored later by {@link EventOutboxWorker}, and this returns
+     * {@code null} as well.
+     */
+    @Transactional
+    public Event logBatch(EventBatch batch) {
+        if (batch.isEmpty()) {
+            return null;
+        }
 
-        EventEntity moveEntity = new EventEntity(
-                event, entityType, entityId,
-                EventChangeType.MOVE, convertToJson(moveDetails));
-        event.addEventEntity(moveEntity);
+        Event event = initializeEvent(batch.getAction(), batch.getProject());
 
-        if (previousParentId != null) {
-            Map<String, Object> removeChildDetails = new HashMap<>();
-            removeChildDetails.put("childId", entityId);
-            removeChildDetails.put("childType", entityType);
-            EventEntity previousParentEntity = new EventEntity(
-                    event, parentEntityType, previousParentId,
-                    EventChangeType.REMOVE_CHILD, convertToJson(removeChildDetails));
-            event.addEventEntity(previousParentEntity);
+        for (EventBatch.Entry entry : batch.getEntries()) {
+            EventEntity eventEntity = new EventEntity(
+                    event, entry.getEntityType(), entry.getEntityId(),
+                    entry.getChange(), convertToJson(entry.getPayload()));
+            event.addEventEntity(eventEntity);
         }
 
-        if (newParentId != null) {
-            Map<String, Object> addChildDetails = new HashMap<>();
-            addChildDetails.put("childId", entityId);
-            addChildDetails.put("childType", entityType);
-            EventEntity newParentEntity = new EventEntity(
-                    event, parentEntityType, newParentId,
-                    EventChangeType.ADD_CHILD, convertToJson(addChildDetails));
-            event.addEventEntity(newParentEntity);
+        // Touched here even with the outbox, so the project's version (and ETag)
+        // changes with the request that changed it
+        projectTouchTracker.touch(batch.getProject().getId(), event.getTimestamp());
+
+        if (eventOutbox.isEnabled()) {
+            eventOutbox.enqueue(event);
+            return null;
+        }
+
+        return self.storeEvent(event);
+    }
+
+    /**
+     * Saves an event with its entity rows and copies each row into the entity
+     * timeline. A {@link ProjectChangedEvent} tells listeners about it.
+     */
+    @Transactional
+    public Event storeEvent(Event event) {
+        Event savedEvent = self.save(event);
+
+        List<EntityTimelineEntry> timelineEntries = new ArrayList<>();
+        for (EventEntity eventEntity : event.getEventEntities()) {
+            timelineEntries.add(new EntityTimelineEntry(eventEntity));
         }
+        entityTimelineRepository.saveAll(timelineEntries);
 
-        return self.save(event);
+        eventPublisher.publishEvent(new ProjectChangedEvent(event.getProject().getId()));
+
+        return savedEvent;
     }
 
     /* --- Update Operation (PUT) --- */
@@ -167,11 +335,9 @@ public class EventService {
         if (object == null) {
             return "{}";
         }
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY); // Exclude empty collections
 
         try {
-            return mapper.writeValueAsString(object);
+            return DETAILS_WRITER.writeValueAsString(object);
         } catch (JsonProcessingException e) {
             logger.error("Failed to convert object to JSON: " + object, e);
             throw new RuntimeException("Error converting to JSON", e);
@@ -179,49 +345,50 @@ public class EventService {
     }
 
     public Map<String, Object> detectChanges(Object oldEntity, Object newEntity) {
-        Map<String, Object> changes = new HashMap<>();
-
         if (oldEntity == null || newEntity == null || !oldEntity.getClass().equals(newEntity.getClass())) {
             throw new IllegalArgumentException("Entities must be non-null and of the same class.");
         }
 
-        Class<?> clazz = oldEntity.getClass();
-        Field[] fields = clazz.getDeclaredFields();
-
-        for (Field field : fields) {
-            field.setAccessible(true); // Make private fields accessible
-
-            try {
-                Object oldValue = field.get(oldEntity);
-                Object newValue = field.get(newEntity);
-
-                // Include only changed fields
-                if ((oldValue != null && !oldValue.equals(newValue)) || (oldValue == null && newValue != null)) {
-                    // Check if the field is a nested object with an 'id' field
-                    Field idField = getIdField(field.getType());
-                    if (idField != null) {
-                        idField.setAccessible(true);
-                        Long oldId = oldValue != null ? (Long) idField.get(oldValue) : null;
-                        Long newId = newValue != null ? (Long) idField.get(newValue) : null;
-
-                        // Add only the IDs if they differ
-                        if (!Objects.equals(oldId, newId)) {
-                            changes.put(field.getName() + "Id", newId);
-                        }
-                    } else {
-                        // For other fields, store the new value
-                        changes.put(field.getName(), newValue);
-                    }
-                }
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("Error accessing field: " + field.getName(), e);
+        return EntityDiffPlan.forClass(oldEntity.getClass()).diff(oldEntity, newEntity);
+    }
+
+    /* --- Private Helper Methods --- */
+    // Loads the event entities with their event and user, keeping the order of
+    // ids. IDs that no longer load are skipped: retention may have archived
+    // their month between the two statements.
+    private List<EntityHistoryDTO> loadHistory(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, EventEntity> eventEntities = new HashMap<>();
+        for (EventEntity eventEntity : eventEntityRepository.findWithEventByIdIn(ids)) {
+            eventEntities.put(eventEntity.getId(), eventEntity);
+        }
+
+        List<EntityHistoryDTO> history = new ArrayList<>();
+        for (Long id : ids) {
+            EventEntity eventEntity = eventEntities.get(id);
+            if (eventEntity != null) {
+                history.add(toHistoryDTO(eventEntity));
             }
         }
+        return history;
+    }
 
-        return changes;
+    private EntityHistoryDTO toHistoryDTO(EventEntity eventEntity) {
+        Event event = eventEntity.getEvent();
+        User user = event.getUser();
+        return new EntityHistoryDTO(
+                eventEntity.getEntityType(),
+                eventEntity.getEntityId(),
+                eventEntity.getChange(),
+                eventEntity.getDetails(),
+                user != null ? user.getUsername() : null,
+                user != null ? user.getId() : null,
+                event.getTimestamp());
     }
 
-    /* --- Private Helper Methods --- */
     private Event initializeEvent(EventChangeType actionType, Project project) {
         if (actionType == null || project == null) {
             throw new IllegalArgumentException("Action type and project must not be null");
@@ -231,20 +398,6 @@ public class EventService {
         event.setProject(project);
         User user = securityService.getCurrentUser();
         event.setUser(user);
-
-        // Set last updated value in the project
-        project.touch();
         return event;
     }
-
-    /**
-     * Checks if a class has an 'id' field and returns it if found.
-     */
-    private Field getIdField(Class<?> clazz) {
-        try {
-            return clazz.getDeclaredField("id");
-        } catch (NoSuchFieldException e) {
-            return null; // Not all classes will have an 'id' field
-        }
-    }
 }
@@ -0,0 +1,87 @@
+package app.cluttermap.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Long-lived wrapper around {@link GoogleIdTokenVerifier}. The verifier and its
+ * {@link GooglePublicKeysManager} are built once, so Google's certificates are
+ * only fetched when they expire or on the scheduled refresh, not on every
+ * sign-in.
+ */
+@Service
+public class GoogleTokenVerifier {
+    /* ------------- Constants ------------- */
+    private static final Logger logger = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    static final String VERIFY_TIMER = "auth.google.verify";
+    static final String REFRESH_TIMER = "auth.google.keys.refresh";
+
+    /* ------------- Injected Dependencies ------------- */
+    private final GooglePublicKeysManager publicKeysManager;
+    private final GoogleIdTokenVerifier verifier;
+    private final MeterRegistry meterRegistry;
+
+    /* ------------- Constructor ------------- */
+    public GoogleTokenVerifier(
+            GooglePublicKeysManager publicKeysManager,
+            MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId) {
+        this.publicKeysManager = publicKeysManager;
+        this.meterRegistry = meterRegistry;
+        this.verifier = new GoogleIdTokenVerifier.Builder(publicKeysManager)
+                // Set the audience to our client id
+                // this verifies that the token was issued for our app
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+    }
+
+    /* ------------- Token Verification ------------- */
+    /**
+     * Returns the verified token, or {@code null} if the token is not valid for
+     * this app.
+     */
+    public GoogleIdToken verify(String idTokenString) throws GeneralSecurityException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            GoogleIdToken idToken = verifier.verify(idTokenString);
+            outcome = idToken != null ? "valid" : "invalid";
+            return idToken;
+        } finally {
+            sample.stop(meterRegistry.timer(VERIFY_TIMER, "outcome", outcome));
+        }
+    }
+
+    /* ------------- Key Refresh ------------- */
+    // Refresh in the background so a sign-in never has to wait on Google's
+    // certificate endpoint. The first fetch still happens lazily on first use.
+    @Scheduled(fixedDelayString = "#{@googleAuthConfig.refreshInterval.toMillis()}",
+            initialDelayString = "#{@googleAuthConfig.refreshInterval.toMillis()}")
+    public void refreshPublicKeys() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            publicKeysManager.refresh();
+        } catch (GeneralSecurityException | IOException e) {
+            outcome = "failure";
+            logger.warn("Failed to refresh Google public keys: {}", e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer(REFRESH_TIMER, "outcome", outcome));
+        }
+    }
+}
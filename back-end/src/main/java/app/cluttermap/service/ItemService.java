@@ -2,10 +2,11 @@ package app.cluttermap.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.AccessDeniedException;
@@ -16,11 +17,13 @@ import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
-import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewItemDTO;
 import app.cluttermap.model.dto.UpdateItemDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.ItemRepository;
-import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 import jakarta.transaction.Transactional;
@@ -32,7 +35,6 @@ public class ItemService {
     public static final String ACCESS_DENIED_STRING = "You do not have permission to access item with ID: %d";
 
     /* ------------- Injected Dependencies ------------- */
-    private final OrgUnitRepository orgUnitRepository;
     private final ItemRepository itemRepository;
     private final SecurityService securityService;
     private final ProjectService projectService;
@@ -42,14 +44,12 @@ public class ItemService {
 
     /* ------------- Constructor ------------- */
     public ItemService(
-            OrgUnitRepository orgUnitRepository,
             ItemRepository itemRepository,
             SecurityService securityService,
             ProjectService projectService,
             OrgUnitService orgUnitService,
             EventService eventService,
             @Lazy ItemService self) {
-        this.orgUnitRepository = orgUnitRepository;
         this.itemRepository = itemRepository;
         this.securityService = securityService;
         this.projectService = projectService;
@@ -60,10 +60,10 @@ public class ItemService {
 
     /* ------------- CRUD Operations ------------- */
     /* --- Read Operations (GET) --- */
-    public List<Item> getUserItems() {
-        User user = securityService.getCurrentUser();
+    public List<ItemDTO> getUserItems() {
+        Long userId = securityService.getCurrentUserId();
 
-        return itemRepository.findByOwnerId(user.getId());
+        return itemRepository.findItemDTOsByOwnerId(userId);
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#id, 'ITEM')")
@@ -73,8 +73,18 @@ public class ItemService {
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#projectId, 'PROJECT')")
-    public List<Item> getUnassignedItemsByProjectId(Long projectId) {
-        return itemRepository.findUnassignedItemsByProjectId(projectId);
+    public List<ItemDTO> getUnassignedItemsByProjectId(Long projectId) {
+        return itemRepository.findUnassignedItemDTOsByProjectId(projectId);
+    }
+
+    @PreAuthorize("@securityService.isResourceOwner(#projectId, 'PROJECT')")
+    public List<ItemDTO> getItemsByProjectId(Long projectId) {
+        return itemRepository.findItemDTOsByProjectId(projectId);
+    }
+
+    @PreAuthorize("@securityService.isResourceOwner(#orgUnitId, 'ORGANIZATIONAL_UNIT')")
+    public List<ItemDTO> getItemsByOrgUnitId(Long orgUnitId) {
+        return itemRepository.findItemDTOsByOrgUnitId(orgUnitId);
     }
 
     /* --- Create Operation (POST) --- */
@@ -92,22 +102,14 @@ public class ItemService {
 
         long id = item.getId();
 
-        eventService.logEvent(
-                ResourceType.ITEM, id,
-                EventChangeType.CREATE, buildCreatePayload(item));
-
-        Map<String, Object> addChildDetails = new HashMap<>();
-        addChildDetails.put("childId", id);
-        addChildDetails.put("childType", ResourceType.ITEM);
-        eventService.logEvent(
-                ResourceType.PROJECT, item.getProject().getId(),
-                EventChangeType.ADD_CHILD, addChildDetails);
+        EventBatch batch = new EventBatch(EventChangeType.CREATE, item.getProject())
+                .add(ResourceType.ITEM, id, EventChangeType.CREATE, CreatePayload.of(item))
+                .addChild(ResourceType.PROJECT, item.getProject().getId(), ResourceType.ITEM, id);
 
         if (item.getOrgUnit() != null) {
-            eventService.logEvent(
-                    ResourceType.ORGANIZATIONAL_UNIT, item.getOrgUnit().getId(),
-                    EventChangeType.ADD_CHILD, addChildDetails);
+            batch.addChild(ResourceType.ORGANIZATIONAL_UNIT, item.getOrgUnit().getId(), ResourceType.ITEM, id);
         }
+        eventService.logBatch(batch);
 
         return item;
     }
@@ -159,7 +161,7 @@ public class ItemService {
 
         eventService.logEvent(
                 ResourceType.ITEM, id, EventChangeType.UPDATE,
-                buildChangePayload(oldItem, updatedItem));
+                FieldChangePayload.between(oldItem, updatedItem));
 
         return updatedItem;
     }
@@ -170,134 +172,146 @@ public class ItemService {
         // Make sure item exists first
         Item item = self.getItemById(id);
 
-        eventService.logEvent(
-                ResourceType.ITEM, id,
-                EventChangeType.DELETE, null);
-
-        Map<String, Object> removeChildDetails = new HashMap<>();
-        removeChildDetails.put("childId", id);
-        removeChildDetails.put("childType", ResourceType.ITEM);
-        eventService.logEvent(
-                ResourceType.PROJECT, item.getProject().getId(),
-                EventChangeType.REMOVE_CHILD, removeChildDetails);
+        EventBatch batch = new EventBatch(EventChangeType.DELETE, item.getProject())
+                .add(ResourceType.ITEM, id, EventChangeType.DELETE, null)
+                .removeChild(ResourceType.PROJECT, item.getProject().getId(), ResourceType.ITEM, id);
 
         if (item.getOrgUnit() != null) {
-            removeChildDetails = new HashMap<>();
-            removeChildDetails.put("childId", id);
-            removeChildDetails.put("childType", ResourceType.ITEM);
-            eventService.logEvent(
-                    ResourceType.ORGANIZATIONAL_UNIT, item.getOrgUnit().getId(),
-                    EventChangeType.REMOVE_CHILD, removeChildDetails);
+            batch.removeChild(ResourceType.ORGANIZATIONAL_UNIT, item.getOrgUnit().getId(), ResourceType.ITEM, id);
         }
+        eventService.logBatch(batch);
 
         itemRepository.deleteById(id);
     }
 
     /* ------------- Complex Operations ------------- */
+    /**
+     * Moves the given items into the target org unit with one ownership query,
+     * one placement query, one {@code UPDATE} and one batched event, instead of
+     * loading, saving and logging each item on its own. Items that are already
+     * in the target are returned unchanged and not logged.
+     */
     @Transactional
     public List<Item> assignItemsToOrgUnit(List<Long> itemIds, Long targetOrgUnitId) {
         OrgUnit targetOrgUnit = orgUnitService.getOrgUnitById(targetOrgUnitId);
+        if (targetOrgUnit.getProject() == null) {
+            throw new IllegalArgumentException("Target OrgUnit or its Project is null");
+        }
 
-        List<Item> updatedItems = new ArrayList<>();
-
-        for (Long itemId : itemIds) {
-            Item item = self.getItemById(itemId);
-            Long previousOrgUnitId = Optional.ofNullable(item.getOrgUnit()).map(OrgUnit::getId).orElse(null);
+        List<Long> ids = distinctIds(itemIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        checkOwnershipForItems(ids);
 
-            validateSameProject(item, targetOrgUnit);
+        Long targetProjectId = targetOrgUnit.getProject().getId();
+        EventBatch batch = new EventBatch(EventChangeType.UPDATE, targetOrgUnit.getProject());
+        List<Long> movedIds = new ArrayList<>();
 
-            // Check if item is already assigned to an org unit
-            if (item.getOrgUnit() != null) {
-                unassignItemFromOrgUnit(item, item.getOrgUnit());
+        for (ResourcePlacementProjection placement : findPlacements(ids)) {
+            if (!Objects.equals(placement.getProjectId(), targetProjectId)) {
+                throw new IllegalArgumentException(PROJECT_MISMATCH_ERROR);
             }
-            assignItemToOrgUnit(item, targetOrgUnit);
-            eventService.logMoveEvent(
-                    ResourceType.ITEM, item.getId(),
-                    ResourceType.ORGANIZATIONAL_UNIT, previousOrgUnitId, targetOrgUnitId);
-            updatedItems.add(item);
+            if (Objects.equals(placement.getParentId(), targetOrgUnitId)) {
+                continue;
+            }
+            batch.addMove(
+                    ResourceType.ITEM, placement.getId(),
+                    ResourceType.ORGANIZATIONAL_UNIT, placement.getParentId(), targetOrgUnitId);
+            movedIds.add(placement.getId());
+        }
+
+        if (!movedIds.isEmpty()) {
+            eventService.logBatch(batch);
+            itemRepository.assignOrgUnitByIdIn(targetOrgUnitId, movedIds);
         }
-        return updatedItems;
+        return findAllInOrder(ids);
     }
 
+    /**
+     * Bulk counterpart of {@link #assignItemsToOrgUnit} that clears the org unit
+     * of the given items. Items that are already unassigned are returned
+     * unchanged; the moves are logged as one event per project.
+     */
     @Transactional
     public List<Item> unassignItems(List<Long> itemIds) {
-        List<Item> updatedItems = new ArrayList<>();
-        for (Long itemId : itemIds) {
-            Item item = self.getItemById(itemId);
-            Long previousOrgUnitId = Optional.ofNullable(item.getOrgUnit()).map(OrgUnit::getId).orElse(null);
-            if (previousOrgUnitId != null) {
-                unassignItemFromOrgUnit(item, item.getOrgUnit());
-                eventService.logMoveEvent(
-                        ResourceType.ITEM, item.getId(),
-                        ResourceType.ORGANIZATIONAL_UNIT, previousOrgUnitId, null);
-            }
-            updatedItems.add(item);
+        List<Long> ids = distinctIds(itemIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        return updatedItems;
-    }
+        checkOwnershipForItems(ids);
 
-    /* ------------- Ownership and Security Checks ------------- */
-    public void checkOwnershipForItems(List<Long> itemIds) {
-        for (Long id : itemIds) {
-            if (!securityService.isResourceOwner(id, ResourceType.ITEM)) {
-                throw new AccessDeniedException(String.format(ACCESS_DENIED_STRING, id));
+        Map<Long, EventBatch> batchesByProject = new LinkedHashMap<>();
+        List<Long> movedIds = new ArrayList<>();
+
+        for (ResourcePlacementProjection placement : findPlacements(ids)) {
+            if (placement.getParentId() == null) {
+                continue;
             }
+            batchesByProject
+                    .computeIfAbsent(placement.getProjectId(), projectId -> new EventBatch(
+                            EventChangeType.UPDATE, projectService.getProjectById(projectId)))
+                    .addMove(
+                            ResourceType.ITEM, placement.getId(),
+                            ResourceType.ORGANIZATIONAL_UNIT, placement.getParentId(), null);
+            movedIds.add(placement.getId());
         }
-    }
 
-    /* ------------- Private Helper Methods ------------- */
-    private void validateSameProject(Item item, OrgUnit targetOrgUnit) {
-        if (targetOrgUnit == null || targetOrgUnit.getProject() == null) {
-            throw new IllegalArgumentException("Target OrgUnit or its Project is null");
-        }
-        if (item == null || item.getProject() == null) {
-            throw new IllegalArgumentException("Item or its Project is null");
-        }
-        if (!item.getProject().equals(targetOrgUnit.getProject())) {
-            throw new IllegalArgumentException(PROJECT_MISMATCH_ERROR);
+        if (!movedIds.isEmpty()) {
+            batchesByProject.values().forEach(eventService::logBatch);
+            itemRepository.clearOrgUnitByIdIn(movedIds);
         }
+        return findAllInOrder(ids);
     }
 
-    private OrgUnit assignItemToOrgUnit(Item item, OrgUnit orgUnit) {
-        orgUnit.addItem(item); // Manages both sides of the relationship
-        return orgUnitRepository.save(orgUnit);
+    /* ------------- Ownership and Security Checks ------------- */
+    public void checkOwnershipForItems(List<Long> itemIds) {
+        List<Long> unownedIds = securityService.getUnownedResourceIds(itemIds, ResourceType.ITEM);
+        if (!unownedIds.isEmpty()) {
+            throw new AccessDeniedException(String.format(ACCESS_DENIED_STRING, unownedIds.get(0)));
+        }
     }
 
-    private OrgUnit unassignItemFromOrgUnit(Item item, OrgUnit orgUnit) {
-        orgUnit.removeItem(item); // Manages both sides of the relationship
-        return orgUnitRepository.save(orgUnit);
+    /* ------------- Private Helper Methods ------------- */
+    private List<Long> distinctIds(List<Long> ids) {
+        return new ArrayList<>(new LinkedHashSet<>(ids));
     }
 
-    private Map<String, Object> buildCreatePayload(Item item) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("projectId", item.getProject().getId());
+    /**
+     * Returns the placement of every item, in the order of {@code ids}.
+     * Throws if any of them no longer exists.
+     */
+    private List<ResourcePlacementProjection> findPlacements(List<Long> ids) {
+        Map<Long, ResourcePlacementProjection> placements = new HashMap<>();
+        for (ResourcePlacementProjection placement : itemRepository.findPlacementsByIdIn(ids)) {
+            placements.put(placement.getId(), placement);
+        }
 
-        payload.put("name", item.getName());
-        payload.put("description", item.getDescription());
-        payload.put("quantity", item.getQuantity());
-        payload.put("tags", item.getTags());
-        if (item.getOrgUnit() != null) {
-            payload.put("orgUnitId", item.getOrgUnit().getId());
+        List<ResourcePlacementProjection> ordered = new ArrayList<>();
+        for (Long id : ids) {
+            ResourcePlacementProjection placement = placements.get(id);
+            if (placement == null) {
+                throw new ResourceNotFoundException(ResourceType.ITEM, id);
+            }
+            ordered.add(placement);
         }
-        return payload;
+        return ordered;
     }
 
-    private Map<String, Object> buildChangePayload(Item oldItem, Item newItem) {
-        Map<String, Object> changes = new HashMap<>();
-
-        if (!Objects.equals(oldItem.getName(), newItem.getName())) {
-            changes.put("name", newItem.getName());
-        }
-        if (!Objects.equals(oldItem.getDescription(), newItem.getDescription())) {
-            changes.put("description", newItem.getDescription());
-        }
-        if (!Objects.equals(oldItem.getQuantity(), newItem.getQuantity())) {
-            changes.put("quantity", newItem.getQuantity());
-        }
-        if (!Objects.equals(oldItem.getTags(), newItem.getTags())) {
-            changes.put("tags", newItem.getTags());
+    private List<Item> findAllInOrder(List<Long> ids) {
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findAllWithPlacementByIdIn(ids)) {
+            items.put(item.getId(), item);
         }
 
-        return changes;
+        List<Item> ordered = new ArrayList<>();
+        for (Long id : ids) {
+            Item item = items.get(id);
+            if (item == null) {
+                throw new ResourceNotFoundException(ResourceType.ITEM, id);
+            }
+            ordered.add(item);
+        }
+        return ordered;
     }
 }
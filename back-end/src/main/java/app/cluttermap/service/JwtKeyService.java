@@ -0,0 +1,145 @@
+package app.cluttermap.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import app.cluttermap.config.JwtConfig;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Holds the HMAC key material used to issue and verify our own JWTs. Keys are
+ * derived once at startup instead of on every token.
+ * <p>
+ * New tokens are signed with the current key and carry its ID in the
+ * {@code kid} header. Previous keys are only used for verification, and only
+ * until their {@code validUntil} has passed.
+ */
+@Service
+public class JwtKeyService {
+    /* ------------- Fields ------------- */
+    private final String signingKeyId;
+    private final SecretKey signingKey;
+    private final OctetSequenceKey currentJwk;
+    private final List<PreviousJwk> previousJwks = new ArrayList<>();
+    private final Clock clock;
+
+    /* ------------- Constructors ------------- */
+    @Autowired
+    public JwtKeyService(JwtConfig jwtConfig) {
+        this(jwtConfig, Clock.systemUTC());
+    }
+
+    JwtKeyService(JwtConfig jwtConfig, Clock clock) {
+        this.clock = clock;
+        this.signingKeyId = jwtConfig.getKeyId();
+        this.signingKey = deriveKey(jwtConfig.getSecretKey());
+        this.currentJwk = toJwk(signingKeyId, signingKey);
+
+        for (JwtConfig.PreviousKey previousKey : jwtConfig.getPreviousKeys()) {
+            if (previousKey.getKeyId() == null || previousKey.getKeyId().equals(signingKeyId)) {
+                throw new IllegalArgumentException("Previous JWT keys need a key ID that differs from the current key.");
+            }
+            SecretKey key = deriveKey(previousKey.getSecretKey());
+            previousJwks.add(new PreviousJwk(toJwk(previousKey.getKeyId(), key), previousKey.getValidUntil()));
+        }
+    }
+
+    /* ------------- Signing ------------- */
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    /* ------------- Verification ------------- */
+    /**
+     * Key source for the resource server's decoder. Tokens without a
+     * {@code kid} header (issued before rotation support) are matched against
+     * every active key.
+     */
+    public JWKSource<SecurityContext> getVerificationKeySource() {
+        return (selector, context) -> selector.select(new JWKSet(getActiveVerificationKeys()));
+    }
+
+    public JwtDecoder createJwtDecoder() {
+        return createJwtDecoder(JwtValidators.createDefault());
+    }
+
+    public JwtDecoder createJwtDecoder(OAuth2TokenValidator<Jwt> validator) {
+        // Select the verification key by the token's "kid" header, so tokens signed
+        // with a rotated-out key keep working during the overlap window
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, getVerificationKeySource()));
+
+        // Claims are validated by NimbusJwtDecoder itself
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(validator);
+        return jwtDecoder;
+    }
+
+    List<JWK> getActiveVerificationKeys() {
+        Instant now = clock.instant();
+
+        List<JWK> keys = new ArrayList<>();
+        keys.add(currentJwk);
+        for (PreviousJwk previousJwk : previousJwks) {
+            if (previousJwk.validUntil == null || now.isBefore(previousJwk.validUntil)) {
+                keys.add(previousJwk.jwk);
+            }
+        }
+        return keys;
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private static SecretKey deriveKey(String secret) {
+        // Same encoding for issuing and verifying
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OctetSequenceKey toJwk(String keyId, SecretKey key) {
+        return new OctetSequenceKey.Builder(key)
+                .keyID(keyId)
+                .algorithm(JWSAlgorithm.HS256)
+                .keyUse(KeyUse.SIGNATURE)
+                .build();
+    }
+
+    private static class PreviousJwk {
+        private final JWK jwk;
+        private final Instant validUntil;
+
+        PreviousJwk(JWK jwk, Instant validUntil) {
+            this.jwk = jwk;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -2,10 +2,11 @@ package app.cluttermap.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.AccessDeniedException;
@@ -16,12 +17,12 @@ import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
-import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewOrgUnitDTO;
 import app.cluttermap.model.dto.UpdateOrgUnitDTO;
-import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.OrgUnitRepository;
-import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 import jakarta.transaction.Transactional;
@@ -33,7 +34,6 @@ public class OrgUnitService {
     public static final String ACCESS_DENIED_STRING = "You do not have permission to access org unit with ID: %d";
 
     /* ------------- Injected Dependencies ------------- */
-    private final RoomRepository roomRepository;
     private final OrgUnitRepository orgUnitRepository;
     private final SecurityService securityService;
     private final ProjectService projectService;
@@ -43,15 +43,12 @@ public class OrgUnitService {
 
     /* ------------- Constructor ------------- */
     public OrgUnitService(
-            RoomRepository roomRepository,
             OrgUnitRepository orgUnitRepository,
-            ItemRepository itemRepository,
             SecurityService securityService,
             ProjectService projectService,
             RoomService roomService,
             EventService eventService,
             @Lazy OrgUnitService self) {
-        this.roomRepository = roomRepository;
         this.orgUnitRepository = orgUnitRepository;
         this.securityService = securityService;
         this.projectService = projectService;
@@ -63,9 +60,9 @@ public class OrgUnitService {
     /* ------------- CRUD Operations ------------- */
     /* --- Read Operations (GET) --- */
     public List<OrgUnit> getUserOrgUnits() {
-        User user = securityService.getCurrentUser();
+        Long userId = securityService.getCurrentUserId();
 
-        return orgUnitRepository.findByOwnerId(user.getId());
+        return orgUnitRepository.findByOwnerId(userId);
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#id, 'ORGANIZATIONAL_UNIT')")
@@ -88,22 +85,14 @@ public class OrgUnitService {
         }
         long id = orgUnit.getId();
 
-        eventService.logEvent(
-                ResourceType.ORGANIZATIONAL_UNIT, id,
-                EventChangeType.CREATE, buildCreatePayload(orgUnit));
-
-        Map<String, Object> addChildDetails = new HashMap<>();
-        addChildDetails.put("childId", id);
-        addChildDetails.put("childType", ResourceType.ORGANIZATIONAL_UNIT);
-        eventService.logEvent(
-                ResourceType.PROJECT, orgUnit.getProject().getId(),
-                EventChangeType.ADD_CHILD, addChildDetails);
+        EventBatch batch = new EventBatch(EventChangeType.CREATE, orgUnit.getProject())
+                .add(ResourceType.ORGANIZATIONAL_UNIT, id, EventChangeType.CREATE, CreatePayload.of(orgUnit))
+                .addChild(ResourceType.PROJECT, orgUnit.getProject().getId(), ResourceType.ORGANIZATIONAL_UNIT, id);
 
         if (orgUnit.getRoom() != null) {
-            eventService.logEvent(
-                    ResourceType.ROOM, orgUnit.getRoom().getId(),
-                    EventChangeType.ADD_CHILD, addChildDetails);
+            batch.addChild(ResourceType.ROOM, orgUnit.getRoom().getId(), ResourceType.ORGANIZATIONAL_UNIT, id);
         }
+        eventService.logBatch(batch);
 
         return orgUnit;
     }
@@ -149,7 +138,7 @@ public class OrgUnitService {
 
         eventService.logEvent(
                 ResourceType.ORGANIZATIONAL_UNIT, id,
-                EventChangeType.UPDATE, buildChangePayload(oldOrgUnit, updatedOrgUnit));
+                EventChangeType.UPDATE, FieldChangePayload.between(oldOrgUnit, updatedOrgUnit));
 
         return updatedOrgUnit;
     }
@@ -159,126 +148,146 @@ public class OrgUnitService {
     public void deleteOrgUnitById(Long id) {
         OrgUnit orgUnit = self.getOrgUnitById(id);
 
-        eventService.logEvent(
-                ResourceType.ORGANIZATIONAL_UNIT, id,
-                EventChangeType.DELETE, null);
-
-        Map<String, Object> removeChildDetails = new HashMap<>();
-        removeChildDetails.put("childId", id);
-        removeChildDetails.put("childType", ResourceType.ORGANIZATIONAL_UNIT);
-        eventService.logEvent(
-                ResourceType.PROJECT, orgUnit.getProject().getId(),
-                EventChangeType.REMOVE_CHILD, removeChildDetails);
+        EventBatch batch = new EventBatch(EventChangeType.DELETE, orgUnit.getProject())
+                .add(ResourceType.ORGANIZATIONAL_UNIT, id, EventChangeType.DELETE, null)
+                .removeChild(ResourceType.PROJECT, orgUnit.getProject().getId(), ResourceType.ORGANIZATIONAL_UNIT, id);
 
         if (orgUnit.getRoom() != null) {
-            removeChildDetails = new HashMap<>();
-            removeChildDetails.put("childId", id);
-            removeChildDetails.put("childType", ResourceType.ORGANIZATIONAL_UNIT);
-            eventService.logEvent(
-                    ResourceType.ROOM, orgUnit.getRoom().getId(),
-                    EventChangeType.REMOVE_CHILD, removeChildDetails);
+            batch.removeChild(ResourceType.ROOM, orgUnit.getRoom().getId(), ResourceType.ORGANIZATIONAL_UNIT, id);
         }
+        eventService.logBatch(batch);
 
         orgUnitRepository.delete(orgUnit); // Ensures Items are unassigned, not deleted
     }
 
     /* ------------- Complex Operations ------------- */
+    /**
+     * Moves the given org units into the target room with one ownership query,
+     * one placement query, one {@code UPDATE} and one batched event. The result
+     * is reloaded with its project, room and items fetched, so building DTOs
+     * never loads a room's whole {@code orgUnits} list. Org units that are
+     * already in the target are returned unchanged and not logged.
+     */
     @Transactional
     public List<OrgUnit> assignOrgUnitsToRoom(List<Long> orgUnitIds, Long targetRoomId) {
         Room targetRoom = roomService.getRoomById(targetRoomId);
+        if (targetRoom.getProject() == null) {
+            throw new IllegalArgumentException("Target Room or its Project is null");
+        }
 
-        List<OrgUnit> updatedOrgUnits = new ArrayList<>();
-
-        for (Long orgUnitId : orgUnitIds) {
-            OrgUnit orgUnit = self.getOrgUnitById(orgUnitId);
-            Long previousRoomId = Optional.ofNullable(orgUnit.getRoom()).map(Room::getId).orElse(null);
+        List<Long> ids = distinctIds(orgUnitIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        checkOwnershipForOrgUnits(ids);
 
-            validateSameProject(orgUnit, targetRoom);
+        Long targetProjectId = targetRoom.getProject().getId();
+        EventBatch batch = new EventBatch(EventChangeType.UPDATE, targetRoom.getProject());
+        List<Long> movedIds = new ArrayList<>();
 
-            // Check if org unit is already assigned to an room
-            if (orgUnit.getRoom() != null) {
-                unassignOrgUnitFromRoom(orgUnit, orgUnit.getRoom());
+        for (ResourcePlacementProjection placement : findPlacements(ids)) {
+            if (!Objects.equals(placement.getProjectId(), targetProjectId)) {
+                throw new IllegalArgumentException(PROJECT_MISMATCH_ERROR);
             }
-            assignOrgUnitToRoom(orgUnit, targetRoom);
-            eventService.logMoveEvent(
-                    ResourceType.ORGANIZATIONAL_UNIT, orgUnit.getId(),
-                    ResourceType.ROOM, previousRoomId, targetRoomId);
-            updatedOrgUnits.add(orgUnit);
+            if (Objects.equals(placement.getParentId(), targetRoomId)) {
+                continue;
+            }
+            batch.addMove(
+                    ResourceType.ORGANIZATIONAL_UNIT, placement.getId(),
+                    ResourceType.ROOM, placement.getParentId(), targetRoomId);
+            movedIds.add(placement.getId());
         }
-        return updatedOrgUnits;
+
+        if (!movedIds.isEmpty()) {
+            eventService.logBatch(batch);
+            orgUnitRepository.assignRoomByIdIn(targetRoomId, movedIds);
+        }
+        return findAllInOrder(ids);
     }
 
+    /**
+     * Bulk counterpart of {@link #assignOrgUnitsToRoom} that clears the room of
+     * the given org units. The moves are logged as one event per project.
+     */
     @Transactional
     public List<OrgUnit> unassignOrgUnits(List<Long> orgUnitIds) {
-        List<OrgUnit> updatedOrgUnits = new ArrayList<>();
-        for (Long orgUnitId : orgUnitIds) {
-            OrgUnit orgUnit = self.getOrgUnitById(orgUnitId);
-            Long previousRoomId = Optional.ofNullable(orgUnit.getRoom()).map(Room::getId).orElse(null);
-            if (orgUnit.getRoom() != null) {
-                unassignOrgUnitFromRoom(orgUnit, orgUnit.getRoom());
-                eventService.logMoveEvent(
-                        ResourceType.ORGANIZATIONAL_UNIT, orgUnit.getId(),
-                        ResourceType.ROOM, previousRoomId, null);
-            }
-            updatedOrgUnits.add(orgUnit);
+        List<Long> ids = distinctIds(orgUnitIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        return updatedOrgUnits;
-    }
+        checkOwnershipForOrgUnits(ids);
 
-    /* ------------- Ownership and Security Checks ------------- */
-    public void checkOwnershipForOrgUnits(List<Long> orgUnitIds) {
-        for (Long id : orgUnitIds) {
-            if (!securityService.isResourceOwner(id, ResourceType.ORGANIZATIONAL_UNIT)) {
-                throw new AccessDeniedException(String.format(ACCESS_DENIED_STRING, id));
+        Map<Long, EventBatch> batchesByProject = new LinkedHashMap<>();
+        List<Long> movedIds = new ArrayList<>();
+
+        for (ResourcePlacementProjection placement : findPlacements(ids)) {
+            if (placement.getParentId() == null) {
+                continue;
             }
+            batchesByProject
+                    .computeIfAbsent(placement.getProjectId(), projectId -> new EventBatch(
+                            EventChangeType.UPDATE, projectService.getProjectById(projectId)))
+                    .addMove(
+                            ResourceType.ORGANIZATIONAL_UNIT, placement.getId(),
+                            ResourceType.ROOM, placement.getParentId(), null);
+            movedIds.add(placement.getId());
         }
-    }
 
-    /* ------------- Private Helper Methods ------------- */
-    private void validateSameProject(OrgUnit orgUnit, Room targetRoom) {
-        if (targetRoom == null || targetRoom.getProject() == null) {
-            throw new IllegalArgumentException("Target Room or its Project is null");
-        }
-        if (orgUnit == null || orgUnit.getProject() == null) {
-            throw new IllegalArgumentException("Org Unit or its Project is null");
-        }
-        if (!orgUnit.getProject().equals(targetRoom.getProject())) {
-            throw new IllegalArgumentException(PROJECT_MISMATCH_ERROR);
+        if (!movedIds.isEmpty()) {
+            batchesByProject.values().forEach(eventService::logBatch);
+            orgUnitRepository.clearRoomByIdIn(movedIds);
         }
+        return findAllInOrder(ids);
     }
 
-    private Room assignOrgUnitToRoom(OrgUnit orgUnit, Room room) {
-        room.addOrgUnit(orgUnit); // Manages both sides of the relationship
-        return roomRepository.save(room);
+    /* ------------- Ownership and Security Checks ------------- */
+    public void checkOwnershipForOrgUnits(List<Long> orgUnitIds) {
+        List<Long> unownedIds = securityService.getUnownedResourceIds(orgUnitIds, ResourceType.ORGANIZATIONAL_UNIT);
+        if (!unownedIds.isEmpty()) {
+            throw new AccessDeniedException(String.format(ACCESS_DENIED_STRING, unownedIds.get(0)));
+        }
     }
 
-    private Room unassignOrgUnitFromRoom(OrgUnit orgUnit, Room room) {
-        room.removeOrgUnit(orgUnit); // Manages both sides of the relationship
-        return roomRepository.save(room);
+    /* ------------- Private Helper Methods ------------- */
+    private List<Long> distinctIds(List<Long> ids) {
+        return new ArrayList<>(new LinkedHashSet<>(ids));
     }
 
-    private Map<String, Object> buildCreatePayload(OrgUnit orgUnit) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("projectId", orgUnit.getProject().getId());
+    /**
+     * Returns the placement of every org unit, in the order of {@code ids}.
+     * Throws if any of them no longer exists.
+     */
+    private List<ResourcePlacementProjection> findPlacements(List<Long> ids) {
+        Map<Long, ResourcePlacementProjection> placements = new HashMap<>();
+        for (ResourcePlacementProjection placement : orgUnitRepository.findPlacementsByIdIn(ids)) {
+            placements.put(placement.getId(), placement);
+        }
 
-        payload.put("name", orgUnit.getName());
-        payload.put("description", orgUnit.getDescription());
-        if (orgUnit.getRoom() != null) {
-            payload.put("roomId", orgUnit.getRoom().getId());
+        List<ResourcePlacementProjection> ordered = new ArrayList<>();
+        for (Long id : ids) {
+            ResourcePlacementProjection placement = placements.get(id);
+            if (placement == null) {
+                throw new ResourceNotFoundException(ResourceType.ORGANIZATIONAL_UNIT, id);
+            }
+            ordered.add(placement);
         }
-        return payload;
+        return ordered;
     }
 
-    private Map<String, Object> buildChangePayload(OrgUnit oldOrgUnit, OrgUnit newOrgUnit) {
-        Map<String, Object> changes = new HashMap<>();
-
-        if (!Objects.equals(oldOrgUnit.getName(), newOrgUnit.getName())) {
-            changes.put("name", newOrgUnit.getName());
-        }
-        if (!Objects.equals(oldOrgUnit.getDescription(), newOrgUnit.getDescription())) {
-            changes.put("description", newOrgUnit.getDescription());
+    private List<OrgUnit> findAllInOrder(List<Long> ids) {
+        Map<Long, OrgUnit> orgUnits = new HashMap<>();
+        for (OrgUnit orgUnit : orgUnitRepository.findAllWithPlacementByIdIn(ids)) {
+            orgUnits.put(orgUnit.getId(), orgUnit);
         }
 
-        return changes;
+        List<OrgUnit> ordered = new ArrayList<>();
+        for (Long id : ids) {
+            OrgUnit orgUnit = orgUnits.get(id);
+            if (orgUnit == null) {
+                throw new ResourceNotFoundException(ResourceType.ORGANIZATIONAL_UNIT, id);
+            }
+            ordered.add(orgUnit);
+        }
+        return ordered;
     }
 }
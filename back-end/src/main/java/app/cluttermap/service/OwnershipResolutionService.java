@@ -0,0 +1,96 @@
+package app.cluttermap.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import app.cluttermap.exception.ResourceNotFoundException;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Resolves the owner of a resource with a single query that only returns
+ * {@code owner_id}, instead of loading the resource, its project and the
+ * project's owner as entities.
+ */
+@Service
+public class OwnershipResolutionService {
+    private final ProjectRepository projectRepository;
+    private final RoomRepository roomRepository;
+    private final OrgUnitRepository orgUnitRepository;
+    private final ItemRepository itemRepository;
+
+    public OwnershipResolutionService(
+            ProjectRepository projectRepository,
+            RoomRepository roomRepository,
+            OrgUnitRepository orgUnitRepository,
+            ItemRepository itemRepository) {
+        this.projectRepository = projectRepository;
+        this.roomRepository = roomRepository;
+        this.orgUnitRepository = orgUnitRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    public Long resolveOwnerId(ResourceType resourceType, Long resourceId) {
+        switch (resourceType) {
+            case PROJECT:
+                return projectRepository.findOwnerIdById(resourceId)
+                        .orElseThrow(() -> new ResourceNotFoundException(ResourceType.PROJECT, resourceId));
+
+            case ROOM:
+                return roomRepository.findOwnerIdById(resourceId)
+                        .orElseThrow(() -> new ResourceNotFoundException(ResourceType.ROOM, resourceId));
+
+            case ORGANIZATIONAL_UNIT:
+                return orgUnitRepository.findOwnerIdById(resourceId)
+                        .orElseThrow(() -> new ResourceNotFoundException(ResourceType.ORGANIZATIONAL_UNIT, resourceId));
+
+            case ITEM:
+                return itemRepository.findOwnerIdById(resourceId)
+                        .orElseThrow(() -> new ResourceNotFoundException(ResourceType.ITEM, resourceId));
+            default:
+                throw new IllegalArgumentException("Unknown entity type: " + resourceType);
+        }
+    }
+
+    /**
+     * Resolves the owners of many resources of the same type in one query.
+     * IDs that do not exist are left out of the returned map.
+     */
+    public Map<Long, Long> resolveOwnerIds(ResourceType resourceType, Collection<Long> resourceIds) {
+        Map<Long, Long> ownerIds = new HashMap<>();
+        if (resourceIds.isEmpty()) {
+            return ownerIds;
+        }
+
+        List<ResourceOwnerProjection> rows;
+        switch (resourceType) {
+            case PROJECT:
+                rows = projectRepository.findOwnerIdsByIdIn(resourceIds);
+                break;
+            case ROOM:
+                rows = roomRepository.findOwnerIdsByIdIn(resourceIds);
+                break;
+            case ORGANIZATIONAL_UNIT:
+                rows = orgUnitRepository.findOwnerIdsByIdIn(resourceIds);
+                break;
+            case ITEM:
+                rows = itemRepository.findOwnerIdsByIdIn(resourceIds);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity type: " + resourceType);
+        }
+
+        for (ResourceOwnerProjection row : rows) {
+            ownerIds.put(row.getId(), row.getOwnerId());
+        }
+        return ownerIds;
+    }
+}
@@ -5,7 +5,6 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
-import app.cluttermap.model.User;
 import app.cluttermap.repository.ProjectRepository;
 
 @Service
@@ -19,14 +18,14 @@ public class ProjectAccessService {
     }
 
     public List<Long> getAccessibleProjectIds() {
-        User user = securityService.getCurrentUser();
+        Long userId = securityService.getCurrentUserId();
         // TODO make sure to add collaborator/guest access when implemented
-        return projectRepository.findProjectIdsByOwnerId(user.getId());
+        return projectRepository.findProjectIdsByOwnerId(userId);
     }
 
     public List<Long> getUpdatedProjectIds(Instant since) {
-        User user = securityService.getCurrentUser();
+        Long userId = securityService.getCurrentUserId();
         // TODO make sure to add collaborator/guest access when implemented
-        return projectRepository.findUpdatedProjectIds(since, user.getId());
+        return projectRepository.findUpdatedProjectIds(since, userId);
     }
 }
@@ -0,0 +1,253 @@
+package app.cluttermap.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import app.cluttermap.model.dto.SyncPageDTO;
+import app.cluttermap.util.SyncCursor;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed changes to clients subscribed through
+ * {@code /projects/changes/stream}, so they do not have to poll.
+ * <p>
+ * A subscriber is only ever sent what {@link EventService#fetchChangesAfter}
+ * returns after its cursor, one {@code changes} event per page with the page's
+ * {@code nextCursor} as the event ID. Notifications only say which project
+ * changed. A client that reconnects with {@code Last-Event-ID} therefore
+ * picks up exactly where it left off, and a burst of commits costs one query
+ * per subscriber rather than one per commit. Changes committed on other nodes
+ * arrive through {@link ChangeNotificationBus}. Idle subscribers hold no thread
+ * (the response is asynchronous) and cause no queries. Catch-ups run on
+ * virtual threads.
+ * <p>
+ * A change only becomes readable once every older transaction has finished,
+ * which may be after its notification arrived. While a subscriber's cursor
+ * is behind changes that are committed but not readable yet, it is looked at
+ * again after a delay that doubles up to {@link #RECHECK_MAX_DELAY}.
+ */
+@Service
+public class ProjectChangeBroadcaster {
+    /* ------------- Constants ------------- */
+    private static final Logger logger = LoggerFactory.getLogger(ProjectChangeBroadcaster.class);
+
+    // Changes per pushed event while catching a subscriber up
+    static final int PAGE_SIZE = 500;
+
+    static final Duration RECHECK_INITIAL_DELAY = Duration.ofMillis(100);
+    static final Duration RECHECK_MAX_DELAY = Duration.ofSeconds(5);
+
+    /* ------------- Injected Dependencies ------------- */
+    private final EventService eventService;
+    private final ProjectAccessService projectAccessService;
+
+    private final Map<Long, Set<Subscription>> subscriptionsByProject = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService catchUpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService recheckScheduler = Executors
+            .newSingleThreadScheduledExecutor(Thread.ofVirtual().name("change-recheck").factory());
+
+    /* ------------- Constructor ------------- */
+    public ProjectChangeBroadcaster(
+            EventService eventService,
+            ProjectAccessService projectAccessService) {
+        this.eventService = eventService;
+        this.projectAccessService = projectAccessService;
+    }
+
+    /* ------------- Public Methods ------------- */
+    /**
+     * Subscribes the current user to changes in their projects. With a cursor
+     * (from {@code Last-Event-ID}, {@code /sync} or a project snapshot) every
+     * change after it is sent straight away. Without one, only changes
+     * committed from now on are sent. Projects created later are picked up on
+     * the next reconnect.
+     */
+    public SseEmitter subscribe(SyncCursor after) {
+        List<Long> projectIds = projectAccessService.getAccessibleProjectIds();
+        SyncCursor cursor = after != null ? after : eventService.getSnapshotCursor();
+
+        // Never times out; dead connections are found by the heartbeat
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(emitter, projectIds, cursor);
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        subscriptions.add(subscription);
+        for (Long projectId : projectIds) {
+            subscriptionsByProject.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+
+        if (after != null) {
+            requestCatchUp(subscription);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.projectId() == null) {
+            subscriptions.forEach(this::requestCatchUp);
+            return;
+        }
+
+        Set<Subscription> subscribers = subscriptionsByProject.get(event.projectId());
+        if (subscribers != null) {
+            subscribers.forEach(this::requestCatchUp);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and drops the ones whose
+     * client has gone.
+     */
+    @Scheduled(fixedRate = 25_000)
+    public void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            send(subscription, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recheckScheduler.shutdownNow();
+        catchUpExecutor.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    // At most one catch-up runs per subscriber; requests made while one runs
+    // make it go round once more
+    private void requestCatchUp(Subscription subscription) {
+        subscription.pending.set(true);
+        if (subscription.running.compareAndSet(false, true)) {
+            catchUpExecutor.execute(() -> catchUp(subscription));
+        }
+    }
+
+    private void catchUp(Subscription subscription) {
+        try {
+            while (subscription.pending.getAndSet(false)) {
+                sendChanges(subscription);
+                if (!subscriptions.contains(subscription)) {
+                    return;
+                }
+                if (eventService.hasChangesAfter(subscription.projectIds, subscription.cursor)) {
+                    scheduleRecheck(subscription);
+                } else {
+                    subscription.recheckDelay = null;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not send changes to subscriber", e);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.running.set(false);
+        }
+
+        // A request that arrived between the last check and the reset above
+        if (subscription.pending.get()) {
+            requestCatchUp(subscription);
+        }
+    }
+
+    // At most one recheck is scheduled per subscriber. The delay only grows
+    // while rechecks keep finding the cursor behind.
+    private void scheduleRecheck(Subscription subscription) {
+        if (!subscription.recheckScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        Duration delay = subscription.recheckDelay == null
+                ? RECHECK_INITIAL_DELAY
+                : subscription.recheckDelay.multipliedBy(2);
+        if (delay.compareTo(RECHECK_MAX_DELAY) > 0) {
+            delay = RECHECK_MAX_DELAY;
+        }
+        subscription.recheckDelay = delay;
+
+        recheckScheduler.schedule(() -> {
+            subscription.recheckScheduled.set(false);
+            if (subscriptions.contains(subscription)) {
+                requestCatchUp(subscription);
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sendChanges(Subscription subscription) {
+        SyncPageDTO page;
+        do {
+            page = eventService.fetchChangesAfter(subscription.projectIds, subscription.cursor, PAGE_SIZE);
+            if (page.getChanges().isEmpty()) {
+                break;
+            }
+            if (!send(subscription, SseEmitter.event()
+                    .name("changes")
+                    .id(page.getNextCursor())
+                    .data(page.getChanges()))) {
+                break;
+            }
+            subscription.cursor = SyncCursor.parse(page.getNextCursor());
+        } while (page.isHasMore());
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            unsubscribe(subscription);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (Long projectId : subscription.projectIds) {
+            subscriptionsByProject.computeIfPresent(projectId, (id, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    /* ------------- Subscription ------------- */
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final List<Long> projectIds;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean recheckScheduled = new AtomicBoolean();
+
+        // Only touched by the running catch-up
+        private SyncCursor cursor;
+        private Duration recheckDelay;
+
+        Subscription(SseEmitter emitter, List<Long> projectIds, SyncCursor cursor) {
+            this.emitter = emitter;
+            this.projectIds = projectIds;
+            this.cursor = cursor;
+        }
+    }
+}
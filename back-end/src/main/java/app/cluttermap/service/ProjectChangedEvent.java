@@ -0,0 +1,12 @@
+package app.cluttermap.service;
+
+/**
+ * Published by {@link EventService#storeEvent} for every event it stores, and
+ * by {@link ChangeNotificationBus} for changes committed on other nodes.
+ * Listeners that should only hear about committed changes use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}: events from
+ * other nodes are published outside any transaction. A {@code null}
+ * {@code projectId} means any project may have changed.
+ */
+public record ProjectChangedEvent(Long projectId) {
+}
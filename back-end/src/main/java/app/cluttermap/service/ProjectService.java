@@ -1,21 +1,37 @@
 package app.cluttermap.service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 
 import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.exception.project.ProjectLimitReachedException;
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewProjectDTO;
+import app.cluttermap.model.dto.OrgUnitDTO;
+import app.cluttermap.model.dto.ProjectDTO;
+import app.cluttermap.model.dto.ProjectSnapshotDTO;
+import app.cluttermap.model.dto.RoomDTO;
 import app.cluttermap.model.dto.UpdateProjectDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
 import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ProjectChildProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 import jakarta.transaction.Transactional;
@@ -27,6 +43,9 @@ public class ProjectService {
 
     /* ------------- Injected Dependencies ------------- */
     private final ProjectRepository projectRepository;
+    private final RoomRepository roomRepository;
+    private final OrgUnitRepository orgUnitRepository;
+    private final ItemRepository itemRepository;
     private final SecurityService securityService;
     private final EventService eventService;
     private final ProjectService self;
@@ -34,10 +53,16 @@ public class ProjectService {
     /* ------------- Constructor ------------- */
     public ProjectService(
             ProjectRepository projectRepository,
+            RoomRepository roomRepository,
+            OrgUnitRepository orgUnitRepository,
+            ItemRepository itemRepository,
             SecurityService securityService,
             EventService eventService,
             @Lazy ProjectService self) {
         this.projectRepository = projectRepository;
+        this.roomRepository = roomRepository;
+        this.orgUnitRepository = orgUnitRepository;
+        this.itemRepository = itemRepository;
         this.securityService = securityService;
         this.eventService = eventService;
         this.self = self;
@@ -46,9 +71,9 @@ public class ProjectService {
     /* ------------- CRUD Operations ------------- */
     /* --- Read Operations (GET) --- */
     public List<Project> getUserProjects() {
-        User user = securityService.getCurrentUser();
+        Long userId = securityService.getCurrentUserId();
 
-        return projectRepository.findByOwnerId(user.getId());
+        return projectRepository.findByOwnerId(userId);
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#id, 'PROJECT')")
@@ -57,6 +82,52 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException(ResourceType.PROJECT, id));
     }
 
+    // The DTO variants read the child IDs of all projects with one query
+    // instead of loading each project's rooms, org units and items
+    public List<ProjectDTO> getUserProjectDTOs() {
+        return toProjectDTOs(getUserProjects());
+    }
+
+    @PreAuthorize("@securityService.isResourceOwner(#id, 'PROJECT')")
+    public ProjectDTO getProjectDTOById(Long id) {
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ResourceType.PROJECT, id));
+        return toProjectDTOs(List.of(project)).get(0);
+    }
+
+    /**
+     * Current state of every room, org unit and item in the project, for
+     * clients that are too far behind to replay the change log. Everything is
+     * read from one REPEATABLE READ snapshot and tagged with the matching
+     * {@code /sync} cursor, so the client can continue from there.
+     */
+    @PreAuthorize("@securityService.isResourceOwner(#id, 'PROJECT')")
+    // Spring's annotation, since jakarta's cannot set the isolation level
+    @org.springframework.transaction.annotation.Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+    public ProjectSnapshotDTO getProjectSnapshot(Long id) {
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ResourceType.PROJECT, id));
+
+        List<RoomDTO> rooms = new ArrayList<>();
+        for (Room room : roomRepository.findAllForSnapshotByProjectId(id)) {
+            rooms.add(new RoomDTO(room));
+        }
+
+        List<OrgUnitDTO> orgUnits = new ArrayList<>();
+        for (OrgUnit orgUnit : orgUnitRepository.findAllForSnapshotByProjectId(id)) {
+            orgUnits.add(new OrgUnitDTO(orgUnit));
+        }
+
+        List<ItemDTO> items = new ArrayList<>();
+        for (Item item : itemRepository.findAllForSnapshotByProjectId(id)) {
+            items.add(new ItemDTO(item));
+        }
+
+        return new ProjectSnapshotDTO(
+                project.getId(), project.getName(), rooms, orgUnits, items,
+                eventService.getSnapshotCursor().toString());
+    }
+
     /* --- Create Operation (POST) --- */
     @Transactional
     public Project createProject(NewProjectDTO projectDTO) {
@@ -73,7 +144,7 @@ public class ProjectService {
 
         eventService.logEvent(
                 ResourceType.PROJECT, project.getId(),
-                EventChangeType.CREATE, buildCreatePayload(project));
+                EventChangeType.CREATE, CreatePayload.of(project));
 
         return project;
     }
@@ -90,7 +161,7 @@ public class ProjectService {
 
         eventService.logEvent(
                 ResourceType.PROJECT, id,
-                EventChangeType.UPDATE, buildChangePayload(oldProject, updatedProject));
+                EventChangeType.UPDATE, FieldChangePayload.between(oldProject, updatedProject));
 
         return updatedProject;
     }
@@ -104,19 +175,30 @@ public class ProjectService {
         projectRepository.deleteById(id);
     }
 
-    private Map<String, Object> buildCreatePayload(Project project) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("name", project.getName());
-        return payload;
-    }
-
-    private Map<String, Object> buildChangePayload(Project oldProject, Project newProject) {
-        Map<String, Object> changes = new HashMap<>();
+    /* ------------- Private Helper Methods ------------- */
+    private List<ProjectDTO> toProjectDTOs(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        if (!Objects.equals(oldProject.getName(), newProject.getName())) {
-            changes.put("name", newProject.getName());
+        Map<Long, Map<ResourceType, List<Long>>> childIds = new HashMap<>();
+        List<Long> projectIds = projects.stream().map(Project::getId).toList();
+        for (ProjectChildProjection child : projectRepository.findChildIdsByProjectIdIn(projectIds)) {
+            childIds.computeIfAbsent(child.getProjectId(), id -> new EnumMap<>(ResourceType.class))
+                    .computeIfAbsent(child.getChildType(), type -> new ArrayList<>())
+                    .add(child.getChildId());
         }
 
-        return changes;
+        List<ProjectDTO> projectDTOs = new ArrayList<>();
+        for (Project project : projects) {
+            Map<ResourceType, List<Long>> ids = childIds.getOrDefault(project.getId(), Map.of());
+            projectDTOs.add(new ProjectDTO(
+                    project.getId(),
+                    project.getName(),
+                    ids.getOrDefault(ResourceType.ROOM, new ArrayList<>()),
+                    ids.getOrDefault(ResourceType.ORGANIZATIONAL_UNIT, new ArrayList<>()),
+                    ids.getOrDefault(ResourceType.ITEM, new ArrayList<>())));
+        }
+        return projectDTOs;
     }
 }
@@ -0,0 +1,69 @@
+package app.cluttermap.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.cluttermap.repository.ProjectRepository;
+
+/**
+ * Moves a project's {@code lastUpdated} forward when events are logged in it.
+ * <p>
+ * Touches are collected per transaction, keeping the latest timestamp for
+ * each project, and written with one {@code UPDATE} per project just before
+ * the transaction commits. The row lock on the project is therefore only held
+ * for the commit itself rather than from the first event to the end of the
+ * transaction, and an operation that logs several events updates the row
+ * once. Because the write is part of the same commit, a client that sees the
+ * events through {@code findUpdatedProjectIds} always sees the project too.
+ */
+@Service
+public class ProjectTouchTracker {
+    /* ------------- Injected Dependencies ------------- */
+    private final ProjectRepository projectRepository;
+
+    /* ------------- Constructor ------------- */
+    public ProjectTouchTracker(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    /* ------------- Public Methods ------------- */
+    public void touch(Long projectId, Instant timestamp) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            projectRepository.touch(projectId, timestamp);
+            return;
+        }
+
+        PendingTouches pending = (PendingTouches) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingTouches();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(projectId, timestamp);
+    }
+
+    /* ------------- Pending Touches ------------- */
+    private class PendingTouches implements TransactionSynchronization {
+        // Sorted so concurrent transactions lock project rows in the same order
+        private final Map<Long, Instant> latestByProject = new TreeMap<>();
+
+        void add(Long projectId, Instant timestamp) {
+            latestByProject.merge(projectId, timestamp, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            latestByProject.forEach(projectRepository::touch);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProjectTouchTracker.this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package app.cluttermap.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import app.cluttermap.exception.ResourceNotFoundException;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ProjectSetVersionProjection;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.util.ResourceType;
+
+/**
+ * Answers conditional GETs from {@code Project.lastUpdated}, which moves
+ * forward with every logged change (see {@link ProjectTouchTracker}). Reads of
+ * a project or anything in it are tagged with the project's version, so an
+ * unchanged project is answered with 304 after one indexed lookup, before
+ * anything is loaded or serialised.
+ * <p>
+ * Each {@code checkNotModified} sets {@code ETag} (and {@code Last-Modified}
+ * where it applies) on the response and returns {@code true} if the client's
+ * copy is current, in which case the controller returns without a body.
+ */
+@Service
+public class ProjectVersionService {
+    /* ------------- Injected Dependencies ------------- */
+    private final ProjectRepository projectRepository;
+    private final RoomRepository roomRepository;
+    private final OrgUnitRepository orgUnitRepository;
+    private final ItemRepository itemRepository;
+    private final SecurityService securityService;
+    private final AuthorizationContext authorizationContext;
+
+    /* ------------- Constructor ------------- */
+    public ProjectVersionService(
+            ProjectRepository projectRepository,
+            RoomRepository roomRepository,
+            OrgUnitRepository orgUnitRepository,
+            ItemRepository itemRepository,
+            SecurityService securityService,
+            AuthorizationContext authorizationContext) {
+        this.projectRepository = projectRepository;
+        this.roomRepository = roomRepository;
+        this.orgUnitRepository = orgUnitRepository;
+        this.itemRepository = itemRepository;
+        this.securityService = securityService;
+        this.authorizationContext = authorizationContext;
+    }
+
+    /* ------------- Public Methods ------------- */
+    /**
+     * Conditional GET for a resource, versioned by its project. Access is
+     * checked here, as a 304 never reaches the service's
+     * {@code @PreAuthorize}; the owner is cached for that check otherwise.
+     *
+     * @throws ResourceNotFoundException if the resource does not exist
+     * @throws AccessDeniedException     if the current user does not own it
+     */
+    public boolean checkNotModified(ResourceType resourceType, Long resourceId, WebRequest request) {
+        ProjectVersionProjection version = findProjectVersion(resourceType, resourceId)
+                .orElseThrow(() -> new ResourceNotFoundException(resourceType, resourceId));
+
+        Long ownerId = authorizationContext.getOwnerId(resourceType, resourceId, version::getOwnerId);
+        if (!securityService.getCurrentUserId().equals(ownerId)) {
+            throw new AccessDeniedException("Access Denied");
+        }
+
+        Instant lastUpdated = orEpoch(version.getLastUpdated());
+        return request.checkNotModified("\"p" + toMicros(lastUpdated) + "\"", lastUpdated.toEpochMilli());
+    }
+
+    /**
+     * Conditional GET for a listing across all of the current user's
+     * projects. Only an ETag is used: deleting a project changes what is
+     * listed without moving any {@code lastUpdated}, and a touch that commits
+     * late may not move the latest one either.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        ProjectSetVersionProjection version = projectRepository
+                .findProjectSetVersionByOwnerId(securityService.getCurrentUserId());
+
+        return request.checkNotModified(
+                "\"u" + version.getProjectCount() + "-" + version.getLastUpdatedSum().toPlainString() + "\"");
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private Optional<ProjectVersionProjection> findProjectVersion(ResourceType resourceType, Long resourceId) {
+        switch (resourceType) {
+            case PROJECT:
+                return projectRepository.findProjectVersionById(resourceId);
+            case ROOM:
+                return roomRepository.findProjectVersionById(resourceId);
+            case ORGANIZATIONAL_UNIT:
+                return orgUnitRepository.findProjectVersionById(resourceId);
+            case ITEM:
+                return itemRepository.findProjectVersionById(resourceId);
+            default:
+                throw new IllegalArgumentException("Unknown entity type: " + resourceType);
+        }
+    }
+
+    // Projects created before lastUpdated existed may not have one yet
+    private static Instant orEpoch(Instant lastUpdated) {
+        return lastUpdated != null ? lastUpdated : Instant.EPOCH;
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -1,9 +1,6 @@
 package app.cluttermap.service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,9 +9,10 @@ import org.springframework.stereotype.Service;
 import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
-import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewRoomDTO;
 import app.cluttermap.model.dto.UpdateRoomDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.RoomRepository;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
@@ -48,9 +46,9 @@ public class RoomService {
     /* ------------- CRUD Operations ------------- */
     /* --- Read Operations (GET) --- */
     public List<Room> getUserRooms() {
-        User user = securityService.getCurrentUser();
+        Long userId = securityService.getCurrentUserId();
 
-        return roomRepository.findByOwnerId(user.getId());
+        return roomRepository.findByOwnerId(userId);
     }
 
     @PreAuthorize("@securityService.isResourceOwner(#id, 'ROOM')")
@@ -65,17 +63,9 @@ public class RoomService {
         Room room = self.createRoomInProject(roomDTO, roomDTO.getProjectIdAsLong());
         long id = room.getId();
 
-        eventService.logEvent(
-                ResourceType.ROOM, id,
-                EventChangeType.CREATE, buildCreatePayload(room));
-        
-        Map<String, Object> addChildDetails = new HashMap<>();
-        addChildDetails.put("childId", id);
-        addChildDetails.put("childType", ResourceType.ROOM);
-        eventService.logEvent(
-            ResourceType.PROJECT, room.getProject().getId(),
-            EventChangeType.ADD_CHILD, addChildDetails
-        );
+        eventService.logBatch(new EventBatch(EventChangeType.CREATE, room.getProject())
+                .add(ResourceType.ROOM, id, EventChangeType.CREATE, CreatePayload.of(room))
+                .addChild(ResourceType.PROJECT, room.getProject().getId(), ResourceType.ROOM, id));
 
         return room;
     }
@@ -103,7 +93,7 @@ public class RoomService {
 
         eventService.logEvent(
                 ResourceType.ROOM, id,
-                EventChangeType.UPDATE, buildChangePayload(oldRoom, updatedRoom));
+                EventChangeType.UPDATE, FieldChangePayload.between(oldRoom, updatedRoom));
 
         return updatedRoom;
     }
@@ -113,40 +103,10 @@ public class RoomService {
     public void deleteRoomById(Long id) {
         Room room = self.getRoomById(id);
 
-        eventService.logEvent(
-                ResourceType.ROOM, id,
-                EventChangeType.DELETE, null);
-        
-        Map<String, Object> removeChildDetails = new HashMap<>();
-        removeChildDetails.put("childId", id);
-        removeChildDetails.put("childType", ResourceType.ROOM);
-        eventService.logEvent(
-            ResourceType.PROJECT, room.getProject().getId(),
-            EventChangeType.REMOVE_CHILD, removeChildDetails
-        );
+        eventService.logBatch(new EventBatch(EventChangeType.DELETE, room.getProject())
+                .add(ResourceType.ROOM, id, EventChangeType.DELETE, null)
+                .removeChild(ResourceType.PROJECT, room.getProject().getId(), ResourceType.ROOM, id));
 
         roomRepository.delete(room); // Ensures OrgUnits are unassigned, not deleted
     }
-
-    private Map<String, Object> buildCreatePayload(Room room) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("projectId", room.getProject().getId());
-
-        payload.put("name", room.getName());
-        payload.put("description", room.getDescription());
-        return payload;
-    }
-
-    private Map<String, Object> buildChangePayload(Room oldRoom, Room newRoom) {
-        Map<String, Object> changes = new HashMap<>();
-
-        if (!Objects.equals(oldRoom.getName(), newRoom.getName())) {
-            changes.put("name", newRoom.getName());
-        }
-        if (!Objects.equals(oldRoom.getDescription(), newRoom.getDescription())) {
-            changes.put("description", newRoom.getDescription());
-        }
-
-        return changes;
-    }
 }
@@ -1,14 +1,20 @@
 package app.cluttermap.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.exception.auth.InvalidAuthenticationException;
 import app.cluttermap.exception.auth.UserNotFoundException;
-import app.cluttermap.model.Project;
+import app.cluttermap.model.AuthenticatedPrincipal;
 import app.cluttermap.model.User;
 import app.cluttermap.repository.UserRepository;
 import app.cluttermap.util.ResourceType;
@@ -17,18 +23,25 @@ import app.cluttermap.util.ResourceType;
 public class SecurityService {
     /* ------------- Injected Dependencies ------------- */
     private final UserRepository userRepository;
-    private final EntityResolutionService entityResolutionService;
+    private final OwnershipResolutionService ownershipResolutionService;
+    private final AuthorizationContext authorizationContext;
 
     /* ------------- Constructor ------------- */
     public SecurityService(
             UserRepository userRepository,
-            EntityResolutionService entityResolutionService) {
+            OwnershipResolutionService ownershipResolutionService,
+            AuthorizationContext authorizationContext) {
         this.userRepository = userRepository;
-        this.entityResolutionService = entityResolutionService;
+        this.ownershipResolutionService = ownershipResolutionService;
+        this.authorizationContext = authorizationContext;
     }
 
     /* ------------- Current User Operations ------------- */
-    public User getCurrentUser() {
+    /**
+     * Builds the current principal from the JWT claims without a database
+     * lookup.
+     */
+    public AuthenticatedPrincipal getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !(authentication instanceof JwtAuthenticationToken)) {
@@ -36,17 +49,63 @@ public class SecurityService {
         }
 
         Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
-        Long user_id = Long.valueOf(jwt.getSubject());
+        return AuthenticatedPrincipal.fromJwt(jwt);
+    }
 
-        return userRepository.findById(user_id).orElseThrow(() -> new UserNotFoundException());
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    /**
+     * Loads the full {@link User} entity. Only use this where the entity itself is
+     * needed (e.g. to attach it to a new project or event); for ownership and
+     * filtering use {@link #getCurrentUserId()}.
+     */
+    public User getCurrentUser() {
+        // Resolved at most once per request
+        return authorizationContext.getCurrentUser(this::loadCurrentUser);
     }
 
     /* ------------- Resource Ownership Checks ------------- */
     public boolean isResourceOwner(Long resourceId, ResourceType resourceType) {
-        Long currentUserId = getCurrentUser().getId();
+        Long currentUserId = getCurrentUserId();
+
+        Long ownerId = authorizationContext.getOwnerId(
+                resourceType, resourceId,
+                () -> ownershipResolutionService.resolveOwnerId(resourceType, resourceId));
 
-        Project project = entityResolutionService.resolveProject(resourceType, resourceId);
+        return currentUserId.equals(ownerId);
+    }
+
+    /**
+     * Checks ownership of many resources of the same type with one query and
+     * returns the IDs the current user does not own, in input order.
+     *
+     * @throws ResourceNotFoundException if any of the IDs does not exist
+     */
+    public List<Long> getUnownedResourceIds(Collection<Long> resourceIds, ResourceType resourceType) {
+        Long currentUserId = getCurrentUserId();
+
+        Map<Long, Long> ownerIds = authorizationContext.getOwnerIds(
+                resourceType, resourceIds,
+                ids -> ownershipResolutionService.resolveOwnerIds(resourceType, ids));
+
+        List<Long> unownedIds = new ArrayList<>();
+        for (Long resourceId : resourceIds) {
+            if (!ownerIds.containsKey(resourceId)) {
+                throw new ResourceNotFoundException(resourceType, resourceId);
+            }
+            if (!currentUserId.equals(ownerIds.get(resourceId))) {
+                unownedIds.add(resourceId);
+            }
+        }
+        return unownedIds;
+    }
 
-        return project.getOwner().getId().equals(currentUserId);
+    /* ------------- Private Helper Methods ------------- */
+    private User loadCurrentUser() {
+        Long user_id = getCurrentUserId();
+
+        return userRepository.findById(user_id).orElseThrow(() -> new UserNotFoundException());
     }
 }
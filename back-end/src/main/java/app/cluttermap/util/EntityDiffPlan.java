@@ -0,0 +1,176 @@
+package app.cluttermap.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.proxy.HibernateProxy;
+
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+
+/**
+ * Field-by-field diff of two instances of the same entity class, used to
+ * record what an update changed.
+ * <p>
+ * The fields to compare are worked out once per class and read through
+ * {@link MethodHandle}s. Association collections are skipped so a diff never
+ * initializes a lazy collection, and to-one associations are compared by the
+ * referenced entity's ID and reported as {@code <field>Id}.
+ */
+public final class EntityDiffPlan {
+    /* ------------- Constants ------------- */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<EntityDiffPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected EntityDiffPlan computeValue(Class<?> type) {
+            return new EntityDiffPlan(type);
+        }
+    };
+
+    static {
+        // Build the plans for the entities we diff on every update up front
+        for (Class<?> type : List.of(Project.class, Room.class, OrgUnit.class, Item.class)) {
+            PLANS.get(type);
+        }
+    }
+
+    /* ------------- Fields ------------- */
+    private final List<DiffField> fields;
+
+    /* ------------- Constructors ------------- */
+    private EntityDiffPlan(Class<?> type) {
+        MethodHandles.Lookup lookup = privateLookup(type);
+        List<DiffField> diffFields = new ArrayList<>();
+
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || isAssociationCollection(field)) {
+                continue;
+            }
+
+            MethodHandle getter = getter(lookup, field);
+            if (isToOneAssociation(field)) {
+                diffFields.add(new DiffField(field.getName() + "Id", getter, idGetter(field.getType())));
+            } else {
+                diffFields.add(new DiffField(field.getName(), getter, null));
+            }
+        }
+
+        this.fields = List.copyOf(diffFields);
+    }
+
+    /* ------------- Public Methods ------------- */
+    public static EntityDiffPlan forClass(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Returns the changed fields mapped to their new value. Changed to-one
+     * associations are mapped to the new referenced ID.
+     */
+    public Map<String, Object> diff(Object oldEntity, Object newEntity) {
+        Map<String, Object> changes = new HashMap<>();
+
+        for (DiffField field : fields) {
+            Object oldValue = field.read(oldEntity);
+            Object newValue = field.read(newEntity);
+
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.put(field.name(), newValue);
+            }
+        }
+
+        return changes;
+    }
+
+    /* ------------- Private Helper Methods ------------- */
+    private record DiffField(String name, MethodHandle getter, MethodHandle idGetter) {
+        Object read(Object entity) {
+            try {
+                Object value = (Object) getter.invokeExact(entity);
+                if (idGetter == null || value == null) {
+                    return value;
+                }
+                // Read the ID from the proxy so an unloaded reference stays unloaded
+                if (value instanceof HibernateProxy proxy) {
+                    return proxy.getHibernateLazyInitializer().getIdentifier();
+                }
+                return (Object) idGetter.invokeExact(value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Error reading field: " + name, e);
+            }
+        }
+    }
+
+    private static boolean isAssociationCollection(Field field) {
+        return field.isAnnotationPresent(OneToMany.class)
+                || field.isAnnotationPresent(ManyToMany.class)
+                || (Collection.class.isAssignableFrom(field.getType()) && hasIdField(elementType(field)));
+    }
+
+    private static boolean isToOneAssociation(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class)
+                || field.isAnnotationPresent(OneToOne.class)
+                || hasIdField(field.getType());
+    }
+
+    private static boolean hasIdField(Class<?> type) {
+        if (type == null) {
+            return false;
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getName().equals("id")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> elementType(Field field) {
+        if (field.getGenericType() instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            return elementType;
+        }
+        return null;
+    }
+
+    private static MethodHandle idGetter(Class<?> type) {
+        try {
+            return getter(privateLookup(type), type.getDeclaredField("id"));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Associated type has no 'id' field: " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle getter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field: " + field.getName(), e);
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot build a diff plan for " + type.getName(), e);
+        }
+    }
+}
@@ -6,5 +6,7 @@ public enum EventChangeType {
     DELETE,
     MOVE,
     ADD_CHILD,
-    REMOVE_CHILD
+    REMOVE_CHILD,
+    // Folded history of an entity from months compacted by retention
+    SNAPSHOT
 }
@@ -0,0 +1,52 @@
+package app.cluttermap.util;
+
+/**
+ * Position in the change log returned by {@code /sync}. Changes are ordered by
+ * the ID of the transaction that wrote them and then by their change sequence,
+ * so a cursor is the pair of both for the last change a client has seen.
+ * <p>
+ * Clients treat the string form ({@code "<txId>-<changeSeq>"}) as opaque.
+ */
+public final class SyncCursor {
+    public static final SyncCursor START = new SyncCursor(0L, 0L);
+
+    /* ------------- Fields ------------- */
+    private final long txId;
+    private final long changeSeq;
+
+    /* ------------- Constructor ------------- */
+    public SyncCursor(long txId, long changeSeq) {
+        this.txId = txId;
+        this.changeSeq = changeSeq;
+    }
+
+    public static SyncCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        String[] parts = cursor.split("-");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid sync cursor: " + cursor);
+        }
+        try {
+            return new SyncCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync cursor: " + cursor);
+        }
+    }
+
+    /* ------------- Getters ------------- */
+    public long getTxId() {
+        return txId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public String toString() {
+        return txId + "-" + changeSeq;
+    }
+}
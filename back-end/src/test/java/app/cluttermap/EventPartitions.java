@@ -0,0 +1,21 @@
+package app.cluttermap;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Creates the monthly event store partitions a test writes into. The event
+ * store has no default partition and only the current and next month exist
+ * up front, so tests that log changes in the past create their months first.
+ */
+public class EventPartitions {
+    public static void createFor(JdbcTemplate jdbcTemplate, Instant... timestamps) {
+        for (Instant timestamp : timestamps) {
+            YearMonth month = YearMonth.from(timestamp.atZone(ZoneOffset.UTC));
+            jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, month.atDay(1));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package app.cluttermap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while an action runs, so tests
+ * can hold read paths to a fixed budget however much data they return. Lazy
+ * loads, JPQL and native queries are all counted; plain JDBC is not.
+ */
+public class QueryCounter {
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public long count(Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,199 @@
+package app.cluttermap.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.QueryCounter;
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ProjectDTO;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.UserRepository;
+import app.cluttermap.service.ProjectService;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares building {@code GET /projects} for a user with 3 projects of 10k
+ * items each from the entities ({@code new ProjectDTO(project)}, which loads
+ * every room, org unit and item) against {@link ProjectService#getUserProjectDTOs}.
+ * Needs a database, so it runs against Testcontainers with
+ * {@code ./gradlew benchmark} rather than under JMH, and is left out of
+ * {@code ./gradlew test}.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProjectDTOBenchmarkTests {
+    private static final int PROJECTS = 3;
+    private static final int ROOMS_PER_PROJECT = 10;
+    private static final int ORG_UNITS_PER_ROOM = 10;
+    private static final int ITEMS_PER_ORG_UNIT = 100;
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OrgUnitRepository orgUnitRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate readOnlyTransaction;
+    private QueryCounter queryCounter;
+    private User owner;
+
+    @BeforeAll
+    void setUp() {
+        userRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        queryCounter = new QueryCounter(entityManagerFactory);
+
+        owner = userRepository.save(new User("benchmarkProviderId"));
+        for (int p = 0; p < PROJECTS; p++) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> createProject());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(owner.getId().toString())
+                .build()));
+    }
+
+    @AfterAll
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUserProjects_ShouldNotLoadChildEntities() throws Exception {
+        // Old: every project's rooms, org units and items are loaded for their IDs
+        Supplier<List<ProjectDTO>> fromEntities = () -> projectRepository.findByOwnerId(owner.getId()).stream()
+                .map(ProjectDTO::new)
+                .toList();
+        // New: the child IDs of all projects are read in one query
+        Supplier<List<ProjectDTO>> fromChildIds = projectService::getUserProjectDTOs;
+
+        Result entities = measure("new ProjectDTO(project)", fromEntities);
+        Result childIds = measure("ProjectService.getUserProjectDTOs", fromChildIds);
+
+        // Assert: Same IDs, from a fixed number of statements
+        assertThat(summarize(childIds.projectDTOs)).isEqualTo(summarize(entities.projectDTOs));
+        assertThat(childIds.projectDTOs)
+                .allSatisfy(projectDTO -> assertThat(projectDTO.getItemIds())
+                        .hasSize(ROOMS_PER_PROJECT * ORG_UNITS_PER_ROOM * ITEMS_PER_ORG_UNIT));
+        assertThat(childIds.statements).isEqualTo(2);
+    }
+
+    /* ------------- Helpers ------------- */
+    private record Result(List<ProjectDTO> projectDTOs, long statements) {
+    }
+
+    private Result measure(String name, Supplier<List<ProjectDTO>> build) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readOnlyTransaction.execute(status -> build.get());
+        }
+
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            readOnlyTransaction.execute(status -> build.get());
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        List<ProjectDTO> projectDTOs = new ArrayList<>();
+        long statements = queryCounter
+                .count(() -> projectDTOs.addAll(readOnlyTransaction.execute(status -> build.get())));
+
+        Arrays.sort(millis);
+        System.out.printf("%-36s median %5d ms, min %5d ms, %6d statements%n",
+                name, millis[ITERATIONS / 2], millis[0], statements);
+        return new Result(projectDTOs, statements);
+    }
+
+    // Child ID order is not part of the DTO's contract
+    private List<List<TreeSet<Long>>> summarize(List<ProjectDTO> projectDTOs) {
+        return projectDTOs.stream()
+                .sorted(Comparator.comparing(ProjectDTO::getId))
+                .map(projectDTO -> List.of(
+                        new TreeSet<>(projectDTO.getRoomIds()),
+                        new TreeSet<>(projectDTO.getOrgUnitIds()),
+                        new TreeSet<>(projectDTO.getItemIds())))
+                .toList();
+    }
+
+    private void createProject() {
+        Project project = projectRepository.save(new Project("Benchmark Project", owner));
+
+        List<Room> rooms = new ArrayList<>();
+        List<OrgUnit> orgUnits = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int r = 0; r < ROOMS_PER_PROJECT; r++) {
+            Room room = new Room("Room " + r, null, project);
+            rooms.add(room);
+            for (int o = 0; o < ORG_UNITS_PER_ROOM; o++) {
+                OrgUnit orgUnit = new OrgUnit("Org Unit " + o, null, room);
+                orgUnits.add(orgUnit);
+                for (int i = 0; i < ITEMS_PER_ORG_UNIT; i++) {
+                    items.add(new Item("Item " + i, null, List.of("benchmark"), 1, orgUnit));
+                }
+            }
+        }
+        roomRepository.saveAll(rooms);
+        orgUnitRepository.saveAll(orgUnits);
+        itemRepository.saveAll(items);
+    }
+}
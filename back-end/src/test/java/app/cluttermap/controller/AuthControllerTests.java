@@ -119,4 +119,15 @@ class AuthControllerTests {
         mockMvc.perform(get("/auth/user-info"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void createStreamToken_ShouldReturnStreamToken() throws Exception {
+        // Arrange
+        when(authService.generateStreamToken()).thenReturn("mockStreamToken");
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/stream-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("mockStreamToken"));
+    }
 }
@@ -0,0 +1,134 @@
+package app.cluttermap.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.config.SecurityConfig;
+import app.cluttermap.model.User;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.UserRepository;
+import app.cluttermap.service.AuthService;
+
+/**
+ * Opens {@code /projects/changes/stream} through the application's own
+ * security filter chain, with real tokens, the way a browser's EventSource
+ * does: no Authorization header, and a stream token in the query string.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class ChangeStreamSecurityIntegrationTests {
+    private static final String STREAM_PATH = "/projects/changes/stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        User owner = userRepository.save(new User("ownerProviderId"));
+        accessToken = authService.generateJwtToken(owner);
+    }
+
+    @Test
+    void stream_ShouldOpen_WithStreamTokenInQueryString() throws Exception {
+        // Arrange
+        String streamToken = requestStreamToken();
+
+        // Act & Assert
+        mockMvc.perform(get(STREAM_PATH)
+                .param(SecurityConfig.STREAM_TOKEN_PARAMETER, streamToken)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void stream_ShouldOpen_WithAuthorizationHeader() throws Exception {
+        mockMvc.perform(get(STREAM_PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void stream_ShouldBeUnauthorized_WithoutToken() throws Exception {
+        mockMvc.perform(get(STREAM_PATH).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void stream_ShouldBeUnauthorized_WithAccessTokenInQueryString() throws Exception {
+        // Act & Assert: Day-long access tokens are kept out of URLs
+        mockMvc.perform(get(STREAM_PATH)
+                .param(SecurityConfig.STREAM_TOKEN_PARAMETER, accessToken)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void streamToken_ShouldBeUnauthorized_OnOtherRoutes() throws Exception {
+        // Arrange
+        String streamToken = requestStreamToken();
+
+        // Act & Assert: Neither as a header nor in the query string
+        mockMvc.perform(get("/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + streamToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/projects").param(SecurityConfig.STREAM_TOKEN_PARAMETER, streamToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void streamToken_ShouldNotIssueAnotherStreamToken() throws Exception {
+        // Arrange
+        String streamToken = requestStreamToken();
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/stream-token").header(HttpHeaders.AUTHORIZATION, "Bearer " + streamToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /* ------------- Helpers ------------- */
+    private String requestStreamToken() throws Exception {
+        String response = mockMvc.perform(post("/auth/stream-token")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
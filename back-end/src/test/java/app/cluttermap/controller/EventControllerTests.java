@@ -1,33 +1,48 @@
 package app.cluttermap.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.model.dto.SyncPageDTO;
 import app.cluttermap.service.EventService;
+import app.cluttermap.service.ProjectChangeBroadcaster;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 
 @WebMvcTest(EventController.class)
 @ExtendWith(SpringExtension.class)
@@ -41,6 +56,9 @@ public class EventControllerTests {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private ProjectChangeBroadcaster projectChangeBroadcaster;
+
     @BeforeEach
     void setUp() {
     }
@@ -57,8 +75,8 @@ public class EventControllerTests {
                 new EntityHistoryDTO(entityType, entityId, EventChangeType.UPDATE, "{\"quantity\":1}",
                         "Jane Smith", 1L, Instant.now()));
 
-        Page<EntityHistoryDTO> page = new PageImpl<>(mockHistory, PageRequest.of(0, 10), mockHistory.size());
-        when(eventService.getEntityHistory(entityType, entityId, 0, 10)).thenReturn(page);
+        Slice<EntityHistoryDTO> slice = new SliceImpl<>(mockHistory, PageRequest.of(0, 10), false);
+        when(eventService.getEntityHistory(entityType, entityId, 0, 10)).thenReturn(slice);
 
         // Act & Assert
         mockMvc.perform(get("/events/{entityType}/{id}", entityType, entityId)
@@ -68,7 +86,8 @@ public class EventControllerTests {
                 .andExpect(jsonPath("$._embedded.entityHistoryDTOList").isArray())
                 .andExpect(jsonPath("$._embedded.entityHistoryDTOList.length()").value(mockHistory.size()))
                 .andExpect(jsonPath("$._embedded.entityHistoryDTOList[0].entityId").value(entityId))
-                .andExpect(jsonPath("$._embedded.entityHistoryDTOList[0].userName").value("Jane Smith"));
+                .andExpect(jsonPath("$._embedded.entityHistoryDTOList[0].userName").value("Jane Smith"))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist());
 
         verify(eventService).getEntityHistory(entityType, entityId, 0, 10);
     }
@@ -79,8 +98,8 @@ public class EventControllerTests {
         ResourceType entityType = ResourceType.ITEM;
         Long entityId = 5L;
 
-        Page<EntityHistoryDTO> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
-        when(eventService.getEntityHistory(entityType, entityId, 0, 10)).thenReturn(emptyPage);
+        Slice<EntityHistoryDTO> emptySlice = new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 10), false);
+        when(eventService.getEntityHistory(entityType, entityId, 0, 10)).thenReturn(emptySlice);
 
         // Act & Assert
         mockMvc.perform(get("/events/{entityType}/{id}", entityType, entityId)
@@ -135,4 +154,103 @@ public class EventControllerTests {
         verify(eventService).fetchUpdatesSince(sinceTime);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamChangedEntitiesSince_ShouldWriteOneLinePerChange() throws Exception {
+        // Arrange
+        String since = "2025-01-01T12:00:00Z";
+        Instant sinceTime = Instant.parse(since);
+        List<Long> projectIds = List.of(1L);
+
+        when(eventService.getUpdatedProjectIds(sinceTime)).thenReturn(projectIds);
+        doAnswer(invocation -> {
+            Consumer<EntityHistoryDTO> action = invocation.getArgument(2);
+            action.accept(new EntityHistoryDTO(ResourceType.ITEM, 5L, EventChangeType.UPDATE,
+                    "{\"quantity\":2}", "Jane Smith", 1L, Instant.now()));
+            action.accept(new EntityHistoryDTO(ResourceType.ROOM, 7L, EventChangeType.DELETE,
+                    null, "Jane Smith", 1L, Instant.now()));
+            return null;
+        }).when(eventService).streamUpdatesSince(eq(sinceTime), eq(projectIds), any(Consumer.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/fetch-updates")
+                .param("since", since)
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert: Access was resolved before the body started streaming
+        verify(eventService).getUpdatedProjectIds(sinceTime);
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"entityId\":5", "\"action\":\"UPDATE\"");
+        assertThat(lines.get(1)).contains("\"entityId\":7", "\"action\":\"DELETE\"");
+    }
+
+    @Test
+    void syncChanges_ShouldReturnPageWithNextCursor() throws Exception {
+        // Arrange
+        List<EntityHistoryDTO> changes = List.of(
+                new EntityHistoryDTO(ResourceType.ITEM, 5L, EventChangeType.UPDATE,
+                        "{\"quantity\":2}", "Jane Smith", 1L, Instant.now()));
+        when(eventService.fetchChangesAfter(any(SyncCursor.class), eq(50)))
+                .thenReturn(new SyncPageDTO(changes, "101-9", true));
+
+        // Act & Assert
+        mockMvc.perform(get("/sync")
+                .param("after", "100-7")
+                .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].entityId").value(5L))
+                .andExpect(jsonPath("$.nextCursor").value("101-9"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        ArgumentCaptor<SyncCursor> cursorCaptor = ArgumentCaptor.forClass(SyncCursor.class);
+        verify(eventService).fetchChangesAfter(cursorCaptor.capture(), eq(50));
+        assertThat(cursorCaptor.getValue().getTxId()).isEqualTo(100L);
+        assertThat(cursorCaptor.getValue().getChangeSeq()).isEqualTo(7L);
+    }
+
+    @Test
+    void syncChanges_ShouldReturnBadRequest_WhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/sync").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamProjectChanges_ShouldResumeFromLastEventId() throws Exception {
+        // Arrange
+        when(projectChangeBroadcaster.subscribe(any(SyncCursor.class))).thenReturn(new SseEmitter());
+
+        // Act
+        mockMvc.perform(get("/projects/changes/stream")
+                .header("Last-Event-ID", "100-7")
+                .param("after", "50-1")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        // Assert: The header wins over the query parameter
+        ArgumentCaptor<SyncCursor> cursorCaptor = ArgumentCaptor.forClass(SyncCursor.class);
+        verify(projectChangeBroadcaster).subscribe(cursorCaptor.capture());
+        assertThat(cursorCaptor.getValue().getTxId()).isEqualTo(100L);
+        assertThat(cursorCaptor.getValue().getChangeSeq()).isEqualTo(7L);
+    }
+
+    @Test
+    void streamProjectChanges_ShouldStartFromNow_WithoutCursor() throws Exception {
+        // Arrange
+        when(projectChangeBroadcaster.subscribe(null)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/projects/changes/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(projectChangeBroadcaster).subscribe(null);
+    }
 }
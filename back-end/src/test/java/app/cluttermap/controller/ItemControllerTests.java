@@ -39,9 +39,11 @@ import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewItemDTO;
 import app.cluttermap.model.dto.UpdateItemDTO;
 import app.cluttermap.service.ItemService;
+import app.cluttermap.service.ProjectVersionService;
 import app.cluttermap.service.RoomService;
 import app.cluttermap.service.SecurityService;
 import app.cluttermap.util.ResourceType;
@@ -64,6 +66,9 @@ class ItemControllerTests {
     @MockBean
     private SecurityService securityService;
 
+    @MockBean
+    private ProjectVersionService projectVersionService;
+
     private Project mockProject;
     private OrgUnit mockOrgUnit;
 
@@ -91,7 +96,7 @@ class ItemControllerTests {
         Item item1 = new TestDataFactory.ItemBuilder().project(mockProject).name(names.get(0)).build();
         Item item2 = new TestDataFactory.ItemBuilder().project(mockProject).name(names.get(1)).build();
 
-        when(itemService.getUserItems()).thenReturn(List.of(item1, item2));
+        when(itemService.getUserItems()).thenReturn(List.of(new ItemDTO(item1), new ItemDTO(item2)));
 
         // Act: Perform a GET request to the /items endpoint
         mockMvc.perform(get("/items"))
@@ -0,0 +1,131 @@
+package app.cluttermap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.QueryCounter;
+import app.cluttermap.TestDataFactory;
+import app.cluttermap.model.OrgUnit;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
+import app.cluttermap.model.User;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Holds list endpoints, and project reads that list child IDs, to a fixed
+ * number of statements whatever they return. Each one is allowed its version
+ * lookup, its ownership check or project lookup, and one read. A lazy load
+ * per row shows up as dozens of extra statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class ListEndpointQueryCountIntegrationTests {
+    private static final int STATEMENT_BUDGET = 3;
+
+    private static final int ROOMS = 3;
+    private static final int ORG_UNITS_PER_ROOM = 3;
+    private static final int ITEMS_PER_ORG_UNIT = 4;
+    private static final int UNASSIGNED_ITEMS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OrgUnitRepository orgUnitRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private QueryCounter queryCounter;
+    private User owner;
+    private Project project;
+    private OrgUnit orgUnit;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        queryCounter = new QueryCounter(entityManagerFactory);
+
+        // Arrange: A project with items spread over rooms and org units, and some
+        // unassigned
+        owner = userRepository.save(new User("ownerProviderId"));
+        project = projectRepository.save(new TestDataFactory.ProjectBuilder().id(null).user(owner).build());
+        for (int r = 0; r < ROOMS; r++) {
+            Room room = roomRepository.save(new TestDataFactory.RoomBuilder().id(null).project(project).build());
+            for (int o = 0; o < ORG_UNITS_PER_ROOM; o++) {
+                orgUnit = orgUnitRepository.save(new TestDataFactory.OrgUnitBuilder().id(null).room(room).build());
+                for (int i = 0; i < ITEMS_PER_ORG_UNIT; i++) {
+                    itemRepository.save(new TestDataFactory.ItemBuilder().id(null).orgUnit(orgUnit).build());
+                }
+            }
+        }
+        for (int i = 0; i < UNASSIGNED_ITEMS; i++) {
+            itemRepository.save(new TestDataFactory.ItemBuilder().id(null).project(project).build());
+        }
+    }
+
+    // Sizes follow the data set up above: 40 items, 4 of them unassigned, and 4
+    // in the last org unit
+    @ParameterizedTest
+    @CsvSource({
+            "/items, $.length(), 40",
+            "/projects/{projectId}/items, $.length(), 40",
+            "/projects/{projectId}/items/unassigned, $.length(), 4",
+            "/org-units/{orgUnitId}/items, $.length(), 4",
+            "/projects, $[0].itemIds.length(), 40",
+            "/projects/{projectId}, $.itemIds.length(), 40"
+    })
+    void listEndpoint_ShouldStayWithinStatementBudget(String path, String sizePath, int expectedSize)
+            throws Exception {
+        String url = path
+                .replace("{projectId}", project.getId().toString())
+                .replace("{orgUnitId}", orgUnit.getId().toString());
+
+        // Act
+        long statements = queryCounter.count(() -> mockMvc
+                .perform(get(url).with(jwt().jwt(token -> token.subject(owner.getId().toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(sizePath).value(expectedSize)));
+
+        // Assert
+        assertThat(statements)
+                .as("Statements for GET %s returning %d rows", url, expectedSize)
+                .isLessThanOrEqualTo(STATEMENT_BUDGET);
+    }
+}
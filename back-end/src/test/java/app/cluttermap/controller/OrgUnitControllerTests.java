@@ -39,10 +39,12 @@ import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewOrgUnitDTO;
 import app.cluttermap.model.dto.UpdateOrgUnitDTO;
 import app.cluttermap.service.ItemService;
 import app.cluttermap.service.OrgUnitService;
+import app.cluttermap.service.ProjectVersionService;
 import app.cluttermap.service.RoomService;
 import app.cluttermap.service.SecurityService;
 import app.cluttermap.util.ResourceType;
@@ -68,6 +70,9 @@ class OrgUnitControllerTests {
     @MockBean
     private SecurityService securityService;
 
+    @MockBean
+    private ProjectVersionService projectVersionService;
+
     private User mockUser;
     private Project mockProject;
     private Room mockRoom;
@@ -158,11 +163,10 @@ class OrgUnitControllerTests {
     @Test
     void getOrgUnitItems_ShouldReturnItems_WhenOrgUnitExists() throws Exception {
         // Arrange: Set up a orgUnit with an item and mock the service to return the
-        // orgUnit
+        // item
         OrgUnit orgUnit = new TestDataFactory.OrgUnitBuilder().project(mockProject).build();
         Item item = new TestDataFactory.ItemBuilder().orgUnit(orgUnit).build();
-        orgUnit.setItems(Collections.singletonList(item));
-        when(orgUnitService.getOrgUnitById(1L)).thenReturn(orgUnit);
+        when(itemService.getItemsByOrgUnitId(1L)).thenReturn(List.of(new ItemDTO(item)));
 
         // Act: Perform a GET request to the /org-units/1/org-units endpoint
         mockMvc.perform(get("/org-units/1/items"))
@@ -172,15 +176,15 @@ class OrgUnitControllerTests {
                 .andExpect(jsonPath("$[0].name").value(item.getName()))
                 .andExpect(jsonPath("$[0].description").value(item.getDescription()));
 
-        // Assert: Ensure the service method was called to retrieve the orgUnit by ID
-        verify(orgUnitService).getOrgUnitById(1L);
+        // Assert: Ensure the service method was called to retrieve the orgUnit's items
+        verify(itemService).getItemsByOrgUnitId(1L);
     }
 
     @Test
     void getOrgUnitItems_ShouldReturnNotFound_WhenOrgUnitDoesNotExist() throws Exception {
         // Arrange: Mock the service to throw OrgUnitNotFoundException when retrieving
-        // orgUnits for a non-existent orgUnit
-        when(orgUnitService.getOrgUnitById(1L))
+        // items for a non-existent orgUnit
+        when(itemService.getItemsByOrgUnitId(1L))
                 .thenThrow(new ResourceNotFoundException(ResourceType.ORGANIZATIONAL_UNIT, 1L));
 
         // Act: Perform a GET request to the /org-units/1/org-units endpoint
@@ -189,8 +193,8 @@ class OrgUnitControllerTests {
                 .andExpect(content().string("ORGANIZATIONAL_UNIT with ID 1 not found."));
 
         // Assert: Ensure the service method was called to attempt to retrieve the
-        // orgUnit
-        verify(orgUnitService).getOrgUnitById(1L);
+        // items
+        verify(itemService).getItemsByOrgUnitId(1L);
     }
 
     @Test
@@ -5,12 +5,14 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,6 +30,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.WebRequest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -38,11 +41,14 @@ import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewProjectDTO;
+import app.cluttermap.model.dto.ProjectDTO;
 import app.cluttermap.model.dto.UpdateProjectDTO;
 import app.cluttermap.service.ItemService;
 import app.cluttermap.service.OrgUnitService;
 import app.cluttermap.service.ProjectService;
+import app.cluttermap.service.ProjectVersionService;
 import app.cluttermap.service.SecurityService;
 import app.cluttermap.util.ResourceType;
 
@@ -67,6 +73,9 @@ class ProjectControllerTests {
     @MockBean
     private SecurityService securityService;
 
+    @MockBean
+    private ProjectVersionService projectVersionService;
+
     private User mockUser;
 
     @BeforeEach
@@ -84,7 +93,7 @@ class ProjectControllerTests {
         // Arrange: Set up mock user projects and mock the service to return them
         Project project1 = new TestDataFactory.ProjectBuilder().user(mockUser).build();
         Project project2 = new TestDataFactory.ProjectBuilder().user(mockUser).build();
-        when(projectService.getUserProjects()).thenReturn(List.of(project1, project2));
+        when(projectService.getUserProjectDTOs()).thenReturn(List.of(new ProjectDTO(project1), new ProjectDTO(project2)));
 
         // Act: Perform a GET request to the /projects endpoint
         mockMvc.perform(get("/projects"))
@@ -95,13 +104,13 @@ class ProjectControllerTests {
                 .andExpect(jsonPath("$.length()").value(2));
 
         // Assert: Ensure that the service method was called
-        verify(projectService).getUserProjects();
+        verify(projectService).getUserProjectDTOs();
     }
 
     @Test
     void getUserProjects_ShouldReturnEmptyList_WhenNoProjectsExist() throws Exception {
         // Arrange: Set up the service to return an empty list
-        when(projectService.getUserProjects()).thenReturn(Collections.emptyList());
+        when(projectService.getUserProjectDTOs()).thenReturn(Collections.emptyList());
 
         // Act: Perform a GET request to the /projects endpoint
         mockMvc.perform(get("/projects"))
@@ -111,7 +120,7 @@ class ProjectControllerTests {
                 .andExpect(jsonPath("$").isEmpty());
 
         // Assert: Ensure that the service method was called
-        verify(projectService).getUserProjects();
+        verify(projectService).getUserProjectDTOs();
     }
 
     @Test
@@ -119,7 +128,7 @@ class ProjectControllerTests {
         // Arrange: Set up a mock project and stub the service to return it when
         // searched by ID
         Project project = new TestDataFactory.ProjectBuilder().name("Test Project").user(mockUser).build();
-        when(projectService.getProjectById(1L)).thenReturn(project);
+        when(projectService.getProjectDTOById(1L)).thenReturn(new ProjectDTO(project));
 
         // Act: Perform a GET request to the /projects/1 endpoint
         mockMvc.perform(get("/projects/1"))
@@ -128,14 +137,47 @@ class ProjectControllerTests {
                 .andExpect(jsonPath("$.name").value("Test Project"));
 
         // Assert: Ensure that the service method was called
-        verify(projectService).getProjectById(1L);
+        verify(projectService).getProjectDTOById(1L);
+    }
+
+    @Test
+    void getOneProject_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Arrange: Let the version check compare the client's ETag with the
+        // project's current one
+        when(projectVersionService.checkNotModified(eq(ResourceType.PROJECT), eq(1L), any(WebRequest.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2, WebRequest.class).checkNotModified("\"p1\""));
+
+        // Act: Perform a conditional GET request with the current ETag
+        mockMvc.perform(get("/projects/1").header("If-None-Match", "\"p1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"p1\""))
+                .andExpect(content().string(""));
+
+        // Assert: Ensure that the project was never loaded
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void getProjects_ShouldReturnProjects_WhenETagIsStale() throws Exception {
+        // Arrange: The client holds an ETag from before the last change
+        when(projectVersionService.checkNotModified(any(WebRequest.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, WebRequest.class).checkNotModified("\"u1-2\""));
+        when(projectService.getUserProjectDTOs()).thenReturn(Collections.emptyList());
+
+        // Act: Perform a conditional GET request with the old ETag
+        mockMvc.perform(get("/projects").header("If-None-Match", "\"u1-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"u1-2\""));
+
+        // Assert: Ensure that the projects were loaded
+        verify(projectService).getUserProjectDTOs();
     }
 
     @Test
     void getOneProject_ShouldReturnNotFound_WhenProjectDoesNotExist() throws Exception {
         // Arrange: Mock the service to throw ProjectNotFoundException when a
         // non-existent project ID is requested
-        when(projectService.getProjectById(1L)).thenThrow(new ResourceNotFoundException(ResourceType.PROJECT, 1L));
+        when(projectService.getProjectDTOById(1L)).thenThrow(new ResourceNotFoundException(ResourceType.PROJECT, 1L));
 
         // Act: Perform a GET request to the /projects/1 endpoint
         mockMvc.perform(get("/projects/1"))
@@ -143,7 +185,7 @@ class ProjectControllerTests {
                 .andExpect(content().string("PROJECT with ID 1 not found."));
 
         // Assert: Ensure that the service method was called
-        verify(projectService).getProjectById(1L);
+        verify(projectService).getProjectDTOById(1L);
     }
 
     @Test
@@ -220,12 +262,11 @@ class ProjectControllerTests {
 
     @Test
     void getProjectItems_ShouldReturnItems_WhenProjectExists() throws Exception {
-        // Arrange: Set up a project with a room and mock the service to return the
-        // project
+        // Arrange: Set up a project with an item and mock the service to return the
+        // item
         Project project = new TestDataFactory.ProjectBuilder().user(mockUser).build();
         Item item = new TestDataFactory.ItemBuilder().project(project).build();
-        project.setItems(Collections.singletonList(item));
-        when(projectService.getProjectById(1L)).thenReturn(project);
+        when(itemService.getItemsByProjectId(1L)).thenReturn(List.of(new ItemDTO(item)));
 
         // Act: Perform a GET request to the /projects/1/items endpoint
         mockMvc.perform(get("/projects/1/items"))
@@ -234,15 +275,15 @@ class ProjectControllerTests {
                 // Assert: Verify the response contains the expected item name
                 .andExpect(jsonPath("$[0].name").value(item.getName()));
 
-        // Assert: Ensure the service method was called to retrieve the project by ID
-        verify(projectService).getProjectById(1L);
+        // Assert: Ensure the service method was called to retrieve the project's items
+        verify(itemService).getItemsByProjectId(1L);
     }
 
     @Test
     void getProjectItems_ShouldReturnNotFound_WhenProjectDoesNotExist() throws Exception {
         // Arrange: Mock the service to throw ProjectNotFoundException when retrieving
-        // rooms for a non-existent project
-        when(projectService.getProjectById(1L)).thenThrow(new ResourceNotFoundException(ResourceType.PROJECT, 1L));
+        // items for a non-existent project
+        when(itemService.getItemsByProjectId(1L)).thenThrow(new ResourceNotFoundException(ResourceType.PROJECT, 1L));
 
         // Act: Perform a GET request to the /projects/1/items endpoint
         mockMvc.perform(get("/projects/1/items"))
@@ -250,8 +291,8 @@ class ProjectControllerTests {
                 .andExpect(content().string("PROJECT with ID 1 not found."));
 
         // Assert: Ensure the service method was called to attempt to retrieve the
-        // project
-        verify(projectService).getProjectById(1L);
+        // items
+        verify(itemService).getItemsByProjectId(1L);
     }
 
     @Test
@@ -301,7 +342,7 @@ class ProjectControllerTests {
         Project project = new TestDataFactory.ProjectBuilder().user(mockUser).build();
         Long projectId = 1L;
         Item unassignedItem = new TestDataFactory.ItemBuilder().project(project).build();
-        when(itemService.getUnassignedItemsByProjectId(projectId)).thenReturn(List.of(unassignedItem));
+        when(itemService.getUnassignedItemsByProjectId(projectId)).thenReturn(List.of(new ItemDTO(unassignedItem)));
 
         // Act & Assert: Perform the GET request on the new path and verify status 200
         // OK and correct data
@@ -40,6 +40,7 @@ import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewRoomDTO;
 import app.cluttermap.model.dto.UpdateRoomDTO;
 import app.cluttermap.service.OrgUnitService;
+import app.cluttermap.service.ProjectVersionService;
 import app.cluttermap.service.RoomService;
 import app.cluttermap.service.SecurityService;
 import app.cluttermap.util.ResourceType;
@@ -62,6 +63,9 @@ class RoomControllerTests {
     @MockBean
     private SecurityService securityService;
 
+    @MockBean
+    private ProjectVersionService projectVersionService;
+
     private User mockUser;
 
     private Project mockProject;
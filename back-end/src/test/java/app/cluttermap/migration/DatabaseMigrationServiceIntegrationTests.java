@@ -0,0 +1,234 @@
+package app.cluttermap.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.cluttermap.EnableTestcontainers;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class DatabaseMigrationServiceIntegrationTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabaseMigrationService databaseMigrationService;
+
+    @Test
+    void migrateDatabase_ShouldCreateManagedIndexes() {
+        // Act: Read the indexes that exist after startup
+        List<String> indexNames = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class);
+
+        // Assert: Every managed index was created
+        assertThat(indexNames).containsAll(DatabaseMigrationService.MANAGED_INDEXES.keySet());
+    }
+
+    @Test
+    void migrateDatabase_ShouldPartitionEventStoreWithRows_FromSchemaBeforePartitioning() {
+        // Arrange: The event store as Hibernate created it before partitioning,
+        // without event_timestamp or project_id on event entities, holding
+        // changes from two months
+        jdbcTemplate.execute("DROP TABLE event_entities, events CASCADE");
+        jdbcTemplate.execute("""
+                CREATE TABLE events (
+                    id BIGINT PRIMARY KEY,
+                    action VARCHAR(255) NOT NULL,
+                    timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    project_id BIGINT NOT NULL,
+                    user_id BIGINT
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE event_entities (
+                    id BIGINT PRIMARY KEY,
+                    change VARCHAR(255) NOT NULL,
+                    details TEXT,
+                    entity_id BIGINT NOT NULL,
+                    entity_type VARCHAR(255) NOT NULL,
+                    event_id BIGINT NOT NULL REFERENCES events (id)
+                )
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO events (id, action, timestamp, project_id) VALUES
+                    (900001, 'CREATE', '2019-03-10T12:00:00Z', 7),
+                    (900002, 'UPDATE', '2019-04-20T12:00:00Z', 7)
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO event_entities (id, change, details, entity_id, entity_type, event_id) VALUES
+                    (900001, 'CREATE', '{"name":"Box"}', 1, 'ITEM', 900001),
+                    (900002, 'ADD_CHILD', '{"childId":1,"childType":"ITEM"}', 2, 'ORGANIZATIONAL_UNIT', 900001),
+                    (900003, 'UPDATE', '{"name":"Crate"}', 1, 'ITEM', 900002)
+                """);
+
+        try {
+            // Act
+            databaseMigrationService.migrateDatabase();
+
+            // Assert: Both tables are partitioned, and every row kept, carrying its
+            // event's timestamp and project into its month's partition
+            assertThat(jdbcTemplate.queryForList("""
+                    SELECT relkind::TEXT FROM pg_class
+                    WHERE oid IN ('events'::regclass, 'event_entities'::regclass)
+                    """, String.class)).containsExactly("p", "p");
+            assertThat(jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM event_entities ee
+                    JOIN events e ON e.id = ee.event_id
+                    WHERE ee.event_timestamp = e.timestamp AND ee.project_id = 7
+                    """, Long.class)).isEqualTo(3L);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_entities_p201903", Long.class)).isEqualTo(2L);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_entities_p201904", Long.class)).isEqualTo(1L);
+            assertThat(jdbcTemplate.queryForObject("""
+                    SELECT is_nullable FROM information_schema.columns
+                    WHERE table_name = 'event_entities' AND column_name = 'event_timestamp'
+                    """, String.class)).isEqualTo("NO");
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS event_entities_p201903, event_entities_p201904");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS events_p201903, events_p201904");
+            jdbcTemplate.execute("DELETE FROM entity_timeline WHERE id > 900000");
+        }
+    }
+
+    @Test
+    void findHistoryByEntity_ShouldUseEntityIndex() {
+        String plan = explain("""
+                SELECT ee.id FROM event_entities ee
+                JOIN events e ON e.id = ee.event_id
+                WHERE ee.entity_type = 'ITEM' AND ee.entity_id = 1
+                ORDER BY e.timestamp DESC
+                """);
+
+        assertUsesIndex(plan, "idx_event_entities_entity");
+    }
+
+    @Test
+    void timelineHistoryByEntity_ShouldUseTimelineIndex() {
+        String plan = explain("""
+                SELECT t.id FROM entity_timeline t
+                WHERE t.entity_type = 'ITEM' AND t.entity_id = 1
+                ORDER BY t.ts DESC, t.seq DESC
+                LIMIT 11
+                """);
+
+        assertUsesIndex(plan, "idx_entity_timeline_entity");
+    }
+
+    @Test
+    void findAllEventsInProject_ShouldUseProjectTimestampIndex() {
+        String plan = explain("""
+                SELECT e.id FROM events e
+                WHERE e.project_id = 1
+                ORDER BY e.timestamp DESC
+                """);
+
+        assertUsesIndex(plan, "idx_events_project_timestamp");
+    }
+
+    @Test
+    void findChangesSince_ShouldUseProjectTimestampIndex() {
+        String plan = explain("""
+                SELECT e.id FROM events e
+                WHERE e.project_id IN (1, 2) AND e.timestamp > NOW() - INTERVAL '1 day'
+                ORDER BY e.timestamp
+                """);
+
+        assertUsesIndex(plan, "idx_events_project_timestamp");
+    }
+
+    @Test
+    void findChangePositionsAfter_ShouldUseProjectChangeLogIndex() {
+        String plan = explain("""
+                SELECT ee.id FROM event_entities ee
+                WHERE ee.project_id = 1
+                AND (ee.tx_id, ee.change_seq) > ('0'::xid8, 0)
+                ORDER BY ee.tx_id, ee.change_seq
+                LIMIT 10
+                """);
+
+        assertUsesIndex(plan, "idx_event_entities_project_tx_change_seq");
+    }
+
+    @Test
+    void findChildChangeIds_ShouldUseDetailsIndex() {
+        String plan = explain("""
+                SELECT ee.id FROM event_entities ee
+                WHERE ee.details @> jsonb_build_object('childType', 'ITEM', 'childId', 7)
+                """);
+
+        assertUsesIndex(plan, "idx_event_entities_details");
+    }
+
+    @Test
+    void itemsByProjectAndOrgUnit_ShouldUseProjectOrgUnitIndex() {
+        String plan = explain("SELECT i.id FROM items i WHERE i.project_id = 1 AND i.org_unit_id = 2");
+
+        assertUsesIndex(plan, "idx_items_project_org_unit");
+    }
+
+    @Test
+    void orgUnitsByProjectAndRoom_ShouldUseProjectRoomIndex() {
+        String plan = explain("SELECT o.id FROM org_units o WHERE o.project_id = 1 AND o.room_id = 2");
+
+        assertUsesIndex(plan, "idx_org_units_project_room");
+    }
+
+    @Test
+    void findUpdatedProjectIds_ShouldUseOwnerLastUpdatedIndex() {
+        String plan = explain("""
+                SELECT p.id FROM projects p
+                WHERE p.owner_id = 1 AND p.last_updated > NOW() - INTERVAL '1 day'
+                """);
+
+        assertUsesIndex(plan, "idx_projects_owner_last_updated");
+    }
+
+    /*
+     * On the partitioned event tables the plan names the partitions' copies of
+     * the index, which Postgres names after each partition.
+     */
+    private void assertUsesIndex(String plan, String indexName) {
+        List<String> names = new ArrayList<>(jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, String.class, indexName));
+        names.add(indexName);
+
+        assertThat(names).anyMatch(plan::contains);
+    }
+
+    /*
+     * The test tables are nearly empty, so the planner would rather scan them.
+     * Turning sequential scans off for the transaction shows which index it
+     * would pick once the tables have grown.
+     */
+    private String explain(String sql) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)
+                    .stream()
+                    .collect(Collectors.joining("\n"));
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package app.cluttermap.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.EventPartitions;
+import app.cluttermap.TestDataFactory;
+import app.cluttermap.model.EntityTimelineEntry;
+import app.cluttermap.model.Event;
+import app.cluttermap.model.EventEntity;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.User;
+import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class EntityTimelineRepositoryIntegrationTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventEntityRepository eventEntityRepository;
+
+    @Autowired
+    private EntityTimelineRepository entityTimelineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User mockUser;
+    private Project mockProject;
+
+    @BeforeEach
+    void setUp() {
+        EventPartitions.createFor(jdbcTemplate, Instant.parse("2025-01-01T00:00:00Z"));
+
+        entityTimelineRepository.deleteAll();
+        eventEntityRepository.deleteAll();
+        eventRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        mockUser = new User("mockProviderId");
+        mockUser.setUsername("mockUser");
+        userRepository.save(mockUser);
+
+        mockProject = projectRepository
+                .save(new TestDataFactory.ProjectBuilder().name("Test Project").user(mockUser).build());
+    }
+
+    @Test
+    void findHistoryByEntity_ShouldReturnNewestFirstWithoutCount() {
+        // Arrange: Three changes to the same item, one day apart
+        logChange(ResourceType.ITEM, 1L, EventChangeType.CREATE, Instant.parse("2025-01-01T10:00:00Z"));
+        logChange(ResourceType.ITEM, 1L, EventChangeType.UPDATE, Instant.parse("2025-01-02T10:00:00Z"));
+        logChange(ResourceType.ITEM, 1L, EventChangeType.UPDATE, Instant.parse("2025-01-03T10:00:00Z"));
+
+        // Act
+        Slice<EntityHistoryDTO> firstSlice = entityTimelineRepository.findHistoryByEntity(
+                ResourceType.ITEM, 1L, PageRequest.of(0, 2));
+        Slice<EntityHistoryDTO> secondSlice = entityTimelineRepository.findHistoryByEntity(
+                ResourceType.ITEM, 1L, PageRequest.of(1, 2));
+
+        // Assert: Newest change first, with the user copied in at write time
+        assertThat(firstSlice.getContent()).hasSize(2);
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(firstSlice.getContent().get(0).getTimestamp()).isEqualTo(Instant.parse("2025-01-03T10:00:00Z"));
+        assertThat(firstSlice.getContent().get(0).getUserName()).isEqualTo("mockUser");
+
+        assertThat(secondSlice.getContent()).hasSize(1);
+        assertThat(secondSlice.hasNext()).isFalse();
+        assertThat(secondSlice.getContent().get(0).getAction()).isEqualTo(EventChangeType.CREATE);
+    }
+
+    @Test
+    void findHistoryByEntity_ShouldOnlyReturnRowsForSpecifiedEntity() {
+        // Arrange
+        logChange(ResourceType.ITEM, 1L, EventChangeType.CREATE, Instant.parse("2025-01-01T10:00:00Z"));
+        logChange(ResourceType.ITEM, 2L, EventChangeType.CREATE, Instant.parse("2025-01-01T10:00:00Z"));
+        logChange(ResourceType.ROOM, 1L, EventChangeType.CREATE, Instant.parse("2025-01-01T10:00:00Z"));
+
+        // Act
+        Slice<EntityHistoryDTO> results = entityTimelineRepository.findHistoryByEntity(
+                ResourceType.ITEM, 1L, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(results.getContent()).hasSize(1);
+        assertThat(results.getContent().get(0).getEntityType()).isEqualTo(ResourceType.ITEM);
+        assertThat(results.getContent().get(0).getEntityId()).isEqualTo(1L);
+    }
+
+    private void logChange(ResourceType entityType, Long entityId, EventChangeType change, Instant timestamp) {
+        Event event = new Event(change, mockProject, mockUser).timestamp(timestamp);
+        EventEntity eventEntity = new EventEntity(event, entityType, entityId, change, "{}");
+        event.addEventEntity(eventEntity);
+        eventRepository.save(event);
+
+        entityTimelineRepository.save(new EntityTimelineEntry(eventEntity));
+    }
+}
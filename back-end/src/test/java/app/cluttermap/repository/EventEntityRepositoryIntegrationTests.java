@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,15 +15,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.EventPartitions;
 import app.cluttermap.TestDataFactory;
 import app.cluttermap.model.Event;
 import app.cluttermap.model.EventEntity;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.repository.projection.ChangePositionProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
@@ -45,11 +49,17 @@ public class EventEntityRepositoryIntegrationTests {
     @Autowired
     private EventEntityRepository eventEntityRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User mockUser;
     private Project mockProject;
 
     @BeforeEach
     void setUp() {
+        // Changes are logged up to a few days back, possibly last month
+        EventPartitions.createFor(jdbcTemplate, Instant.now().minus(Duration.ofDays(31)));
+
         eventEntityRepository.deleteAll();
         eventRepository.deleteAll();
         projectRepository.deleteAll();
@@ -71,7 +81,7 @@ public class EventEntityRepositoryIntegrationTests {
                 createEvent,
                 ResourceType.ROOM, 1L,
                 EventChangeType.CREATE,
-                "");
+                "{}");
         createEvent.addEventEntity(createEventEntity);
         eventRepository.save(createEvent);
 
@@ -81,7 +91,7 @@ public class EventEntityRepositoryIntegrationTests {
                     updateEvent,
                     ResourceType.ROOM, 1L,
                     EventChangeType.UPDATE,
-                    "");
+                    "{}");
             updateEvent.addEventEntity(updateEventEntity);
             eventRepository.save(updateEvent);
         }
@@ -105,17 +115,17 @@ public class EventEntityRepositoryIntegrationTests {
     void findByEntityTypeAndEntityId_ShouldOnlyReturnEventsForSpecifiedEntity() {
         // Arrange: Create events and associated EventEntities for different entities
         Event event1 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.ROOM, 1L, EventChangeType.CREATE, "");
+        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.ROOM, 1L, EventChangeType.CREATE, "{}");
         event1.addEventEntity(entityEvent1);
         eventRepository.save(event1);
 
         Event event2 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ITEM, 2L, EventChangeType.CREATE, "");
+        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ITEM, 2L, EventChangeType.CREATE, "{}");
         event2.addEventEntity(entityEvent2);
         eventRepository.save(event2);
 
         Event event3 = new Event(EventChangeType.UPDATE, mockProject, mockUser);
-        EventEntity entityEvent3 = new EventEntity(event3, ResourceType.ROOM, 3L, EventChangeType.UPDATE, "");
+        EventEntity entityEvent3 = new EventEntity(event3, ResourceType.ROOM, 3L, EventChangeType.UPDATE, "{}");
         event3.addEventEntity(entityEvent3);
         eventRepository.save(event3);
 
@@ -136,7 +146,7 @@ public class EventEntityRepositoryIntegrationTests {
         // Arrange: Create multiple Events with the same ResourceType and entityId
         for (int i = 0; i < 3; i++) {
             Event event = new Event(EventChangeType.UPDATE, mockProject, mockUser);
-            EventEntity entity = new EventEntity(event, ResourceType.ROOM, 1L, EventChangeType.UPDATE, "");
+            EventEntity entity = new EventEntity(event, ResourceType.ROOM, 1L, EventChangeType.UPDATE, "{}");
             event.addEventEntity(entity);
             eventRepository.save(event);
         }
@@ -157,7 +167,7 @@ public class EventEntityRepositoryIntegrationTests {
     void findByEntityTypeAndEntityId_ShouldReturnEmptyWhenNoMatches() {
         // Arrange: Create and save an Event with a non-matching EventEntity
         Event event = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entity = new EventEntity(event, ResourceType.ITEM, 2L, EventChangeType.CREATE, "");
+        EventEntity entity = new EventEntity(event, ResourceType.ITEM, 2L, EventChangeType.CREATE, "{}");
         event.addEventEntity(entity);
         eventRepository.save(event);
 
@@ -173,8 +183,8 @@ public class EventEntityRepositoryIntegrationTests {
     void orphanRemoval_ShouldDeleteEventEntitiesWhenParentEventIsDeleted() {
         // Arrange: Create and save an Event with EventEntities
         Event event = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent1 = new EventEntity(event, ResourceType.ROOM, 1L, EventChangeType.CREATE, "");
-        EventEntity entityEvent2 = new EventEntity(event, ResourceType.ITEM, 2L, EventChangeType.CREATE, "");
+        EventEntity entityEvent1 = new EventEntity(event, ResourceType.ROOM, 1L, EventChangeType.CREATE, "{}");
+        EventEntity entityEvent2 = new EventEntity(event, ResourceType.ITEM, 2L, EventChangeType.CREATE, "{}");
         event.addEventEntity(entityEvent1);
         event.addEventEntity(entityEvent2);
         eventRepository.save(event);
@@ -190,17 +200,17 @@ public class EventEntityRepositoryIntegrationTests {
     void findChangesSince_ShouldReturnAllChanges() {
         // Arrange: Create multiple events with associated EventEntities
         Event event1 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "");
+        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "{}");
         event1.addEventEntity(entityEvent1);
         eventRepository.save(event1);
 
         Event event2 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 1L, EventChangeType.CREATE, "");
+        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 1L, EventChangeType.CREATE, "{}");
         event2.addEventEntity(entityEvent2);
         eventRepository.save(event2);
 
         Event event3 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent3 = new EventEntity(event3, ResourceType.ROOM, 2L, EventChangeType.UPDATE, "");
+        EventEntity entityEvent3 = new EventEntity(event3, ResourceType.ROOM, 2L, EventChangeType.UPDATE, "{}");
         event3.addEventEntity(entityEvent3);
         eventRepository.save(event3);
 
@@ -220,14 +230,14 @@ public class EventEntityRepositoryIntegrationTests {
 
         // Event 1 (older than "since" timestamp)
         Event event1 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "");
+        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "{}");
         event1.addEventEntity(entityEvent1);
         event1.setTimestamp(timestamp1);
         eventRepository.save(event1);
 
         // Event 2 (newer than "since" timestamp)
         Event event2 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 2L, EventChangeType.CREATE, "");
+        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 2L, EventChangeType.CREATE, "{}");
         event2.addEventEntity(entityEvent2);
         event2.setTimestamp(timestamp2);
         eventRepository.save(event2);
@@ -251,13 +261,13 @@ public class EventEntityRepositoryIntegrationTests {
         Instant timestamp2 = Instant.now().minus(Duration.ofDays(2));
 
         Event event1 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "");
+        EventEntity entityEvent1 = new EventEntity(event1, ResourceType.PROJECT, 1L, EventChangeType.CREATE, "{}");
         event1.addEventEntity(entityEvent1);
         event1.setTimestamp(timestamp1);
         eventRepository.save(event1);
 
         Event event2 = new Event(EventChangeType.CREATE, mockProject, mockUser);
-        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 2L, EventChangeType.CREATE, "");
+        EventEntity entityEvent2 = new EventEntity(event2, ResourceType.ROOM, 2L, EventChangeType.CREATE, "{}");
         event2.addEventEntity(entityEvent2);
         event2.setTimestamp(timestamp2);
         eventRepository.save(event2);
@@ -321,10 +331,155 @@ public class EventEntityRepositoryIntegrationTests {
             assertThat(change.getEntityType()).isEqualTo(ResourceType.PROJECT);
             assertThat(change.getEntityId()).isEqualTo(1L);
             assertThat(change.getAction()).isEqualTo(EventChangeType.CREATE);
-            assertThat(change.getDetails()).isEqualTo("{\"field\":\"value\"}");
+            // Read back in JSONB's normalised form
+            assertThat(change.getDetails()).isEqualTo("{\"field\": \"value\"}");
         });
     }
 
+    @Test
+    void findChangePositionsAfter_ShouldPageThroughChangesInLogOrder() {
+        // Arrange: Commit three changes to the project and one to another project
+        for (long entityId = 1; entityId <= 3; entityId++) {
+            Event event = new Event(EventChangeType.CREATE, mockProject, mockUser);
+            event.addEventEntity(new EventEntity(event, ResourceType.ITEM, entityId, EventChangeType.CREATE, "{}"));
+            eventRepository.save(event);
+        }
+
+        Project otherProject = projectRepository
+                .save(new TestDataFactory.ProjectBuilder().name("Other Project").user(mockUser).build());
+        Event otherEvent = new Event(EventChangeType.CREATE, otherProject, mockUser);
+        otherEvent.addEventEntity(new EventEntity(otherEvent, ResourceType.ITEM, 4L, EventChangeType.CREATE, "{}"));
+        eventRepository.save(otherEvent);
+
+        // Act: Read the first page, then continue from its last position
+        List<ChangePositionProjection> firstPage = eventEntityRepository
+                .findChangePositionsAfter(List.of(mockProject.getId()), 0L, 0L, 2);
+        ChangePositionProjection last = firstPage.get(firstPage.size() - 1);
+        List<ChangePositionProjection> secondPage = eventEntityRepository
+                .findChangePositionsAfter(List.of(mockProject.getId()), last.getTxId(), last.getChangeSeq(), 2);
+
+        // Assert: Each change is returned exactly once, ordered by transaction then sequence
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).getTxId()).isLessThan(firstPage.get(1).getTxId());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getTxId()).isGreaterThan(last.getTxId());
+
+        List<Long> pagedIds = new ArrayList<>();
+        firstPage.forEach(position -> pagedIds.add(position.getId()));
+        secondPage.forEach(position -> pagedIds.add(position.getId()));
+        List<EventEntity> pagedEntities = eventEntityRepository.findWithEventByIdIn(pagedIds);
+        assertThat(pagedEntities)
+                .extracting(EventEntity::getEntityId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void existsChangeAfter_ShouldOnlyFindChangesPastTheCursor() {
+        // Arrange
+        Event event = new Event(EventChangeType.CREATE, mockProject, mockUser);
+        event.addEventEntity(new EventEntity(event, ResourceType.ITEM, 1L, EventChangeType.CREATE, "{}"));
+        eventRepository.save(event);
+
+        ChangePositionProjection last = eventEntityRepository
+                .findChangePositionsAfter(List.of(mockProject.getId()), 0L, 0L, 1).get(0);
+
+        // Act & Assert
+        assertThat(eventEntityRepository.existsChangeAfter(List.of(mockProject.getId()), 0L, 0L)).isTrue();
+        assertThat(eventEntityRepository
+                .existsChangeAfter(List.of(mockProject.getId()), last.getTxId(), last.getChangeSeq())).isFalse();
+    }
+
+    @Test
+    void findChangePositionsAfter_ShouldMergeProjectsInLogOrder() {
+        // Arrange: Changes committed alternately to two projects
+        Project otherProject = projectRepository
+                .save(new TestDataFactory.ProjectBuilder().name("Other Project").user(mockUser).build());
+        List<Long> entityIds = new ArrayList<>();
+        for (long entityId = 1; entityId <= 4; entityId++) {
+            Project project = entityId % 2 == 0 ? otherProject : mockProject;
+            Event event = new Event(EventChangeType.CREATE, project, mockUser);
+            EventEntity eventEntity = new EventEntity(event, ResourceType.ITEM, entityId, EventChangeType.CREATE, "{}");
+            event.addEventEntity(eventEntity);
+            eventRepository.save(event);
+            entityIds.add(eventEntity.getId());
+
+            // Assert: Each row carries its event's project
+            assertThat(eventEntity.getProjectId()).isEqualTo(project.getId());
+        }
+
+        // Act
+        List<ChangePositionProjection> page = eventEntityRepository
+                .findChangePositionsAfter(List.of(mockProject.getId(), otherProject.getId()), 0L, 0L, 3);
+
+        // Assert: The first three changes across both projects, in commit order
+        assertThat(page)
+                .extracting(ChangePositionProjection::getId)
+                .containsExactlyElementsOf(entityIds.subList(0, 3));
+    }
+
+    @Test
+    void findChildChangeIds_ShouldMatchOnDetails_NewestFirst() {
+        // Arrange: Item 7 added to org unit 1, moved to org unit 2; item 8 added to org unit 1
+        Instant now = Instant.now();
+        Long addedToFirst = logChange(ResourceType.ORGANIZATIONAL_UNIT, 1L, EventChangeType.ADD_CHILD,
+                "{\"childId\":7,\"childType\":\"ITEM\"}", now.minusSeconds(30));
+        Long removedFromFirst = logChange(ResourceType.ORGANIZATIONAL_UNIT, 1L, EventChangeType.REMOVE_CHILD,
+                "{\"childId\":7,\"childType\":\"ITEM\"}", now.minusSeconds(20));
+        Long addedToSecond = logChange(ResourceType.ORGANIZATIONAL_UNIT, 2L, EventChangeType.ADD_CHILD,
+                "{\"childId\":7,\"childType\":\"ITEM\"}", now.minusSeconds(20));
+        logChange(ResourceType.ORGANIZATIONAL_UNIT, 1L, EventChangeType.ADD_CHILD,
+                "{\"childId\":8,\"childType\":\"ITEM\"}", now.minusSeconds(10));
+
+        // Act
+        List<Long> ids = eventEntityRepository.findChildChangeIds("ITEM", 7L);
+
+        // Assert
+        assertThat(ids).containsExactly(addedToSecond, removedFromFirst, addedToFirst);
+    }
+
+    @Test
+    void findMoveIdsOutOfParent_ShouldOnlyMatchPreviousParent() {
+        // Arrange: One move out of org unit 1 and one into it
+        Instant now = Instant.now();
+        Long movedOut = logChange(ResourceType.ITEM, 7L, EventChangeType.MOVE,
+                "{\"previousParentId\":1,\"newParentId\":2,\"parentType\":\"ORGANIZATIONAL_UNIT\"}",
+                now.minusSeconds(20));
+        logChange(ResourceType.ITEM, 8L, EventChangeType.MOVE,
+                "{\"previousParentId\":2,\"newParentId\":1,\"parentType\":\"ORGANIZATIONAL_UNIT\"}",
+                now.minusSeconds(10));
+
+        // Act
+        List<Long> ids = eventEntityRepository.findMoveIdsOutOfParent("ORGANIZATIONAL_UNIT", 1L);
+
+        // Assert
+        assertThat(ids).containsExactly(movedOut);
+    }
+
+    @Test
+    void findChildAddedIdsSince_ShouldSkipOlderChanges() {
+        // Arrange
+        Instant now = Instant.now();
+        logChange(ResourceType.ROOM, 1L, EventChangeType.ADD_CHILD,
+                "{\"childId\":3,\"childType\":\"ORGANIZATIONAL_UNIT\"}", now.minus(Duration.ofDays(10)));
+        Long recent = logChange(ResourceType.ROOM, 1L, EventChangeType.ADD_CHILD,
+                "{\"childId\":4,\"childType\":\"ORGANIZATIONAL_UNIT\"}", now.minus(Duration.ofDays(1)));
+
+        // Act
+        List<Long> ids = eventEntityRepository.findChildAddedIdsSince("ROOM", 1L, now.minus(Duration.ofDays(7)));
+
+        // Assert
+        assertThat(ids).containsExactly(recent);
+    }
+
+    private Long logChange(ResourceType entityType, Long entityId, EventChangeType change, String details,
+            Instant timestamp) {
+        Event event = new Event(change, mockProject, mockUser).timestamp(timestamp);
+        EventEntity eventEntity = new EventEntity(event, entityType, entityId, change, details);
+        event.addEventEntity(eventEntity);
+        eventRepository.save(event);
+        return eventEntity.getId();
+    }
+
     protected Pageable createPageable(int page, int size) {
         return PageRequest.of(page, size);
     }
@@ -15,9 +15,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.EventPartitions;
 import app.cluttermap.TestDataFactory;
 import app.cluttermap.model.Event;
 import app.cluttermap.model.Project;
@@ -40,11 +42,17 @@ public class EventRepositoryIntegrationTests {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User mockUser;
     private Project mockProject;
 
     @BeforeEach
     void setUp() {
+        // Changes are logged up to a few days back, possibly last month
+        EventPartitions.createFor(jdbcTemplate, Instant.now().minus(Duration.ofDays(31)));
+
         eventRepository.deleteAll();
         projectRepository.deleteAll();
         userRepository.deleteAll();
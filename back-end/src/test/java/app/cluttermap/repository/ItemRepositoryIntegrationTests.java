@@ -1,8 +1,10 @@
 package app.cluttermap.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +18,11 @@ import app.cluttermap.TestDataFactory;
 import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
+import app.cluttermap.repository.projection.ResourceOwnerProjection;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 
 @SpringBootTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -30,6 +36,9 @@ public class ItemRepositoryIntegrationTests {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private RoomRepository roomRepository;
+
     @Autowired
     private OrgUnitRepository orgUnitRepository;
 
@@ -127,6 +136,124 @@ public class ItemRepositoryIntegrationTests {
         assertThat(unassignedItems).isEmpty();
     }
 
+    @Test
+    void findOwnerIdById_ShouldReturnOwnerOfItemsProject() {
+        // Arrange: Create an item in a project owned by a user
+        User owner = createUserAndSave();
+        Project project = createProjectWithUserAndSave(owner);
+        Item item = createItemInProjectAndSave(project);
+
+        // Act & Assert: Only the owner ID is returned
+        assertThat(itemRepository.findOwnerIdById(item.getId())).contains(owner.getId());
+        assertThat(itemRepository.findOwnerIdById(999L)).isEmpty();
+    }
+
+    @Test
+    void findOwnerIdsByIdIn_ShouldReturnOwnerForEachExistingItem() {
+        // Arrange: Set up two users, each with their own project and item
+        User user1 = createUserAndSave();
+        Item item1 = createItemInProjectAndSave(createProjectWithUserAndSave(user1));
+
+        User user2 = createUserAndSave();
+        Item item2 = createItemInProjectAndSave(createProjectWithUserAndSave(user2));
+
+        // Act: Include an ID that does not exist
+        List<ResourceOwnerProjection> rows = itemRepository
+                .findOwnerIdsByIdIn(List.of(item1.getId(), item2.getId(), 999L));
+
+        // Assert: One row per existing item, paired with its owner
+        assertThat(rows)
+                .extracting(ResourceOwnerProjection::getId, ResourceOwnerProjection::getOwnerId)
+                .containsExactlyInAnyOrder(
+                        tuple(item1.getId(), user1.getId()),
+                        tuple(item2.getId(), user2.getId()));
+    }
+
+    @Test
+    void findPlacementsByIdIn_ShouldReturnProjectAndOrgUnitForEachExistingItem() {
+        // Arrange: One unassigned item and one item in an org unit
+        Project project = createProjectWithUserAndSave();
+        Item unassignedItem = createItemInProjectAndSave(project);
+        OrgUnit orgUnit = createOrgUnitInProjectAndSave(project);
+        Item assignedItem = createItemInOrgUnitAndSave(orgUnit);
+
+        // Act: Include an ID that does not exist
+        List<ResourcePlacementProjection> rows = itemRepository
+                .findPlacementsByIdIn(List.of(unassignedItem.getId(), assignedItem.getId(), 999L));
+
+        // Assert: The unassigned item has no parent
+        assertThat(rows)
+                .extracting(
+                        ResourcePlacementProjection::getId,
+                        ResourcePlacementProjection::getProjectId,
+                        ResourcePlacementProjection::getParentId)
+                .containsExactlyInAnyOrder(
+                        tuple(unassignedItem.getId(), project.getId(), null),
+                        tuple(assignedItem.getId(), project.getId(), orgUnit.getId()));
+    }
+
+    @Test
+    void findItemDTOsByProjectId_ShouldReturnItemsWithPlacement() {
+        // Arrange: One item in an org unit in a room, and one unassigned item
+        Project project = createProjectWithUserAndSave();
+        Room room = roomRepository.save(new TestDataFactory.RoomBuilder().id(null).project(project).build());
+        OrgUnit orgUnit = orgUnitRepository
+                .save(new TestDataFactory.OrgUnitBuilder().id(null).room(room).build());
+        Item assignedItem = createItemInOrgUnitAndSave(orgUnit);
+        Item unassignedItem = createItemInProjectAndSave(project);
+
+        // Act
+        List<ItemDTO> items = itemRepository.findItemDTOsByProjectId(project.getId());
+
+        // Assert: Placement comes from the joined rows, in ID order
+        assertThat(items)
+                .extracting(ItemDTO::getId, ItemDTO::getOrgUnitId, ItemDTO::getRoomId, ItemDTO::getRoomName,
+                        ItemDTO::getProjectId)
+                .containsExactly(
+                        tuple(assignedItem.getId(), Optional.of(orgUnit.getId()), Optional.of(room.getId()),
+                                Optional.of(room.getName()), project.getId()),
+                        tuple(unassignedItem.getId(), Optional.empty(), Optional.empty(), Optional.empty(),
+                                project.getId()));
+        assertThat(items.get(0).getTags()).isEqualTo(assignedItem.getTags());
+
+        // Assert: The org unit and unassigned views split the same rows
+        assertThat(itemRepository.findItemDTOsByOrgUnitId(orgUnit.getId()))
+                .extracting(ItemDTO::getId)
+                .containsExactly(assignedItem.getId());
+        assertThat(itemRepository.findUnassignedItemDTOsByProjectId(project.getId()))
+                .extracting(ItemDTO::getId)
+                .containsExactly(unassignedItem.getId());
+    }
+
+    @Test
+    void assignOrgUnitByIdIn_ShouldMoveOnlyGivenItems() {
+        // Arrange: Two items in one org unit and an empty target
+        Project project = createProjectWithUserAndSave();
+        OrgUnit source = createOrgUnitInProjectAndSave(project);
+        OrgUnit target = createOrgUnitInProjectAndSave(project);
+        Item movedItem = createItemInOrgUnitAndSave(source);
+        Item untouchedItem = createItemInOrgUnitAndSave(source);
+
+        // Act
+        int updated = itemRepository.assignOrgUnitByIdIn(target.getId(), List.of(movedItem.getId()));
+
+        // Assert: Only the given item points at the target
+        assertThat(updated).isEqualTo(1);
+        assertThat(itemRepository.findAllWithPlacementByIdIn(List.of(movedItem.getId(), untouchedItem.getId())))
+                .extracting(Item::getId, item -> item.getOrgUnit().getId())
+                .containsExactlyInAnyOrder(
+                        tuple(movedItem.getId(), target.getId()),
+                        tuple(untouchedItem.getId(), source.getId()));
+
+        // Act: Clear the org unit again
+        itemRepository.clearOrgUnitByIdIn(List.of(movedItem.getId()));
+
+        // Assert: The item is unassigned but keeps its project
+        assertThat(itemRepository.findUnassignedItemsByProjectId(project.getId()))
+                .extracting(Item::getId)
+                .containsExactly(movedItem.getId());
+    }
+
     private User createUserAndSave() {
         User owner = userRepository.save(new User("ownerProviderId"));
         return owner;
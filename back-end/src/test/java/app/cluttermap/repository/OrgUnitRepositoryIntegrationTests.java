@@ -1,6 +1,7 @@
 package app.cluttermap.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.util.List;
 
@@ -18,6 +19,7 @@ import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import jakarta.transaction.Transactional;
 
 @SpringBootTest
@@ -175,6 +177,43 @@ public class OrgUnitRepositoryIntegrationTests {
         assertThat(unassignedOrgUnits).isEmpty();
     }
 
+    @Test
+    void assignRoomByIdIn_ShouldMoveOnlyGivenOrgUnits() {
+        // Arrange: Two org units in one room, an empty target and an item
+        Project project = createProjectWithUserAndSave();
+        Room source = createRoomInProjectAndSave(project);
+        Room target = createRoomInProjectAndSave(project);
+        OrgUnit movedOrgUnit = createOrgUnitInRoomAndSave(source);
+        OrgUnit untouchedOrgUnit = createOrgUnitInRoomAndSave(source);
+        Item item = createItemInOrgUnitAndSave(movedOrgUnit);
+
+        // Act
+        int updated = orgUnitRepository.assignRoomByIdIn(target.getId(), List.of(movedOrgUnit.getId()));
+
+        // Assert: Only the given org unit points at the target, with its items loaded
+        assertThat(updated).isEqualTo(1);
+        List<OrgUnit> reloaded = orgUnitRepository
+                .findAllWithPlacementByIdIn(List.of(movedOrgUnit.getId(), untouchedOrgUnit.getId()));
+        assertThat(reloaded)
+                .extracting(OrgUnit::getId, orgUnit -> orgUnit.getRoom().getId())
+                .containsExactlyInAnyOrder(
+                        tuple(movedOrgUnit.getId(), target.getId()),
+                        tuple(untouchedOrgUnit.getId(), source.getId()));
+        assertThat(reloaded)
+                .filteredOn(orgUnit -> orgUnit.getId().equals(movedOrgUnit.getId()))
+                .flatExtracting(OrgUnit::getItems)
+                .extracting(Item::getId)
+                .containsExactly(item.getId());
+
+        // Act: Clear the room again
+        orgUnitRepository.clearRoomByIdIn(List.of(movedOrgUnit.getId()));
+
+        // Assert: The org unit is unassigned but keeps its project
+        assertThat(orgUnitRepository.findPlacementsByIdIn(List.of(movedOrgUnit.getId())))
+                .extracting(ResourcePlacementProjection::getProjectId, ResourcePlacementProjection::getParentId)
+                .containsExactly(tuple(project.getId(), null));
+    }
+
     private User createUserAndSave() {
         User owner = userRepository.save(new User("ownerProviderId"));
         return owner;
@@ -1,7 +1,9 @@
 package app.cluttermap.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +21,10 @@ import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.repository.projection.ProjectChildProjection;
+import app.cluttermap.repository.projection.ProjectSetVersionProjection;
 import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
@@ -231,6 +236,71 @@ public class ProjectRepositoryIntegrationTests {
         assertThat(eventRepository.findAll()).isEmpty();
     }
 
+    @Test
+    void touch_ShouldOnlyMoveLastUpdatedForward() {
+        // Arrange: Set up a project touched at a known time
+        Project project = createProjectWithUserAndSave();
+        Instant touchedAt = Instant.parse("2025-01-01T12:00:00Z");
+        projectRepository.touch(project.getId(), touchedAt);
+
+        // Act: Touch it again with an earlier timestamp
+        projectRepository.touch(project.getId(), touchedAt.minusSeconds(60));
+
+        // Assert: The later timestamp is kept, moved on by a microsecond so the
+        // project's version still changes
+        Long ownerId = project.getOwner().getId();
+        assertThat(projectRepository.findUpdatedProjectIds(touchedAt, ownerId))
+                .containsExactly(project.getId());
+        assertThat(projectRepository.findUpdatedProjectIds(touchedAt.plusNanos(1000), ownerId)).isEmpty();
+    }
+
+    @Test
+    void findProjectSetVersionByOwnerId_ShouldChange_WhenProjectBelowLatestUpdateIsTouched() {
+        // Arrange: Two projects of one user, the first updated last
+        User owner = createUserAndSave();
+        Project latest = createProjectWithUserAndSave(owner);
+        Project earlier = createProjectWithUserAndSave(owner);
+        Instant touchedAt = Instant.parse("2025-01-01T12:00:00Z");
+        projectRepository.touch(latest.getId(), touchedAt);
+        projectRepository.touch(earlier.getId(), touchedAt.minusSeconds(60));
+
+        ProjectSetVersionProjection before = projectRepository.findProjectSetVersionByOwnerId(owner.getId());
+
+        // Act: A write whose event was built before the latest one commits after it
+        projectRepository.touch(earlier.getId(), touchedAt.minusSeconds(30));
+
+        // Assert: Same count and same latest update, but a different version
+        ProjectSetVersionProjection after = projectRepository.findProjectSetVersionByOwnerId(owner.getId());
+        assertThat(after.getProjectCount()).isEqualTo(2);
+        assertThat(after.getLastUpdatedSum()).isNotEqualByComparingTo(before.getLastUpdatedSum());
+    }
+
+    @Test
+    void findChildIdsByProjectIdIn_ShouldReturnEveryChildOfOnlyTheGivenProjects() {
+        // Arrange: A project with one child of each type, and another project
+        Project project = createProjectWithUserAndSave();
+        Room room = createRoomInProjectAndSave(project);
+        OrgUnit orgUnit = createOrgUnitInProjectAndSave(project);
+        Item item = createItemInProjectAndSave(project);
+
+        Project otherProject = createProjectWithUserAndSave();
+        createItemInProjectAndSave(otherProject);
+
+        // Act
+        List<ProjectChildProjection> children = projectRepository.findChildIdsByProjectIdIn(List.of(project.getId()));
+
+        // Assert
+        assertThat(children)
+                .extracting(
+                        ProjectChildProjection::getProjectId,
+                        ProjectChildProjection::getChildType,
+                        ProjectChildProjection::getChildId)
+                .containsExactlyInAnyOrder(
+                        tuple(project.getId(), ResourceType.ROOM, room.getId()),
+                        tuple(project.getId(), ResourceType.ORGANIZATIONAL_UNIT, orgUnit.getId()),
+                        tuple(project.getId(), ResourceType.ITEM, item.getId()));
+    }
+
     private User createUserAndSave() {
         User owner = userRepository.save(new User("ownerProviderId"));
         return owner;
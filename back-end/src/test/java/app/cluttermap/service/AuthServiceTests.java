@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
@@ -17,13 +18,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 
+import app.cluttermap.config.JwtConfig;
 import app.cluttermap.exception.auth.InvalidAuthenticationException;
+import app.cluttermap.model.AuthenticatedPrincipal;
 import app.cluttermap.model.User;
 import app.cluttermap.repository.UserRepository;
 import io.jsonwebtoken.Claims;
@@ -43,11 +46,19 @@ class AuthServiceTests {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private GoogleTokenVerifier googleTokenVerifier;
+
+    @Spy
+    private JwtKeyService jwtKeyService = new JwtKeyService(createJwtConfig());
+
     @InjectMocks
     private AuthService authService;
 
+    private static final String JWT_SECRET = Encoders.BASE64
+            .encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+
     private User mockUser;
-    private String JWT_SECRET;
 
     @BeforeEach
     void setUp() {
@@ -57,22 +68,35 @@ class AuthServiceTests {
         mockUser.setUsername("testUser");
         mockUser.setFirstName("Test");
         mockUser.setLastName("User");
+    }
 
-        SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-        JWT_SECRET = Encoders.BASE64.encode(key.getEncoded());
-
-        ReflectionTestUtils.setField(authService, "JWT_SECRET", JWT_SECRET);
+    private static JwtConfig createJwtConfig() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey(JWT_SECRET);
+        jwtConfig.setKeyId("test-key");
+        return jwtConfig;
     }
 
     @Test
-    void verifyGoogleToken_ShouldThrowException_WhenTokenIsInvalid() {
+    void verifyGoogleToken_ShouldThrowException_WhenTokenIsInvalid() throws Exception {
         // Arrange: Mock invalid token
         String invalidToken = "invalidTokenString";
+        when(googleTokenVerifier.verify(invalidToken)).thenReturn(null);
 
         // Act & Assert: Verify that an InvalidAuthenticationException is thrown
         assertThrows(InvalidAuthenticationException.class, () -> authService.verifyGoogleToken(invalidToken));
     }
 
+    @Test
+    void verifyGoogleToken_ShouldThrowException_WhenVerifierFails() throws Exception {
+        // Arrange: Simulate a failure fetching Google's public keys
+        String token = "tokenString";
+        when(googleTokenVerifier.verify(token)).thenThrow(new IOException("Certificate endpoint unavailable"));
+
+        // Act & Assert: Verify that the failure surfaces as an authentication error
+        assertThrows(InvalidAuthenticationException.class, () -> authService.verifyGoogleToken(token));
+    }
+
     @Test
     void findOrCreateUserFromGoogleToken_ShouldCreateNewUser_WhenUserDoesNotExist() {
         // Arrange: Mock the GoogleIdToken and Payload
@@ -133,8 +157,28 @@ class AuthServiceTests {
         SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
         Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
 
+        assertEquals("test-key", claims.getHeader().getKeyId());
         assertEquals(mockUser.getId().toString(), claims.getBody().getSubject());
         assertEquals(mockUser.getEmail(), claims.getBody().get("email"));
         assertEquals(mockUser.getUsername(), claims.getBody().get("username"));
     }
+
+    @Test
+    void generateStreamToken_ShouldGenerateShortLivedToken_ForChangeStream() {
+        // Arrange
+        when(securityService.getCurrentPrincipal())
+                .thenReturn(new AuthenticatedPrincipal(1L, "test@example.com", "testUser"));
+
+        // Act
+        String token = authService.generateStreamToken();
+
+        // Assert: Same user, but only for the stream and for a minute
+        SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+
+        assertEquals("1", claims.getSubject());
+        assertEquals("testUser", claims.get("username"));
+        assertEquals(AuthService.STREAM_TOKEN_AUDIENCE, claims.getAudience());
+        assertEquals(60000, claims.getExpiration().getTime() - claims.getIssuedAt().getTime(), 1000);
+    }
 }
@@ -0,0 +1,85 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.cluttermap.EnableTestcontainers;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class ChangeNotificationBusIntegrationTests {
+    @Autowired
+    private ChangeNotificationBus changeNotificationBus;
+
+    @SpyBean
+    private ProjectChangeBroadcaster projectChangeBroadcaster;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void notificationFromAnotherNode_ShouldBePublishedLocally() {
+        // Act: Another node commits a change to project 42
+        jdbcTemplate.execute("SELECT pg_notify('" + ChangeNotificationBus.CHANNEL + "', 'other-node:42:1000')");
+
+        // Assert
+        verify(projectChangeBroadcaster, timeout(5000)).onProjectChanged(new ProjectChangedEvent(42L));
+    }
+
+    @Test
+    void projectChanged_ShouldNotifyOnceAtCommit_AndNotEchoBack() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + ChangeNotificationBus.CHANNEL);
+            }
+
+            // Act: Two changes to the same project in one transaction
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                changeNotificationBus.onProjectChanged(new ProjectChangedEvent(7L));
+                changeNotificationBus.onProjectChanged(new ProjectChangedEvent(7L));
+            });
+
+            // Assert: One notification carrying this node, the project and the transaction
+            List<String> payloads = new ArrayList<>();
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(5000);
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+            assertThat(payloads).singleElement().asString()
+                    .startsWith(changeNotificationBus.getNodeId() + ":7:")
+                    .matches(".*:\\d+$");
+        }
+
+        // Assert: This node's listener ignores its own notification
+        verify(projectChangeBroadcaster, after(1000).never()).onProjectChanged(new ProjectChangedEvent(7L));
+    }
+}
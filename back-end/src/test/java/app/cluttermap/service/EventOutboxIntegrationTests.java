@@ -0,0 +1,146 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.TestDataFactory;
+import app.cluttermap.model.Event;
+import app.cluttermap.model.EventEntity;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.User;
+import app.cluttermap.repository.EntityTimelineRepository;
+import app.cluttermap.repository.EventEntityRepository;
+import app.cluttermap.repository.EventRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.UserRepository;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class EventOutboxIntegrationTests {
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private EventOutboxWorker eventOutboxWorker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventEntityRepository eventEntityRepository;
+
+    @Autowired
+    private EntityTimelineRepository entityTimelineRepository;
+
+    private User mockUser;
+    private Project mockProject;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM event_outbox");
+        entityTimelineRepository.deleteAll();
+        eventEntityRepository.deleteAll();
+        eventRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        mockUser = new User("mockProviderId");
+        mockUser.setUsername("mockUser");
+        userRepository.save(mockUser);
+
+        mockProject = projectRepository
+                .save(new TestDataFactory.ProjectBuilder().id(null).name("Test Project").user(mockUser).build());
+    }
+
+    @Test
+    void drainBatch_ShouldStoreEventsInCommitOrderAndEmptyOutbox() {
+        // Arrange: Two events for the same item, each from its own transaction
+        Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        enqueueInTransaction(rename(mockProject, "First", timestamp));
+        enqueueInTransaction(rename(mockProject, "Second", timestamp.plusSeconds(1)));
+
+        // Act
+        int moved = eventOutboxWorker.drainBatch();
+
+        // Assert: Both were stored in order with their original timestamps and user
+        assertThat(moved).isEqualTo(2);
+        assertThat(countOutbox()).isZero();
+
+        List<Object[]> stored = jdbcTemplate.query("""
+                SELECT ee.details ->> 'name', ee.event_timestamp, e.user_id
+                FROM event_entities ee
+                JOIN events e ON e.id = ee.event_id
+                ORDER BY ee.tx_id, ee.change_seq
+                """,
+                (rs, rowNum) -> new Object[] {
+                        rs.getString(1), rs.getTimestamp(2).toInstant(), rs.getLong(3) });
+        assertThat(stored)
+                .extracting(row -> row[0], row -> row[1], row -> row[2])
+                .containsExactly(
+                        tuple("First", timestamp, mockUser.getId()),
+                        tuple("Second", timestamp.plusSeconds(1), mockUser.getId()));
+
+        assertThat(entityTimelineRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void drainBatch_ShouldDropEventsOfDeletedProjects() {
+        // Arrange: An event whose project is deleted before it is moved
+        enqueueInTransaction(rename(mockProject, "Gone", Instant.now()));
+        projectRepository.deleteById(mockProject.getId());
+
+        // Act
+        int moved = eventOutboxWorker.drainBatch();
+
+        // Assert
+        assertThat(moved).isZero();
+        assertThat(countOutbox()).isZero();
+        assertThat(eventEntityRepository.count()).isZero();
+    }
+
+    private Event rename(Project project, String name, Instant timestamp) {
+        Event event = new Event(EventChangeType.UPDATE, project, mockUser).timestamp(timestamp);
+        event.addEventEntity(new EventEntity(
+                event, ResourceType.ITEM, 1L, EventChangeType.UPDATE, "{\"name\":\"" + name + "\"}"));
+        return event;
+    }
+
+    private void enqueueInTransaction(Event event) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> eventOutbox.enqueue(event));
+    }
+
+    private int countOutbox() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Integer.class);
+    }
+}
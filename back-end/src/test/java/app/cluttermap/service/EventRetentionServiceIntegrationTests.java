@@ -0,0 +1,262 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import app.cluttermap.EnableTestcontainers;
+import app.cluttermap.TestDataFactory;
+import app.cluttermap.migration.DatabaseMigrationService;
+import app.cluttermap.model.EntityTimelineEntry;
+import app.cluttermap.model.Event;
+import app.cluttermap.model.EventEntity;
+import app.cluttermap.model.Project;
+import app.cluttermap.model.User;
+import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.repository.EntityTimelineRepository;
+import app.cluttermap.repository.EventEntityRepository;
+import app.cluttermap.repository.EventRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.UserRepository;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnableTestcontainers
+public class EventRetentionServiceIntegrationTests {
+    // Well past the default horizon
+    private static final YearMonth OLD_MONTH = YearMonth.now(ZoneOffset.UTC).minusMonths(24);
+
+    @Autowired
+    private EventRetentionService eventRetentionService;
+
+    @Autowired
+    private DatabaseMigrationService databaseMigrationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventEntityRepository eventEntityRepository;
+
+    @Autowired
+    private EntityTimelineRepository entityTimelineRepository;
+
+    private User mockUser;
+    private Project mockProject;
+
+    @BeforeEach
+    void setUp() {
+        // The old month's partitions, wherever an earlier test left them
+        jdbcTemplate.execute("DROP TABLE IF EXISTS event_archive.event_entities_p" + suffix());
+        jdbcTemplate.execute("DROP TABLE IF EXISTS event_archive.events_p" + suffix());
+        jdbcTemplate.execute("DROP TABLE IF EXISTS event_entities_p" + suffix());
+        jdbcTemplate.execute("DROP TABLE IF EXISTS events_p" + suffix());
+        jdbcTemplate.execute("DELETE FROM entity_snapshots");
+        jdbcTemplate.execute("DELETE FROM compacted_event_partitions");
+
+        entityTimelineRepository.deleteAll();
+        eventEntityRepository.deleteAll();
+        eventRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        mockUser = new User("mockProviderId");
+        mockUser.setUsername("mockUser");
+        userRepository.save(mockUser);
+
+        mockProject = projectRepository
+                .save(new TestDataFactory.ProjectBuilder().name("Test Project").user(mockUser).build());
+    }
+
+    @Test
+    void migration_ShouldPartitionEventStoreByMonth() {
+        // Act
+        Map<String, Object> kinds = jdbcTemplate.queryForMap("""
+                SELECT (SELECT relkind FROM pg_class WHERE oid = 'events'::regclass)::TEXT AS events,
+                       (SELECT relkind FROM pg_class WHERE oid = 'event_entities'::regclass)::TEXT AS event_entities
+                """);
+
+        // Assert: Both are partitioned tables
+        assertThat(kinds).containsEntry("events", "p").containsEntry("event_entities", "p");
+    }
+
+    @Test
+    void migration_ShouldMoveRowsOutOfDefaultPartitions() {
+        // Arrange: Default partitions as earlier versions created them, holding a
+        // change from a month that has no partition of its own
+        jdbcTemplate.execute("CREATE TABLE events_default PARTITION OF events DEFAULT");
+        jdbcTemplate.execute("CREATE TABLE event_entities_default PARTITION OF event_entities DEFAULT");
+        Instant oldMonthStart = OLD_MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        logChange(EventChangeType.CREATE, "{\"name\":\"Old\"}", oldMonthStart.plusSeconds(60));
+
+        // Act
+        databaseMigrationService.migrateDatabase();
+
+        // Assert: The defaults are gone and the change is in its month's partition
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('events_default') IS NULL AND to_regclass('event_entities_default') IS NULL",
+                Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_entities_p" + suffix(), Long.class)).isEqualTo(1L);
+
+        // Assert: So retention archives it like any other month
+        assertThat(eventRetentionService.compactPartition(OLD_MONTH)).isTrue();
+        assertThat(eventRetentionService.archivePartition(OLD_MONTH)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class)).isZero();
+    }
+
+    @Test
+    void compactPartition_ShouldFoldOldMonthIntoSnapshotAndArchiveIt() {
+        // Arrange: Two changes in an old month and one recent change to the same item
+        jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, OLD_MONTH.atDay(1));
+        Instant oldMonthStart = OLD_MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        logChange(EventChangeType.CREATE, "{\"name\":\"Old\",\"quantity\":1}", oldMonthStart.plusSeconds(60));
+        logChange(EventChangeType.UPDATE, "{\"name\":\"Renamed\"}", oldMonthStart.plusSeconds(120));
+        logChange(EventChangeType.UPDATE, "{\"quantity\":2}", Instant.now());
+
+        // Act
+        boolean compacted = eventRetentionService.compactPartition(OLD_MONTH);
+        boolean archived = eventRetentionService.archivePartition(OLD_MONTH);
+
+        // Assert: The old month is one snapshot, newest-first after the recent change
+        assertThat(compacted).isTrue();
+        assertThat(archived).isTrue();
+
+        Map<String, Object> snapshot = jdbcTemplate.queryForMap(
+                "SELECT state::TEXT AS state, change_count FROM entity_snapshots WHERE entity_type = 'ITEM' AND entity_id = 1");
+        assertThat(snapshot.get("state")).isEqualTo("{\"name\": \"Renamed\", \"quantity\": 1}");
+        assertThat(snapshot.get("change_count")).isEqualTo(2L);
+
+        assertThat(entityTimelineRepository.findHistoryByEntity(ResourceType.ITEM, 1L, PageRequest.of(0, 10)))
+                .extracting(EntityHistoryDTO::getAction)
+                .containsExactly(EventChangeType.UPDATE, EventChangeType.SNAPSHOT);
+
+        // Assert: The partitions left the event store for the archive schema
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('event_archive.events_p" + suffix() + "') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void compactPartition_ShouldFoldMovesIntoParentAndLeaveChildChangesOut() {
+        // Arrange: An item whose earlier snapshot puts it in org unit 10. In the
+        // old month it moves to org unit 11 and then to unassigned, and both org
+        // units log the child coming and going.
+        jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, OLD_MONTH.atDay(1));
+        Instant oldMonthStart = OLD_MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        jdbcTemplate.update("""
+                INSERT INTO entity_snapshots (entity_type, entity_id, state, last_change, ts, change_count)
+                VALUES ('ITEM', 1, '{"name": "Old", "orgUnitId": 10}', 'CREATE', ?, 1)
+                """, Timestamp.from(oldMonthStart.minusSeconds(3600)));
+
+        logChange(ResourceType.ITEM, 1L, EventChangeType.UPDATE, "{\"name\":\"Renamed\"}",
+                oldMonthStart.plusSeconds(60));
+        logChange(ResourceType.ITEM, 1L, EventChangeType.MOVE,
+                "{\"previousParentId\":10,\"newParentId\":11,\"parentType\":\"ORGANIZATIONAL_UNIT\"}",
+                oldMonthStart.plusSeconds(120));
+        logChange(ResourceType.ORGANIZATIONAL_UNIT, 10L, EventChangeType.REMOVE_CHILD,
+                "{\"childId\":1,\"childType\":\"ITEM\"}", oldMonthStart.plusSeconds(120));
+        logChange(ResourceType.ORGANIZATIONAL_UNIT, 11L, EventChangeType.ADD_CHILD,
+                "{\"childId\":1,\"childType\":\"ITEM\"}", oldMonthStart.plusSeconds(120));
+        logChange(ResourceType.ITEM, 1L, EventChangeType.MOVE,
+                "{\"previousParentId\":11,\"parentType\":\"ORGANIZATIONAL_UNIT\"}",
+                oldMonthStart.plusSeconds(180));
+        logChange(ResourceType.ORGANIZATIONAL_UNIT, 11L, EventChangeType.REMOVE_CHILD,
+                "{\"childId\":1,\"childType\":\"ITEM\"}", oldMonthStart.plusSeconds(180));
+
+        // Act
+        boolean compacted = eventRetentionService.compactPartition(OLD_MONTH);
+
+        // Assert: The item is renamed and unassigned; no move details are kept
+        assertThat(compacted).isTrue();
+        assertThat(snapshotStateEquals(ResourceType.ITEM, 1L, "{\"name\": \"Renamed\", \"orgUnitId\": null}"))
+                .isTrue();
+
+        // Assert: The org units' states hold nothing of the child they last touched
+        assertThat(snapshotStateEquals(ResourceType.ORGANIZATIONAL_UNIT, 10L, "{}")).isTrue();
+        assertThat(snapshotStateEquals(ResourceType.ORGANIZATIONAL_UNIT, 11L, "{}")).isTrue();
+    }
+
+    @Test
+    void archivePartition_ShouldLeaveMonthAttached_WhenNotCompacted() {
+        // Arrange
+        jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, OLD_MONTH.atDay(1));
+
+        // Act
+        boolean archived = eventRetentionService.archivePartition(OLD_MONTH);
+
+        // Assert
+        assertThat(archived).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = to_regclass('events_p" + suffix() + "')",
+                Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void compactPartition_ShouldNotFoldTwice_WhenDetachIsStillPending() {
+        // Arrange: A month compacted but not yet detached
+        jdbcTemplate.queryForObject("SELECT create_event_partition(?)", Boolean.class, OLD_MONTH.atDay(1));
+        Instant oldMonthStart = OLD_MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        logChange(EventChangeType.CREATE, "{\"name\":\"Old\"}", oldMonthStart.plusSeconds(60));
+        eventRetentionService.compactPartition(OLD_MONTH);
+
+        // Act
+        boolean compactedAgain = eventRetentionService.compactPartition(OLD_MONTH);
+
+        // Assert: The snapshot counts the change once
+        assertThat(compactedAgain).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT change_count FROM entity_snapshots WHERE entity_type = 'ITEM' AND entity_id = 1",
+                Long.class)).isEqualTo(1L);
+    }
+
+    private String suffix() {
+        return String.format("%d%02d", OLD_MONTH.getYear(), OLD_MONTH.getMonthValue());
+    }
+
+    private boolean snapshotStateEquals(ResourceType entityType, Long entityId, String state) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT state = CAST(? AS JSONB) FROM entity_snapshots WHERE entity_type = ? AND entity_id = ?",
+                Boolean.class, state, entityType.name(), entityId));
+    }
+
+    private void logChange(EventChangeType change, String details, Instant timestamp) {
+        logChange(ResourceType.ITEM, 1L, change, details, timestamp);
+    }
+
+    private void logChange(ResourceType entityType, Long entityId, EventChangeType change, String details,
+            Instant timestamp) {
+        Event event = new Event(change, mockProject, mockUser).timestamp(timestamp);
+        EventEntity eventEntity = new EventEntity(event, entityType, entityId, change, details);
+        event.addEventEntity(eventEntity);
+        eventRepository.save(event);
+
+        entityTimelineRepository.save(new EntityTimelineEntry(eventEntity));
+    }
+}
@@ -0,0 +1,86 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import app.cluttermap.config.EventRetentionConfig;
+
+@ExtendWith(MockitoExtension.class)
+class EventRetentionServiceTests {
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventRetentionService self;
+    private EventRetentionService eventRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        EventRetentionConfig config = new EventRetentionConfig();
+        config.setHorizonMonths(12);
+        config.setPartitionsAhead(2);
+
+        self = mock(EventRetentionService.class);
+        eventRetentionService = new EventRetentionService(
+                jdbcTemplate, config, self, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void findExpiredPartitions_ShouldReturnMonthsBeforeHorizon_OldestFirst() {
+        // Arrange: Partitions on both sides of the horizon (2025-10), plus a default
+        // partition as earlier versions had
+        mockPartitions("events_p202510", "events_p202509", "events_default", "events_p202608", "events_p202407");
+
+        // Act
+        List<YearMonth> expired = eventRetentionService.findExpiredPartitions(YearMonth.of(2026, 10));
+
+        // Assert
+        assertThat(expired).containsExactly(YearMonth.of(2024, 7), YearMonth.of(2025, 9));
+    }
+
+    @Test
+    void runRetention_ShouldCreateUpcomingPartitionsAndCompactExpiredOnes() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(eq("SELECT create_event_partition(?)"), eq(Boolean.class),
+                eq(LocalDate.of(2026, 10, 1)))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(eq("SELECT create_event_partition(?)"), eq(Boolean.class),
+                eq(LocalDate.of(2026, 11, 1)))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(eq("SELECT create_event_partition(?)"), eq(Boolean.class),
+                eq(LocalDate.of(2026, 12, 1)))).thenReturn(true);
+        mockPartitions("events_p202509", "events_p202510");
+
+        // Act
+        eventRetentionService.runRetention();
+
+        // Assert: Only the month before the horizon is compacted and archived,
+        // through the proxy
+        verify(self).compactPartition(YearMonth.of(2025, 9));
+        verify(self).archivePartition(YearMonth.of(2025, 9));
+        verify(self, never()).compactPartition(YearMonth.of(2025, 10));
+        verify(self, never()).archivePartition(YearMonth.of(2025, 10));
+    }
+
+    private void mockPartitions(String... partitionNames) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(partitionNames));
+    }
+}
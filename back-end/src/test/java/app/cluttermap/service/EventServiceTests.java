@@ -1,47 +1,66 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.cluttermap.TestDataFactory;
+import app.cluttermap.model.EntityTimelineEntry;
 import app.cluttermap.model.Event;
+import app.cluttermap.model.EventEntity;
 import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
 import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.model.dto.SyncPageDTO;
+import app.cluttermap.model.payload.FieldChangePayload;
+import app.cluttermap.model.payload.MovePayload;
+import app.cluttermap.repository.EntityTimelineRepository;
 import app.cluttermap.repository.EventEntityRepository;
 import app.cluttermap.repository.EventRepository;
+import app.cluttermap.repository.projection.ChangePositionProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -71,12 +90,24 @@ public class EventServiceTests {
     @Mock
     private EventEntityRepository eventEntityRepository;
 
+    @Mock
+    private EntityTimelineRepository entityTimelineRepository;
+
     @Mock
     private SecurityService securityService;
 
     @Mock
     private EntityResolutionService entityResolutionService;
 
+    @Mock
+    private ProjectTouchTracker projectTouchTracker;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Project mockProject;
     private User mockUser;
 
@@ -139,19 +170,157 @@ public class EventServiceTests {
         );
 
         List<EntityHistoryDTO> mockDTOs = List.of(dto1, dto2);
-        Page<EntityHistoryDTO> mockPage = new PageImpl<>(mockDTOs, pageable, 4);
+        Slice<EntityHistoryDTO> mockSlice = new SliceImpl<>(mockDTOs, pageable, true);
 
-        when(eventEntityRepository.findHistoryByEntity(ResourceType.ROOM, 1L, pageable)).thenReturn(mockPage);
+        when(entityTimelineRepository.findHistoryByEntity(ResourceType.ROOM, 1L, pageable)).thenReturn(mockSlice);
 
         // Act
-        Page<EntityHistoryDTO> events = eventService.getEntityHistory(ResourceType.ROOM, 1L, 0, 2);
+        Slice<EntityHistoryDTO> events = eventService.getEntityHistory(ResourceType.ROOM, 1L, 0, 2);
 
         // Assert
         assertThat(events.getContent()).hasSize(2);
-        assertThat(events.getTotalElements()).isEqualTo(4);
+        assertThat(events.hasNext()).isTrue();
         assertThat(events.getContent()).containsExactly(dto1, dto2);
 
-        verify(eventEntityRepository, times(1)).findHistoryByEntity(ResourceType.ROOM, 1L, pageable);
+        verify(entityTimelineRepository, times(1)).findHistoryByEntity(ResourceType.ROOM, 1L, pageable);
+        verifyNoInteractions(eventEntityRepository);
+    }
+
+    @Test
+    void streamUpdatesSince_ShouldPassEachChangeToActionAndCloseStream() {
+        // Arrange
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        List<Long> projectIds = List.of(1L, 2L);
+
+        EntityHistoryDTO dto1 = new EntityHistoryDTO(ResourceType.ITEM, 1L, EventChangeType.CREATE,
+                "{}", "testUser", 1L, Instant.parse("2025-01-02T14:30:50Z"));
+        EntityHistoryDTO dto2 = new EntityHistoryDTO(ResourceType.ROOM, 2L, EventChangeType.UPDATE,
+                "{}", "testUser", 1L, Instant.parse("2025-01-03T10:15:30Z"));
+
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(eventEntityRepository.streamChangesSince(since, projectIds))
+                .thenReturn(Stream.of(dto1, dto2).onClose(() -> closed.set(true)));
+
+        // Act
+        List<EntityHistoryDTO> received = new ArrayList<>();
+        eventService.streamUpdatesSince(since, projectIds, received::add);
+
+        // Assert: Changes arrive in order and the cursor is released
+        assertThat(received).containsExactly(dto1, dto2);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void streamUpdatesSince_ShouldSkipQuery_WhenNoProjectsChanged() {
+        // Act
+        List<EntityHistoryDTO> received = new ArrayList<>();
+        eventService.streamUpdatesSince(Instant.now(), List.of(), received::add);
+
+        // Assert
+        assertThat(received).isEmpty();
+        verifyNoInteractions(eventEntityRepository);
+    }
+
+    @Test
+    void fetchChangesAfter_ShouldReturnPageInLogOrderWithNextCursor() {
+        // Arrange: Three changes after the cursor, but only two fit on the page
+        List<Long> projectIds = List.of(mockProject.getId());
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+        when(eventEntityRepository.findChangePositionsAfter(projectIds, 100L, 7L, 3)).thenReturn(List.of(
+                position(21L, 101L, 8L),
+                position(20L, 101L, 9L),
+                position(22L, 102L, 10L)));
+
+        Event event = new Event(EventChangeType.UPDATE, mockProject, mockUser);
+        when(eventEntityRepository.findWithEventByIdIn(List.of(21L, 20L))).thenReturn(List.of(
+                eventEntity(20L, event, 2L),
+                eventEntity(21L, event, 1L)));
+
+        // Act
+        SyncPageDTO page = eventService.fetchChangesAfter(new SyncCursor(100L, 7L), 2);
+
+        // Assert: Changes follow the change log, not the entity IDs
+        assertThat(page.getChanges())
+                .extracting(EntityHistoryDTO::getEntityId, EntityHistoryDTO::getUserName)
+                .containsExactly(tuple(1L, "mockUser"), tuple(2L, "mockUser"));
+        assertThat(page.getNextCursor()).isEqualTo("101-9");
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void fetchChangesAfter_ShouldKeepCursor_WhenNoNewChanges() {
+        // Arrange
+        List<Long> projectIds = List.of(mockProject.getId());
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+        when(eventEntityRepository.findChangePositionsAfter(projectIds, 100L, 7L, 501)).thenReturn(List.of());
+
+        // Act
+        SyncPageDTO page = eventService.fetchChangesAfter(new SyncCursor(100L, 7L), 500);
+
+        // Assert: The client keeps polling from the same place
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNextCursor()).isEqualTo("100-7");
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void fetchChangesAfter_ShouldRejectOutOfRangeLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.fetchChangesAfter(SyncCursor.START, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.fetchChangesAfter(SyncCursor.START, EventService.MAX_SYNC_PAGE_SIZE + 1));
+        verifyNoInteractions(eventEntityRepository);
+    }
+
+    @Test
+    void getPlacementHistory_ShouldKeepRepositoryOrder() {
+        // Arrange
+        when(eventEntityRepository.findChildChangeIds("ITEM", 7L)).thenReturn(List.of(31L, 30L));
+
+        Event event = new Event(EventChangeType.UPDATE, mockProject, mockUser);
+        when(eventEntityRepository.findWithEventByIdIn(List.of(31L, 30L))).thenReturn(List.of(
+                eventEntity(30L, event, 1L),
+                eventEntity(31L, event, 2L)));
+
+        // Act
+        List<EntityHistoryDTO> history = eventService.getPlacementHistory(ResourceType.ITEM, 7L);
+
+        // Assert: Newest first, as returned by the details query
+        assertThat(history).extracting(EntityHistoryDTO::getEntityId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void fetchChangesAfter_ShouldSkipChanges_ArchivedBeforeTheyLoad() {
+        // Arrange: Two changes found, but one month detached before they are loaded
+        List<Long> projectIds = List.of(mockProject.getId());
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+        when(eventEntityRepository.findChangePositionsAfter(projectIds, 100L, 7L, 3)).thenReturn(List.of(
+                position(20L, 101L, 8L),
+                position(21L, 101L, 9L)));
+
+        Event event = new Event(EventChangeType.UPDATE, mockProject, mockUser);
+        when(eventEntityRepository.findWithEventByIdIn(List.of(20L, 21L))).thenReturn(List.of(
+                eventEntity(21L, event, 2L)));
+
+        // Act
+        SyncPageDTO page = eventService.fetchChangesAfter(new SyncCursor(100L, 7L), 2);
+
+        // Assert: The change that still loads is returned, and the cursor moves on
+        assertThat(page.getChanges()).extracting(EntityHistoryDTO::getEntityId).containsExactly(2L);
+        assertThat(page.getNextCursor()).isEqualTo("101-9");
+    }
+
+    @Test
+    void getMovesOutOf_ShouldSkipLoad_WhenNothingMatches() {
+        // Arrange
+        when(eventEntityRepository.findMoveIdsOutOfParent("ORGANIZATIONAL_UNIT", 1L)).thenReturn(List.of());
+
+        // Act
+        List<EntityHistoryDTO> history = eventService.getMovesOutOf(ResourceType.ORGANIZATIONAL_UNIT, 1L);
+
+        // Assert
+        assertThat(history).isEmpty();
+        verify(eventEntityRepository, times(0)).findWithEventByIdIn(any());
     }
 
     @Test
@@ -222,6 +391,109 @@ public class EventServiceTests {
         verify(entityResolutionService, times(1)).resolveProject(ResourceType.ROOM, oldRoom.getId());
     }
 
+    @Test
+    public void logBatch_ShouldWriteAllChangesAsSingleEvent() {
+        // Arrange
+        User user = createMockUser();
+        when(securityService.getCurrentUser()).thenReturn(user);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Project project = new TestDataFactory.ProjectBuilder().user(user).build();
+
+        EventBatch batch = new EventBatch(EventChangeType.CREATE, project)
+                .add(ResourceType.ITEM, 5L, EventChangeType.CREATE, Map.of("name", "Item"))
+                .addChild(ResourceType.PROJECT, project.getId(), ResourceType.ITEM, 5L)
+                .addChild(ResourceType.ORGANIZATIONAL_UNIT, 3L, ResourceType.ITEM, 5L);
+
+        // Act
+        Event event = eventService.logBatch(batch);
+
+        // Assert: One event holding every entity change, and the project is never
+        // resolved again
+        assertEventFields(event, EventChangeType.CREATE, user);
+        assertEquals(project, event.getProject());
+        assertThat(event.getEventEntities())
+                .extracting(EventEntity::getEntityType, EventEntity::getEntityId, EventEntity::getChange)
+                .containsExactly(
+                        tuple(ResourceType.ITEM, 5L, EventChangeType.CREATE),
+                        tuple(ResourceType.PROJECT, project.getId(), EventChangeType.ADD_CHILD),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, 3L, EventChangeType.ADD_CHILD));
+        verify(securityService, times(1)).getCurrentUser();
+        verify(eventRepository, times(1)).save(event);
+        verifyNoInteractions(entityResolutionService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void logBatch_ShouldCopyEachChangeIntoEntityTimeline() {
+        // Arrange
+        User user = createMockUser();
+        when(securityService.getCurrentUser()).thenReturn(user);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Project project = new TestDataFactory.ProjectBuilder().user(user).build();
+
+        EventBatch batch = new EventBatch(EventChangeType.UPDATE, project)
+                .add(ResourceType.ITEM, 5L, EventChangeType.UPDATE, Map.of("name", "Item"))
+                .add(ResourceType.ITEM, 6L, EventChangeType.UPDATE, Map.of("name", "Other Item"));
+
+        // Act
+        Event event = eventService.logBatch(batch);
+
+        // Assert: One timeline row per entity change, carrying the event's user and
+        // timestamp
+        ArgumentCaptor<List<EntityTimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(entityTimelineRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(EntityTimelineEntry::getEntityId, EntityTimelineEntry::getUserName,
+                        EntityTimelineEntry::getTimestamp)
+                .containsExactly(
+                        tuple(5L, user.getUsername(), event.getTimestamp()),
+                        tuple(6L, user.getUsername(), event.getTimestamp()));
+    }
+
+    @Test
+    public void logBatch_WithOutboxEnabled_ShouldEnqueueInsteadOfStoring() {
+        // Arrange
+        User user = createMockUser();
+        when(securityService.getCurrentUser()).thenReturn(user);
+        when(eventOutbox.isEnabled()).thenReturn(true);
+
+        Project project = new TestDataFactory.ProjectBuilder().user(user).build();
+
+        EventBatch batch = new EventBatch(EventChangeType.UPDATE, project)
+                .add(ResourceType.ITEM, 5L, EventChangeType.UPDATE, Map.of("name", "Item"));
+
+        // Act
+        Event event = eventService.logBatch(batch);
+
+        // Assert: The whole event goes to the outbox and nothing is stored yet
+        assertNull(event);
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(eventOutbox).enqueue(captor.capture());
+        assertEventFields(captor.getValue(), EventChangeType.UPDATE, user);
+        assertThat(captor.getValue().getEventEntities())
+                .extracting(EventEntity::getEntityId, EventEntity::getDetails)
+                .containsExactly(tuple(5L, "{\"name\":\"Item\"}"));
+        verifyNoInteractions(eventRepository, entityTimelineRepository);
+
+        // Assert: The project is still touched in the request's transaction
+        verify(projectTouchTracker).touch(project.getId(), captor.getValue().getTimestamp());
+    }
+
+    @Test
+    public void logBatch_ShouldSkipEmptyBatch() {
+        // Arrange
+        Project project = new TestDataFactory.ProjectBuilder().user(createMockUser()).build();
+
+        // Act
+        Event event = eventService.logBatch(new EventBatch(EventChangeType.UPDATE, project));
+
+        // Assert
+        assertNull(event);
+        verifyNoInteractions(eventRepository);
+    }
+
     @Test
     public void testConvertToJson() throws Exception {
         Map<String, Object> testMap = new HashMap<>();
@@ -240,6 +512,17 @@ public class EventServiceTests {
         assertEquals(testMap, resultMap); // Assert that the input map equals the output map
     }
 
+    @Test
+    public void testConvertToJson_TypedPayloads_ShouldOmitEmptyFields() {
+        // Act
+        String changeJson = eventService.convertToJson(new FieldChangePayload("New Name", null, null, List.of()));
+        String moveJson = eventService.convertToJson(new MovePayload(null, 5L, ResourceType.ROOM));
+
+        // Assert
+        assertEquals("{\"name\":\"New Name\"}", changeJson);
+        assertEquals("{\"newParentId\":5,\"parentType\":\"ROOM\"}", moveJson);
+    }
+
     @Test
     public void testDetectChanges_SomeFieldsChanged() {
         // Arrange
@@ -335,11 +618,65 @@ public class EventServiceTests {
         assertEquals(0, changes.size()); // No changes
     }
 
+    @Test
+    public void testDetectChanges_ReferenceChanged_ShouldReportNewId() {
+        // Arrange
+        Project project = new TestDataFactory.ProjectBuilder().user(createMockUser()).build();
+        OrgUnit oldOrgUnit = new TestDataFactory.OrgUnitBuilder().id(1L).project(project).build();
+        OrgUnit newOrgUnit = new TestDataFactory.OrgUnitBuilder().id(2L).project(project).build();
+
+        Item oldItem = new TestDataFactory.ItemBuilder().name("Item 1").orgUnit(oldOrgUnit).build();
+        Item newItem = new TestDataFactory.ItemBuilder().name("Item 1").orgUnit(newOrgUnit).build();
+
+        // Act
+        Map<String, Object> changes = eventService.detectChanges(oldItem, newItem);
+
+        // Assert
+        assertEquals(Map.of("orgUnitId", 2L), changes);
+    }
+
+    @Test
+    public void testDetectChanges_ShouldIgnoreAssociationCollections() {
+        // Arrange
+        Project project = new TestDataFactory.ProjectBuilder().user(createMockUser()).build();
+        OrgUnit oldOrgUnit = new TestDataFactory.OrgUnitBuilder().name("Org Unit 1").project(project).build();
+        OrgUnit newOrgUnit = new TestDataFactory.OrgUnitBuilder().name("Org Unit 1").project(project).build();
+        newOrgUnit.addItem(new TestDataFactory.ItemBuilder().name("Item 1").project(project).build());
+
+        // Act
+        Map<String, Object> changes = eventService.detectChanges(oldOrgUnit, newOrgUnit);
+
+        // Assert
+        assertEquals(0, changes.size());
+    }
+
     private User createMockUser() {
         User mockUser = new User("mockProviderId");
         return mockUser;
     }
 
+    private ChangePositionProjection position(Long id, Long txId, Long changeSeq) {
+        return new ChangePositionProjection() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getTxId() {
+                return txId;
+            }
+
+            public Long getChangeSeq() {
+                return changeSeq;
+            }
+        };
+    }
+
+    private EventEntity eventEntity(Long id, Event event, Long entityId) {
+        EventEntity eventEntity = new EventEntity(event, ResourceType.ITEM, entityId, EventChangeType.UPDATE, "{}");
+        eventEntity.setId(id);
+        return eventEntity;
+    }
+
     private void assertEventFields(Event event, EventChangeType action, User user) {
         assertEquals(action, event.getAction());
         assertEquals(user, event.getUser());
@@ -0,0 +1,110 @@
+package app.cluttermap.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GoogleTokenVerifierTests {
+    private static final String CLIENT_ID = "test-client-id";
+
+    private HttpServer certsServer;
+    private AtomicInteger certsRequests;
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleTokenVerifier googleTokenVerifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Local stand-in for Google's certificate endpoint. It serves an empty key
+        // set, so no signature can verify, but every fetch is counted.
+        certsRequests = new AtomicInteger();
+        certsServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        certsServer.createContext("/certs", exchange -> {
+            certsRequests.incrementAndGet();
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        certsServer.start();
+
+        GooglePublicKeysManager publicKeysManager = new GooglePublicKeysManager.Builder(
+                new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl("http://localhost:" + certsServer.getAddress().getPort() + "/certs")
+                .build();
+
+        meterRegistry = new SimpleMeterRegistry();
+        googleTokenVerifier = new GoogleTokenVerifier(publicKeysManager, meterRegistry, CLIENT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        certsServer.stop(0);
+    }
+
+    @Test
+    void verify_ShouldReuseCachedKeys_AcrossSignIns() throws Exception {
+        // Act: Verify two tokens
+        assertNull(googleTokenVerifier.verify(createUnsignedToken()));
+        assertNull(googleTokenVerifier.verify(createUnsignedToken()));
+
+        // Assert: The certificates were only fetched once
+        assertEquals(1, certsRequests.get());
+        assertEquals(2, meterRegistry.timer(GoogleTokenVerifier.VERIFY_TIMER, "outcome", "invalid").count());
+    }
+
+    @Test
+    void refreshPublicKeys_ShouldFetchCertificates_AndRecordRefresh() {
+        // Act
+        googleTokenVerifier.refreshPublicKeys();
+
+        // Assert
+        assertEquals(1, certsRequests.get());
+        assertEquals(1, meterRegistry.timer(GoogleTokenVerifier.REFRESH_TIMER, "outcome", "success").count());
+    }
+
+    @Test
+    void refreshPublicKeys_ShouldRecordFailure_WhenEndpointIsUnavailable() {
+        // Arrange: Take the stand-in offline
+        certsServer.stop(0);
+
+        // Act
+        googleTokenVerifier.refreshPublicKeys();
+
+        // Assert
+        assertEquals(1, meterRegistry.timer(GoogleTokenVerifier.REFRESH_TIMER, "outcome", "failure").count());
+    }
+
+    // Builds a token with a valid payload for our client ID and a bogus signature
+    private String createUnsignedToken() {
+        long now = Instant.now().getEpochSecond();
+        String header = "{\"alg\":\"RS256\",\"kid\":\"test\"}";
+        String payload = "{\"iss\":\"https://accounts.google.com\",\"aud\":\"" + CLIENT_ID + "\",\"sub\":\"123\""
+                + ",\"iat\":" + now + ",\"exp\":" + (now + 3600) + "}";
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString("signature".getBytes(StandardCharsets.UTF_8));
+    }
+}
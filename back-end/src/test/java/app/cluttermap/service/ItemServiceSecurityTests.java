@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,10 +34,12 @@ import app.cluttermap.model.Item;
 import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewItemDTO;
 import app.cluttermap.model.dto.UpdateItemDTO;
 import app.cluttermap.repository.ItemRepository;
 import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.ResourceType;
 
 @SpringBootTest
@@ -118,14 +121,15 @@ public class ItemServiceSecurityTests {
 
         if (isOwner) {
             // Mock repository behavior for authorized access
-            when(itemRepository.findUnassignedItemsByProjectId(mockProject.getId())).thenReturn(List.of(mockItem));
+            when(itemRepository.findUnassignedItemDTOsByProjectId(mockProject.getId()))
+                    .thenReturn(List.of(new ItemDTO(mockItem)));
 
             // Act: Call the method under test
-            List<Item> items = itemService.getUnassignedItemsByProjectId(mockProject.getId());
+            List<ItemDTO> items = itemService.getUnassignedItemsByProjectId(mockProject.getId());
 
             // Assert: Validate retrieved items
             assertAll(() -> assertNotNull(items, description));
-            verify(itemRepository).findUnassignedItemsByProjectId(resourceId);
+            verify(itemRepository).findUnassignedItemDTOsByProjectId(resourceId);
 
         } else {
             // Act & Assert: Validate access denial
@@ -138,6 +142,41 @@ public class ItemServiceSecurityTests {
         verify(securityService).isResourceOwner(resourceId, resourceType);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "true, Items should be retrieved when user has ownership of the org unit",
+            "false, AccessDeniedException should be thrown when user lacks ownership of the org unit"
+    })
+    @WithMockUser(username = "testUser")
+    void getItemsByOrgUnitId_ShouldRespectOwnership(boolean isOwner, String description) {
+        // Arrange: Prepare mock data and configure security service
+        Long resourceId = 1L;
+        ResourceType resourceType = ResourceType.ORGANIZATIONAL_UNIT;
+        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+
+        if (isOwner) {
+            // Mock repository behavior for authorized access
+            when(itemRepository.findItemDTOsByOrgUnitId(resourceId)).thenReturn(List.of(new ItemDTO(mockItem)));
+
+            // Act: Call the method under test
+            List<ItemDTO> items = itemService.getItemsByOrgUnitId(resourceId);
+
+            // Assert: Validate retrieved items
+            assertAll(() -> assertNotNull(items, description));
+            verify(itemRepository).findItemDTOsByOrgUnitId(resourceId);
+
+        } else {
+            // Act & Assert: Validate access denial
+            assertThrows(AccessDeniedException.class,
+                    () -> itemService.getItemsByOrgUnitId(resourceId),
+                    description);
+            verify(itemRepository, never()).findItemDTOsByOrgUnitId(anyLong());
+        }
+
+        // Verify: Ensure ownership check was invoked
+        verify(securityService).isResourceOwner(resourceId, resourceType);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "true, PROJECT, Item should be created successfully when user has ownership of the project",
@@ -244,33 +283,38 @@ public class ItemServiceSecurityTests {
         // Arrange: Prepare mock data and configure security service
         Long resourceId = 1L;
         ResourceType resourceType = ResourceType.ITEM;
-        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+        mockItemOwnership(resourceId, isOwner);
 
         OrgUnit mockOrgUnit = createMockOrgUnit(mockProject);
 
         if (isOwner) {
+            mockPlacement(resourceId, null);
+            mockItem.setOrgUnit(mockOrgUnit);
+            when(itemRepository.findAllWithPlacementByIdIn(List.of(resourceId))).thenReturn(List.of(mockItem));
+
             // Act: Call the method under test
             Iterable<Item> items = itemService.assignItemsToOrgUnit(List.of(resourceId), mockOrgUnit.getId());
 
             // Assert: Validate successful assignment
             assertAll(
                     () -> assertNotNull(items, "Items list should not be null when the user has ownership."),
-                    () -> assertEquals(mockOrgUnit, mockItem.getOrgUnit(), description));
+                    () -> assertEquals(mockOrgUnit, items.iterator().next().getOrgUnit(), description));
 
-            // Verify: Ensure org unit retrieval occurred
+            // Verify: Ensure org unit retrieval and the bulk update occurred
             verify(orgUnitService).getOrgUnitById(mockOrgUnit.getId());
+            verify(itemRepository).assignOrgUnitByIdIn(mockOrgUnit.getId(), List.of(resourceId));
         } else {
             // Act & Assert: Validate access denial
             assertThrows(AccessDeniedException.class,
                     () -> itemService.assignItemsToOrgUnit(List.of(resourceId), mockOrgUnit.getId()),
                     description);
 
-            // Verify: Ensure item repository save is never invoked
-            verify(itemRepository, never()).save(any(Item.class));
+            // Verify: Ensure the bulk update is never invoked
+            verify(itemRepository, never()).assignOrgUnitByIdIn(anyLong(), any());
         }
 
         // Verify: Ensure ownership check was invoked
-        verify(securityService).isResourceOwner(resourceId, resourceType);
+        verify(securityService).getUnownedResourceIds(List.of(resourceId), resourceType);
     }
 
     @ParameterizedTest
@@ -283,31 +327,32 @@ public class ItemServiceSecurityTests {
         // Arrange: Prepare mock data and configure security service
         Long resourceId = 1L;
         ResourceType resourceType = ResourceType.ITEM;
-        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+        mockItemOwnership(resourceId, isOwner);
 
         if (isOwner) {
-            // Mock interaction with item repository for authorized access
             // Ensure item is set up properly for unassignment
-            mockItemWithOrgUnit();
+            OrgUnit mockOrgUnit = createMockOrgUnit(mockProject);
+            mockPlacement(resourceId, mockOrgUnit.getId());
+            when(itemRepository.findAllWithPlacementByIdIn(List.of(resourceId))).thenReturn(List.of(mockItem));
 
             // Act: Call the method under test
-            Iterable<Item> items = itemService.unassignItems(List.of(1L));
+            Iterable<Item> items = itemService.unassignItems(List.of(resourceId));
 
             // Assert: Validate successful unassignment
             assertNotNull(items, description);
-            verify(orgUnitRepository).save(any(OrgUnit.class));
+            verify(itemRepository).clearOrgUnitByIdIn(List.of(resourceId));
         } else {
             // Act & Assert: Validate access denial
             assertThrows(AccessDeniedException.class,
                     () -> itemService.unassignItems(List.of(resourceId)),
                     description);
 
-            // Verify: Ensure item repository save is never invoked
-            verify(itemRepository, never()).save(any(Item.class));
+            // Verify: Ensure the bulk update is never invoked
+            verify(itemRepository, never()).clearOrgUnitByIdIn(any());
         }
 
         // Verify: Ensure ownership check was invoked
-        verify(securityService).isResourceOwner(resourceId, resourceType);
+        verify(securityService).getUnownedResourceIds(List.of(resourceId), resourceType);
     }
 
     @ParameterizedTest
@@ -372,10 +417,17 @@ public class ItemServiceSecurityTests {
         return item;
     }
 
-    private void mockItemWithOrgUnit() {
-        OrgUnit mockOrgUnit = createMockOrgUnit(mockProject);
-        mockItem.setOrgUnit(mockOrgUnit);
-        when(itemRepository.findById(mockItem.getId())).thenReturn(Optional.of(mockItem));
+    private void mockItemOwnership(Long resourceId, boolean isOwner) {
+        when(securityService.getUnownedResourceIds(List.of(resourceId), ResourceType.ITEM))
+                .thenReturn(isOwner ? List.of() : List.of(resourceId));
+    }
+
+    private void mockPlacement(Long resourceId, Long orgUnitId) {
+        ResourcePlacementProjection placement = mock(ResourcePlacementProjection.class);
+        when(placement.getId()).thenReturn(resourceId);
+        when(placement.getProjectId()).thenReturn(mockProject.getId());
+        when(placement.getParentId()).thenReturn(orgUnitId);
+        when(itemRepository.findPlacementsByIdIn(List.of(resourceId))).thenReturn(List.of(placement));
     }
 
     private void mockLogEvent() {
@@ -1,20 +1,18 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -40,12 +38,16 @@ import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewItemDTO;
 import app.cluttermap.model.dto.UpdateItemDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.ItemRepository;
 import app.cluttermap.repository.OrgUnitRepository;
 import app.cluttermap.repository.ProjectRepository;
 import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 
@@ -105,32 +107,32 @@ public class ItemServiceTests {
     @Test
     void getUserItems_ShouldReturnItemsOwnedByUser() {
         // Arrange: Mock the current user and items
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
 
-        Item item1 = new TestDataFactory.ItemBuilder().orgUnit(mockOrgUnit).build();
-        Item item2 = new TestDataFactory.ItemBuilder().project(mockProject).build();
-        when(itemRepository.findByOwnerId(mockUser.getId())).thenReturn(List.of(item1, item2));
+        ItemDTO item1 = new ItemDTO(new TestDataFactory.ItemBuilder().orgUnit(mockOrgUnit).build());
+        ItemDTO item2 = new ItemDTO(new TestDataFactory.ItemBuilder().project(mockProject).build());
+        when(itemRepository.findItemDTOsByOwnerId(mockUser.getId())).thenReturn(List.of(item1, item2));
 
         // Act: Call service method
-        Iterable<Item> userItems = itemService.getUserItems();
+        List<ItemDTO> userItems = itemService.getUserItems();
 
         // Assert: Verify the result contains the expected items
         assertThat(userItems).containsExactly(item1, item2)
                 .as("Items owned by user should be returned when they exist");
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
-        verify(itemRepository).findByOwnerId(mockUser.getId());
+        verify(securityService).getCurrentUserId();
+        verify(itemRepository).findItemDTOsByOwnerId(mockUser.getId());
     }
 
     @Test
     void getUserItems_ShouldReturnEmptyList_WhenNoItemsExist() {
         // Arrange: Mock the current user and an empty repository result
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
-        when(itemRepository.findByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
+        when(itemRepository.findItemDTOsByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
 
         // Act: Call service method
-        Iterable<Item> userItems = itemService.getUserItems();
+        List<ItemDTO> userItems = itemService.getUserItems();
 
         // Assert: Verify the result is empty
         assertThat(userItems)
@@ -138,8 +140,8 @@ public class ItemServiceTests {
                 .isEmpty();
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
-        verify(itemRepository).findByOwnerId(mockUser.getId());
+        verify(securityService).getCurrentUserId();
+        verify(itemRepository).findItemDTOsByOwnerId(mockUser.getId());
     }
 
     @ParameterizedTest
@@ -185,15 +187,15 @@ public class ItemServiceTests {
     void getUnassignedItemsByProjectId_ShouldReturnCorrectItems(boolean unassignedItemsExist,
             String description) {
         // Arrange: Prepare mock data
-        List<Item> mockItems = unassignedItemsExist
-                ? List.of(new TestDataFactory.ItemBuilder().project(mockProject).build())
+        List<ItemDTO> mockItems = unassignedItemsExist
+                ? List.of(new ItemDTO(new TestDataFactory.ItemBuilder().project(mockProject).build()))
                 : List.of();
 
         Long projectId = mockProject.getId();
-        when(itemRepository.findUnassignedItemsByProjectId(projectId)).thenReturn(mockItems);
+        when(itemRepository.findUnassignedItemDTOsByProjectId(projectId)).thenReturn(mockItems);
 
         // Act: Call the service method
-        List<Item> unassignedItems = itemService.getUnassignedItemsByProjectId(projectId);
+        List<ItemDTO> unassignedItems = itemService.getUnassignedItemsByProjectId(projectId);
 
         // Assert: Verify the result
         assertThat(unassignedItems)
@@ -201,7 +203,7 @@ public class ItemServiceTests {
                 .isEqualTo(mockItems);
 
         // Verify: Ensure repository interaction occurred
-        verify(itemRepository).findUnassignedItemsByProjectId(projectId);
+        verify(itemRepository).findUnassignedItemDTOsByProjectId(projectId);
     }
 
     @ParameterizedTest
@@ -233,7 +235,7 @@ public class ItemServiceTests {
         when(itemRepository.save(any(Item.class))).thenReturn(mockItem);
 
         // Arrange: Mock event logging
-        mockLogEvent();
+        mockLogBatch();
 
         // Act: Call the service method
         Item createdItem = itemService.createItem(itemDTO);
@@ -252,31 +254,25 @@ public class ItemServiceTests {
         }
         verify(itemRepository).save(any(Item.class));
 
-        // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
-
-        // Assert: Verify event logging
-        verify(eventService).logEvent(
-                eq(ResourceType.ITEM), eq(mockItem.getId()),
-                eq(EventChangeType.CREATE), payloadCaptor.capture());
+        // Assert: Verify the create and its ADD_CHILD entries were logged as one batch
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getAction()).isEqualTo(EventChangeType.CREATE);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getChange)
+                .contains(
+                        tuple(ResourceType.ITEM, EventChangeType.CREATE),
+                        tuple(ResourceType.PROJECT, EventChangeType.ADD_CHILD));
 
         // Assert: Verify the payload contains the expected values
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", createdItem.getName());
-        assertThat(capturedPayload)
-                .containsEntry("description", createdItem.getDescription());
-        assertThat(capturedPayload)
-                .containsEntry("tags", createdItem.getTags());
-        assertThat(capturedPayload)
-                .containsEntry("quantity", createdItem.getQuantity());
+        CreatePayload capturedPayload = findPayload(batch, ResourceType.ITEM, EventChangeType.CREATE);
+        assertThat(capturedPayload.name()).isEqualTo(createdItem.getName());
+        assertThat(capturedPayload.description()).isEqualTo(createdItem.getDescription());
+        assertThat(capturedPayload.tags()).isEqualTo(createdItem.getTags());
+        assertThat(capturedPayload.quantity()).isEqualTo(createdItem.getQuantity());
         if (isOrgUnitProvided) {
-            assertThat(capturedPayload)
-                    .containsEntry("orgUnitId", createdItem.getOrgUnit().getId());
+            assertThat(capturedPayload.orgUnitId()).isEqualTo(createdItem.getOrgUnit().getId());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("orgUnitId", mockOrgUnit.getId());
+            assertThat(capturedPayload.orgUnitId()).isNull();
         }
     }
 
@@ -367,8 +363,7 @@ public class ItemServiceTests {
                 .isEqualTo(updateQuantity ? newQuantity : oldQuantity);
 
         // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<FieldChangePayload> payloadCaptor = ArgumentCaptor.forClass(FieldChangePayload.class);
 
         // Verify the event was logged
         verify(eventService).logEvent(
@@ -376,29 +371,22 @@ public class ItemServiceTests {
                 eq(EventChangeType.UPDATE), payloadCaptor.capture());
 
         // Assert: Verify the payload contains the expected changes
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", savedItem.getName());
+        FieldChangePayload capturedPayload = payloadCaptor.getValue();
+        assertThat(capturedPayload.name()).isEqualTo(savedItem.getName());
         if (updateDescription) {
-            assertThat(capturedPayload)
-                    .containsEntry("description", savedItem.getDescription());
+            assertThat(capturedPayload.description()).isEqualTo(savedItem.getDescription());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("description", savedItem.getDescription());
+            assertThat(capturedPayload.description()).isNull();
         }
         if (updateTags) {
-            assertThat(capturedPayload)
-                    .containsEntry("tags", savedItem.getTags());
+            assertThat(capturedPayload.tags()).isEqualTo(savedItem.getTags());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("tags", savedItem.getTags());
+            assertThat(capturedPayload.tags()).isNull();
         }
         if (updateQuantity) {
-            assertThat(capturedPayload)
-                    .containsEntry("quantity", savedItem.getQuantity());
+            assertThat(capturedPayload.quantity()).isEqualTo(savedItem.getQuantity());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("quantity", savedItem.getQuantity());
+            assertThat(capturedPayload.quantity()).isNull();
         }
     }
 
@@ -430,7 +418,7 @@ public class ItemServiceTests {
             mockAssignedItemInRepository(resourceId);
 
             // Arrange: Mock event logging
-            mockLogEvent();
+            mockLogBatch();
 
             // Act: Call the service method
             itemService.deleteItemById(resourceId);
@@ -440,9 +428,11 @@ public class ItemServiceTests {
             verify(itemRepository).deleteById(resourceId);
 
             // Assert: Verify event logging
-            verify(eventService).logEvent(
-                    eq(ResourceType.ITEM), eq(resourceId),
-                    eq(EventChangeType.DELETE), isNull());
+            EventBatch batch = captureLoggedBatch();
+            assertThat(batch.getEntries())
+                    .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                            EventBatch.Entry::getChange)
+                    .contains(tuple(ResourceType.ITEM, resourceId, EventChangeType.DELETE));
         } else {
             // Arrange: Stub the repository to simulate not finding item
             mockNonexistentItemInRepository(resourceId);
@@ -467,8 +457,12 @@ public class ItemServiceTests {
 
         // Arrange: Mock items to move
         Long resourceId = 1L;
+        mockOwnedItems(List.of(resourceId));
         if (itemExists) {
-            mockUnassignedItemInRepository(resourceId);
+            mockPlacements(List.of(resourceId), placement(resourceId, mockProject.getId(), null));
+            mockLogBatch();
+            mockReload(List.of(resourceId), mockAssignedItem(resourceId, mockOrgUnit));
+
             // Act: Call the service method
             Iterable<Item> movedItems = itemService.assignItemsToOrgUnit(List.of(resourceId),
                     mockOrgUnit.getId());
@@ -479,17 +473,17 @@ public class ItemServiceTests {
                     .allMatch(item -> item.getOrgUnit().equals(mockOrgUnit));
 
             // Verify interactions
-            verify(itemRepository).findById(resourceId);
-            verify(orgUnitRepository).save(any(OrgUnit.class));
+            verify(itemRepository).assignOrgUnitByIdIn(mockOrgUnit.getId(), List.of(resourceId));
         } else {
-            mockNonexistentItemInRepository(resourceId);
+            mockPlacements(List.of(resourceId));
             // Assert: Expect ResourceNotFoundException
             assertThrows(ResourceNotFoundException.class,
                     () -> itemService.assignItemsToOrgUnit(List.of(resourceId), mockOrgUnit.getId()),
                     description);
 
-            // Verify no interactions with the repository save method
-            verify(itemRepository, never()).save(any(Item.class));
+            // Verify no update or event was issued
+            verify(itemRepository, never()).assignOrgUnitByIdIn(anyLong(), any());
+            verify(eventService, never()).logBatch(any(EventBatch.class));
         }
     }
 
@@ -498,35 +492,58 @@ public class ItemServiceTests {
         // Arrange: Use the existing mockOrgUnit as the target
         mockOrgUnitLookup();
 
-        // Mock unassigned item
-        Item unassignedItem = mockUnassignedItemInRepository(1L);
-
-        // Mock a previously assigned item
-        OrgUnit previousOrgUnit = new TestDataFactory.OrgUnitBuilder().id(10L).project(mockProject).build();
-        Item assignedItem = mockAssignedItemInRepository(3L, previousOrgUnit);
+        // Arrange: One unassigned item and one previously assigned item, listed twice
+        Long previousOrgUnitId = 10L;
+        List<Long> itemIds = List.of(1L, 3L);
+        mockOwnedItems(itemIds);
+        mockPlacements(itemIds,
+                placement(3L, mockProject.getId(), previousOrgUnitId),
+                placement(1L, mockProject.getId(), null));
+        mockLogBatch();
+        mockReload(itemIds, mockAssignedItem(3L, mockOrgUnit), mockAssignedItem(1L, mockOrgUnit));
 
         // Act: Assign multiple items
-        Iterable<Item> movedItems = itemService.assignItemsToOrgUnit(
-                List.of(unassignedItem.getId(), assignedItem.getId()),
-                mockOrgUnit.getId());
+        List<Item> movedItems = itemService.assignItemsToOrgUnit(List.of(1L, 3L, 1L), mockOrgUnit.getId());
 
-        // Assert: Verify all items are assigned to the target org unit
+        // Assert: Items are returned once each, in request order, in the target org unit
+        assertThat(movedItems).extracting(Item::getId).containsExactly(1L, 3L);
         assertThat(movedItems).allMatch(item -> item.getOrgUnit().equals(mockOrgUnit));
 
-        // Verify unassignment and reassignment for the previously assigned item
-        verify(orgUnitRepository).save(previousOrgUnit); // Unassign
-        verify(orgUnitRepository, times(2)).save(mockOrgUnit); // Assign all items
-        verify(itemRepository, times(2)).findById(anyLong());
-
-        verify(eventService, times(1)).logMoveEvent(
-                eq(ResourceType.ITEM), eq(assignedItem.getId()),
-                eq(ResourceType.ORGANIZATIONAL_UNIT), eq(previousOrgUnit.getId()),
-                eq(mockOrgUnit.getId()));
+        // Assert: One UPDATE for all items
+        verify(itemRepository).assignOrgUnitByIdIn(mockOrgUnit.getId(), itemIds);
+        verify(itemRepository, never()).findById(anyLong());
+
+        // Assert: One event with a MOVE per item and the matching child changes
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getAction()).isEqualTo(EventChangeType.UPDATE);
+        assertThat(batch.getProject()).isEqualTo(mockProject);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                        EventBatch.Entry::getChange)
+                .containsExactlyInAnyOrder(
+                        tuple(ResourceType.ITEM, 1L, EventChangeType.MOVE),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, mockOrgUnit.getId(), EventChangeType.ADD_CHILD),
+                        tuple(ResourceType.ITEM, 3L, EventChangeType.MOVE),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, previousOrgUnitId, EventChangeType.REMOVE_CHILD),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, mockOrgUnit.getId(), EventChangeType.ADD_CHILD));
+    }
 
-        verify(eventService, times(1)).logMoveEvent(
-                eq(ResourceType.ITEM), eq(unassignedItem.getId()),
-                eq(ResourceType.ORGANIZATIONAL_UNIT), isNull(),
-                eq(mockOrgUnit.getId()));
+    @Test
+    void assignItemsToOrgUnit_ShouldSkipItemsAlreadyInTarget() {
+        // Arrange: The only item is already in the target org unit
+        mockOrgUnitLookup();
+        List<Long> itemIds = List.of(1L);
+        mockOwnedItems(itemIds);
+        mockPlacements(itemIds, placement(1L, mockProject.getId(), mockOrgUnit.getId()));
+        mockReload(itemIds, mockAssignedItem(1L, mockOrgUnit));
+
+        // Act
+        List<Item> movedItems = itemService.assignItemsToOrgUnit(itemIds, mockOrgUnit.getId());
+
+        // Assert: The item is returned, but nothing is written or logged
+        assertThat(movedItems).extracting(Item::getId).containsExactly(1L);
+        verify(itemRepository, never()).assignOrgUnitByIdIn(anyLong(), any());
+        verify(eventService, never()).logBatch(any(EventBatch.class));
     }
 
     @Test
@@ -535,61 +552,73 @@ public class ItemServiceTests {
         mockOrgUnitLookup();
 
         // Mock an item from a different project
-        Project differentProject = new TestDataFactory.ProjectBuilder().id(2L).user(mockUser).build();
-        Item itemWithDifferentProject = new TestDataFactory.ItemBuilder().project(differentProject).build();
-        when(itemRepository.findById(2L)).thenReturn(Optional.of(itemWithDifferentProject));
+        List<Long> itemIds = List.of(2L);
+        mockOwnedItems(itemIds);
+        mockPlacements(itemIds, placement(2L, mockProject.getId() + 1, null));
 
         // Act & Assert: Expect IllegalArgumentException
         assertThrows(IllegalArgumentException.class,
-                () -> itemService.assignItemsToOrgUnit(List.of(2L), mockOrgUnit.getId()),
+                () -> itemService.assignItemsToOrgUnit(itemIds, mockOrgUnit.getId()),
                 "Should throw IllegalArgumentException for items from different projects");
 
         // Verify: Ensure no repository updates occurred
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemRepository, never()).assignOrgUnitByIdIn(anyLong(), any());
+        verify(eventService, never()).logBatch(any(EventBatch.class));
     }
 
     @Test
     void unassignItem_Success() {
-        // Arrange: Mock items and associate them with the org unit
-        Item item1 = mockAssignedItemInRepository(1L);
-        Item item2 = mockAssignedItemInRepository(2L);
+        // Arrange: Two items in the same org unit
+        List<Long> itemIds = List.of(1L, 2L);
+        mockOwnedItems(itemIds);
+        mockPlacements(itemIds,
+                placement(1L, mockProject.getId(), mockOrgUnit.getId()),
+                placement(2L, mockProject.getId(), mockOrgUnit.getId()));
+        mockProjectLookup();
+        mockLogBatch();
+        mockReload(itemIds, mockUnassignedItem(1L), mockUnassignedItem(2L));
 
         // Act: Call the service method
-        Iterable<Item> unassignedItems = itemService.unassignItems(List.of(item1.getId(), item2.getId()));
+        Iterable<Item> unassignedItems = itemService.unassignItems(itemIds);
 
         // Assert: Verify that each item's org unit is null
         unassignedItems.forEach(item -> assertThat(item.getOrgUnit()).isNull());
 
-        // Verify repository interactions
-        verify(itemRepository, times(2)).findById(anyLong());
-        verify(orgUnitRepository, times(2)).save(any(OrgUnit.class));
-
-        // Verify logUpdateEvent is called for both items
-        verify(eventService, times(2)).logMoveEvent(
-                eq(ResourceType.ITEM), anyLong(),
-                eq(ResourceType.ORGANIZATIONAL_UNIT),
-                anyLong(),
-                isNull());
+        // Verify one UPDATE for all items
+        verify(itemRepository).clearOrgUnitByIdIn(itemIds);
+
+        // Verify one event with a MOVE and REMOVE_CHILD per item
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getProject()).isEqualTo(mockProject);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                        EventBatch.Entry::getChange)
+                .containsExactlyInAnyOrder(
+                        tuple(ResourceType.ITEM, 1L, EventChangeType.MOVE),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, mockOrgUnit.getId(), EventChangeType.REMOVE_CHILD),
+                        tuple(ResourceType.ITEM, 2L, EventChangeType.MOVE),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, mockOrgUnit.getId(), EventChangeType.REMOVE_CHILD));
     }
 
     @Test
     void unassignItems_ItemNotFound_ShouldThrowResourceNotFoundException() {
         // Arrange: Set up a non-existent item ID
-        Long nonExistentItemId = 999L;
-        mockNonexistentItemInRepository(nonExistentItemId);
+        List<Long> itemIds = List.of(999L);
+        mockOwnedItems(itemIds);
+        mockPlacements(itemIds);
 
         // Act & Assert: Expect ResourceNotFoundException
-        assertThrows(ResourceNotFoundException.class, () -> itemService.unassignItems(List.of(nonExistentItemId)));
+        assertThrows(ResourceNotFoundException.class, () -> itemService.unassignItems(itemIds));
 
-        // Verify: Ensure save was never called
-        verify(itemRepository, never()).save(any(Item.class));
+        // Verify: Ensure no update was issued
+        verify(itemRepository, never()).clearOrgUnitByIdIn(any());
     }
 
     @Test
     void shouldThrowAccessDeniedExceptionWhenUserDoesNotOwnItem() {
-        // Overwrite the default stub for `isResourceOwner` to deny access to the item
+        // Arrange: Report every ID as not owned by the current user
         List<Long> itemIds = List.of(1L, 2L, 3L);
-        when(securityService.isResourceOwner(anyLong(), eq(ResourceType.ITEM))).thenReturn(false);
+        when(securityService.getUnownedResourceIds(itemIds, ResourceType.ITEM)).thenReturn(itemIds);
 
         // Act & Assert:
         assertThrows(AccessDeniedException.class, () -> {
@@ -607,16 +636,40 @@ public class ItemServiceTests {
         return mockItem;
     }
 
-    private Item mockAssignedItemInRepository(Long resourceId, OrgUnit orgUnit) {
-        Item mockItem = new TestDataFactory.ItemBuilder().id(resourceId).orgUnit(orgUnit).build();
-        when(itemRepository.findById(resourceId)).thenReturn(Optional.of(mockItem));
-        return mockItem;
+    private Item mockAssignedItem(Long resourceId, OrgUnit orgUnit) {
+        return new TestDataFactory.ItemBuilder().id(resourceId).orgUnit(orgUnit).build();
     }
 
-    private Item mockUnassignedItemInRepository(Long resourceId) {
-        Item mockItem = new TestDataFactory.ItemBuilder().id(resourceId).project(mockProject).build();
-        when(itemRepository.findById(resourceId)).thenReturn(Optional.of(mockItem));
-        return mockItem;
+    private Item mockUnassignedItem(Long resourceId) {
+        return new TestDataFactory.ItemBuilder().id(resourceId).project(mockProject).build();
+    }
+
+    private void mockOwnedItems(List<Long> itemIds) {
+        when(securityService.getUnownedResourceIds(itemIds, ResourceType.ITEM)).thenReturn(List.of());
+    }
+
+    private void mockPlacements(List<Long> itemIds, ResourcePlacementProjection... placements) {
+        when(itemRepository.findPlacementsByIdIn(itemIds)).thenReturn(List.of(placements));
+    }
+
+    private void mockReload(List<Long> itemIds, Item... items) {
+        when(itemRepository.findAllWithPlacementByIdIn(itemIds)).thenReturn(List.of(items));
+    }
+
+    private ResourcePlacementProjection placement(Long id, Long projectId, Long parentId) {
+        return new ResourcePlacementProjection() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            public Long getParentId() {
+                return parentId;
+            }
+        };
     }
 
     private void mockOrgUnitLookup() {
@@ -631,4 +684,21 @@ public class ItemServiceTests {
         when(eventService.logEvent(any(), anyLong(), any(), any())).thenReturn(new Event());
     }
 
+    private void mockLogBatch() {
+        when(eventService.logBatch(any(EventBatch.class))).thenReturn(new Event());
+    }
+
+    private EventBatch captureLoggedBatch() {
+        ArgumentCaptor<EventBatch> batchCaptor = ArgumentCaptor.forClass(EventBatch.class);
+        verify(eventService).logBatch(batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+
+    private CreatePayload findPayload(EventBatch batch, ResourceType entityType, EventChangeType change) {
+        return batch.getEntries().stream()
+                .filter(entry -> entry.getEntityType() == entityType && entry.getChange() == change)
+                .map(entry -> (CreatePayload) entry.getPayload())
+                .findFirst()
+                .orElseThrow();
+    }
 }
@@ -0,0 +1,132 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+
+import app.cluttermap.config.JwtConfig;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtKeyServiceTests {
+    private static final String CURRENT_SECRET = "current-secret-that-is-at-least-256-bits-long";
+    private static final String PREVIOUS_SECRET = "previous-secret-that-is-at-least-256-bits-long";
+    private static final Instant ROTATION_ENDS = Instant.parse("2999-01-01T00:00:00Z");
+
+    @Test
+    void getSigningKey_ShouldReturnSameKeyInstance_ForEveryCall() {
+        // Arrange
+        JwtKeyService jwtKeyService = new JwtKeyService(createJwtConfig());
+
+        // Act & Assert: The key is derived once, not per token
+        assertSame(jwtKeyService.getSigningKey(), jwtKeyService.getSigningKey());
+    }
+
+    @Test
+    void getActiveVerificationKeys_ShouldIncludePreviousKey_DuringOverlapWindow() {
+        // Arrange: One hour before the previous key expires
+        JwtKeyService jwtKeyService = createServiceAt(ROTATION_ENDS.minusSeconds(3600));
+
+        // Act
+        List<JWK> keys = jwtKeyService.getActiveVerificationKeys();
+
+        // Assert
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("current", "previous");
+    }
+
+    @Test
+    void getActiveVerificationKeys_ShouldDropPreviousKey_AfterOverlapWindow() {
+        // Arrange: Right when the previous key expires
+        JwtKeyService jwtKeyService = createServiceAt(ROTATION_ENDS);
+
+        // Act
+        List<JWK> keys = jwtKeyService.getActiveVerificationKeys();
+
+        // Assert
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("current");
+    }
+
+    @Test
+    void getVerificationKeySource_ShouldSelectKeyByKid() throws Exception {
+        // Arrange
+        JwtKeyService jwtKeyService = createServiceAt(ROTATION_ENDS.minusSeconds(3600));
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("previous").build();
+
+        // Act
+        List<JWK> selected = jwtKeyService.getVerificationKeySource()
+                .get(new JWKSelector(JWKMatcher.forJWSHeader(header)), null);
+
+        // Assert
+        assertThat(selected).extracting(JWK::getKeyID).containsExactly("previous");
+    }
+
+    @Test
+    void createJwtDecoder_ShouldAcceptTokensSignedWithCurrentOrPreviousKey() {
+        // Arrange: A token from before the rotation and one signed with the new key
+        JwtKeyService jwtKeyService = new JwtKeyService(createJwtConfig());
+        JwtDecoder jwtDecoder = jwtKeyService.createJwtDecoder();
+
+        String oldToken = Jwts.builder()
+                .setHeaderParam("kid", "previous")
+                .setSubject("1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(PREVIOUS_SECRET.getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+        String newToken = Jwts.builder()
+                .setHeaderParam("kid", jwtKeyService.getSigningKeyId())
+                .setSubject("2")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(jwtKeyService.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertEquals("1", jwtDecoder.decode(oldToken).getSubject());
+        assertEquals("2", jwtDecoder.decode(newToken).getSubject());
+    }
+
+    @Test
+    void constructor_ShouldThrowException_WhenPreviousKeyReusesCurrentKeyId() {
+        // Arrange
+        JwtConfig jwtConfig = createJwtConfig();
+        jwtConfig.getPreviousKeys().get(0).setKeyId("current");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyService(jwtConfig));
+    }
+
+    private JwtKeyService createServiceAt(Instant now) {
+        return new JwtKeyService(createJwtConfig(), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private JwtConfig createJwtConfig() {
+        JwtConfig.PreviousKey previousKey = new JwtConfig.PreviousKey();
+        previousKey.setKeyId("previous");
+        previousKey.setSecretKey(PREVIOUS_SECRET);
+        previousKey.setValidUntil(ROTATION_ENDS);
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey(CURRENT_SECRET);
+        jwtConfig.setKeyId("current");
+        jwtConfig.getPreviousKeys().add(previousKey);
+        return jwtConfig;
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,7 +37,7 @@ import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewOrgUnitDTO;
 import app.cluttermap.model.dto.UpdateOrgUnitDTO;
 import app.cluttermap.repository.OrgUnitRepository;
-import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.ResourceType;
 
 @SpringBootTest
@@ -56,9 +57,6 @@ public class OrgUnitServiceSecurityTests {
     @MockBean
     private OrgUnitRepository orgUnitRepository;
 
-    @MockBean
-    private RoomRepository roomRepository;
-
     @MockBean
     private EventService eventService;
 
@@ -249,34 +247,39 @@ public class OrgUnitServiceSecurityTests {
         // Arrange: Prepare mock data and configure security service
         Long resourceId = 1L;
         ResourceType resourceType = ResourceType.ORGANIZATIONAL_UNIT;
-        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+        mockOrgUnitOwnership(resourceId, isOwner);
 
         Room mockRoom = createMockRoom(mockProject);
 
         if (isOwner) {
+            mockPlacement(resourceId, null);
+            mockOrgUnit.setRoom(mockRoom);
+            when(orgUnitRepository.findAllWithPlacementByIdIn(List.of(resourceId))).thenReturn(List.of(mockOrgUnit));
+
             // Act: Call the method under test
-            Iterable<OrgUnit> orgUnits = orgUnitService.assignOrgUnitsToRoom(List.of(resourceId), mockOrgUnit.getId());
+            Iterable<OrgUnit> orgUnits = orgUnitService.assignOrgUnitsToRoom(List.of(resourceId), mockRoom.getId());
 
             // Assert: Validate successful assignment
             assertAll(
                     () -> assertNotNull(orgUnits, "OrgUnits list should not be null when the user has ownership."),
-                    () -> assertEquals(mockRoom, mockOrgUnit.getRoom(),
+                    () -> assertEquals(mockRoom, orgUnits.iterator().next().getRoom(),
                             description));
 
-            // Verify: Ensure room retrieval occurred
+            // Verify: Ensure room retrieval and the bulk update occurred
             verify(roomService).getRoomById(mockRoom.getId());
+            verify(orgUnitRepository).assignRoomByIdIn(mockRoom.getId(), List.of(resourceId));
         } else {
             // Act & Assert: Validate access denial
             assertThrows(AccessDeniedException.class,
-                    () -> orgUnitService.assignOrgUnitsToRoom(List.of(resourceId), mockOrgUnit.getId()),
+                    () -> orgUnitService.assignOrgUnitsToRoom(List.of(resourceId), mockRoom.getId()),
                     description);
 
-            // Verify: Ensure orgUnit repository save is never invoked
-            verify(orgUnitRepository, never()).save(any(OrgUnit.class));
+            // Verify: Ensure the bulk update is never invoked
+            verify(orgUnitRepository, never()).assignRoomByIdIn(anyLong(), any());
         }
 
         // Verify: Ensure ownership check was invoked
-        verify(securityService).isResourceOwner(resourceId, resourceType);
+        verify(securityService).getUnownedResourceIds(List.of(resourceId), resourceType);
     }
 
     @ParameterizedTest
@@ -289,31 +292,33 @@ public class OrgUnitServiceSecurityTests {
         // Arrange: Prepare mock data and configure security service
         Long resourceId = 1L;
         ResourceType resourceType = ResourceType.ORGANIZATIONAL_UNIT;
-        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+        mockOrgUnitOwnership(resourceId, isOwner);
 
         if (isOwner) {
-            // Mock interaction with orgUnit repository for authorized access
             // Ensure orgUnit is set up properly for unassignment
-            mockOrgUnitWithRoom();
+            Room mockRoom = createMockRoom(mockProject);
+            mockPlacement(resourceId, mockRoom.getId());
+            when(projectService.getProjectById(mockProject.getId())).thenReturn(mockProject);
+            when(orgUnitRepository.findAllWithPlacementByIdIn(List.of(resourceId))).thenReturn(List.of(mockOrgUnit));
 
             // Act: Call the method under test
-            Iterable<OrgUnit> orgUnits = orgUnitService.unassignOrgUnits(List.of(1L));
+            Iterable<OrgUnit> orgUnits = orgUnitService.unassignOrgUnits(List.of(resourceId));
 
             // Assert: Validate successful unassignment
             assertNotNull(orgUnits, description);
-            verify(roomRepository).save(any(Room.class));
+            verify(orgUnitRepository).clearRoomByIdIn(List.of(resourceId));
         } else {
             // Act & Assert: Validate access denial
             assertThrows(AccessDeniedException.class,
                     () -> orgUnitService.unassignOrgUnits(List.of(resourceId)),
                     description);
 
-            // Verify: Ensure orgUnit repository save is never invoked
-            verify(orgUnitRepository, never()).save(any(OrgUnit.class));
+            // Verify: Ensure the bulk update is never invoked
+            verify(orgUnitRepository, never()).clearRoomByIdIn(any());
         }
 
         // Verify: Ensure ownership check was invoked
-        verify(securityService).isResourceOwner(resourceId, resourceType);
+        verify(securityService).getUnownedResourceIds(List.of(resourceId), resourceType);
     }
 
     @ParameterizedTest
@@ -376,10 +381,17 @@ public class OrgUnitServiceSecurityTests {
         return orgUnit;
     }
 
-    private void mockOrgUnitWithRoom() {
-        Room mockRoom = createMockRoom(mockProject);
-        mockOrgUnit.setRoom(mockRoom);
-        when(orgUnitRepository.findById(mockOrgUnit.getId())).thenReturn(Optional.of(mockOrgUnit));
+    private void mockOrgUnitOwnership(Long resourceId, boolean isOwner) {
+        when(securityService.getUnownedResourceIds(List.of(resourceId), ResourceType.ORGANIZATIONAL_UNIT))
+                .thenReturn(isOwner ? List.of() : List.of(resourceId));
+    }
+
+    private void mockPlacement(Long resourceId, Long roomId) {
+        ResourcePlacementProjection placement = mock(ResourcePlacementProjection.class);
+        when(placement.getId()).thenReturn(resourceId);
+        when(placement.getProjectId()).thenReturn(mockProject.getId());
+        when(placement.getParentId()).thenReturn(roomId);
+        when(orgUnitRepository.findPlacementsByIdIn(List.of(resourceId))).thenReturn(List.of(placement));
     }
 
     private void mockLogEvent() {
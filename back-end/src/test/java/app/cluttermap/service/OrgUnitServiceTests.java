@@ -1,20 +1,18 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -41,8 +39,10 @@ import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewOrgUnitDTO;
 import app.cluttermap.model.dto.UpdateOrgUnitDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.OrgUnitRepository;
-import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ResourcePlacementProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
 
@@ -52,9 +52,6 @@ public class OrgUnitServiceTests {
     @Mock
     private OrgUnitRepository orgUnitRepository;
 
-    @Mock
-    private RoomRepository roomRepository;
-
     @Mock
     private SecurityService securityService;
 
@@ -90,7 +87,7 @@ public class OrgUnitServiceTests {
     @Test
     void getUserOrgUnits_ShouldReturnOrgUnitsOwnedByUser() {
         // Arrange: Mock the current user and org units
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
 
         OrgUnit orgUnit1 = new TestDataFactory.OrgUnitBuilder().room(mockRoom).build();
         OrgUnit orgUnit2 = new TestDataFactory.OrgUnitBuilder().room(mockRoom).build();
@@ -104,14 +101,14 @@ public class OrgUnitServiceTests {
                 .as("Org Units owned by user should be returned when they exist");
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(orgUnitRepository).findByOwnerId(mockUser.getId());
     }
 
     @Test
     void getUserOrgUnits_ShouldReturnEmptyList_WhenNoOrgUnitsExist() {
         // Arrange: Mock the current user and an empty repository result
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
         when(orgUnitRepository.findByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
 
         // Act: Call service method
@@ -123,7 +120,7 @@ public class OrgUnitServiceTests {
                 .isEmpty();
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(orgUnitRepository).findByOwnerId(mockUser.getId());
     }
 
@@ -218,7 +215,7 @@ public class OrgUnitServiceTests {
         when(orgUnitRepository.save(any(OrgUnit.class))).thenReturn(mockOrgUnit);
 
         // Arrange: Mock event logging
-        mockLogEvent();
+        mockLogBatch();
 
         // Act: Call the service method
         OrgUnit createdOrgUnit = orgUnitService.createOrgUnit(orgUnitDTO);
@@ -237,27 +234,23 @@ public class OrgUnitServiceTests {
         }
         verify(orgUnitRepository).save(any(OrgUnit.class));
 
-        // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
-
-        // Assert: Verify event logging
-        verify(eventService).logEvent(
-                eq(ResourceType.ORGANIZATIONAL_UNIT), eq(mockOrgUnit.getId()),
-                eq(EventChangeType.CREATE), payloadCaptor.capture());
+        // Assert: Verify the create and its ADD_CHILD entries were logged as one batch
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getAction()).isEqualTo(EventChangeType.CREATE);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getChange)
+                .contains(
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, EventChangeType.CREATE),
+                        tuple(ResourceType.PROJECT, EventChangeType.ADD_CHILD));
 
         // Assert: Verify the payload contains the expected values
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", createdOrgUnit.getName());
-        assertThat(capturedPayload)
-                .containsEntry("description", createdOrgUnit.getDescription());
+        CreatePayload capturedPayload = findPayload(batch, ResourceType.ORGANIZATIONAL_UNIT, EventChangeType.CREATE);
+        assertThat(capturedPayload.name()).isEqualTo(createdOrgUnit.getName());
+        assertThat(capturedPayload.description()).isEqualTo(createdOrgUnit.getDescription());
         if (isRoomProvided) {
-            assertThat(capturedPayload)
-                    .containsEntry("roomId", createdOrgUnit.getRoom().getId());
+            assertThat(capturedPayload.roomId()).isEqualTo(createdOrgUnit.getRoom().getId());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("roomId", mockRoom.getId());
+            assertThat(capturedPayload.roomId()).isNull();
         }
     }
 
@@ -332,8 +325,7 @@ public class OrgUnitServiceTests {
                 .isEqualTo(updateDescription ? newDescription : oldDescription);
 
         // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<FieldChangePayload> payloadCaptor = ArgumentCaptor.forClass(FieldChangePayload.class);
 
         // Verify the event was logged
         verify(eventService).logEvent(
@@ -341,15 +333,12 @@ public class OrgUnitServiceTests {
                 eq(EventChangeType.UPDATE), payloadCaptor.capture());
 
         // Assert: Verify the payload contains the expected changes
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", savedOrgUnit.getName());
+        FieldChangePayload capturedPayload = payloadCaptor.getValue();
+        assertThat(capturedPayload.name()).isEqualTo(savedOrgUnit.getName());
         if (updateDescription) {
-            assertThat(capturedPayload)
-                    .containsEntry("description", savedOrgUnit.getDescription());
+            assertThat(capturedPayload.description()).isEqualTo(savedOrgUnit.getDescription());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("description", savedOrgUnit.getDescription());
+            assertThat(capturedPayload.description()).isNull();
         }
     }
 
@@ -382,7 +371,7 @@ public class OrgUnitServiceTests {
             mockAssignedOrgUnitInRepository(resourceId);
 
             // Arrange: Mock event logging
-            mockLogEvent();
+            mockLogBatch();
 
             // Act: Call the service method
             orgUnitService.deleteOrgUnitById(resourceId);
@@ -392,9 +381,11 @@ public class OrgUnitServiceTests {
             verify(orgUnitRepository).delete(any(OrgUnit.class));
 
             // Verify the event was logged
-            verify(eventService).logEvent(
-                    eq(ResourceType.ORGANIZATIONAL_UNIT), eq(resourceId),
-                    eq(EventChangeType.DELETE), isNull());
+            EventBatch batch = captureLoggedBatch();
+            assertThat(batch.getEntries())
+                    .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                            EventBatch.Entry::getChange)
+                    .contains(tuple(ResourceType.ORGANIZATIONAL_UNIT, resourceId, EventChangeType.DELETE));
         } else {
             // Arrange: Stub the repository to simulate not finding org unit
             mockNonexistentOrgUnitInRepository(resourceId);
@@ -419,8 +410,12 @@ public class OrgUnitServiceTests {
 
         // Arrange: Mock org units to move
         Long resourceId = 1L;
+        mockOwnedOrgUnits(List.of(resourceId));
         if (orgUnitExists) {
-            mockUnassignedOrgUnitInRepository(resourceId);
+            mockPlacements(List.of(resourceId), placement(resourceId, mockProject.getId(), null));
+            mockLogBatch();
+            mockReload(List.of(resourceId), mockAssignedOrgUnit(resourceId, mockRoom));
+
             // Act: Call the service method
             Iterable<OrgUnit> movedOrgUnits = orgUnitService.assignOrgUnitsToRoom(List.of(resourceId),
                     mockRoom.getId());
@@ -431,17 +426,17 @@ public class OrgUnitServiceTests {
                     .allMatch(orgUnit -> orgUnit.getRoom().equals(mockRoom));
 
             // Verify interactions
-            verify(orgUnitRepository).findById(resourceId);
-            verify(roomRepository).save(any(Room.class));
+            verify(orgUnitRepository).assignRoomByIdIn(mockRoom.getId(), List.of(resourceId));
         } else {
-            mockNonexistentOrgUnitInRepository(resourceId);
+            mockPlacements(List.of(resourceId));
             // Assert: Expect ResourceNotFoundException
             assertThrows(ResourceNotFoundException.class,
                     () -> orgUnitService.assignOrgUnitsToRoom(List.of(resourceId), mockRoom.getId()),
                     description);
 
-            // Verify no interactions with the repository save method
-            verify(orgUnitRepository, never()).save(any(OrgUnit.class));
+            // Verify no update or event was issued
+            verify(orgUnitRepository, never()).assignRoomByIdIn(anyLong(), any());
+            verify(eventService, never()).logBatch(any(EventBatch.class));
         }
     }
 
@@ -450,33 +445,58 @@ public class OrgUnitServiceTests {
         // Arrange: Use the existing mockRoom as the target
         mockRoomLookup();
 
-        // Mock unassigned org unit
-        OrgUnit unassignedOrgUnit1 = mockUnassignedOrgUnitInRepository(1L);
-
-        // Mock a previously assigned org unit
-        Room previousRoom = new TestDataFactory.RoomBuilder().id(10L).project(mockProject).build();
-        OrgUnit assignedOrgUnit = mockAssignedOrgUnitInRepository(3L, previousRoom);
+        // Arrange: One unassigned org unit and one in another room, listed twice
+        Long previousRoomId = 10L;
+        List<Long> orgUnitIds = List.of(1L, 3L);
+        mockOwnedOrgUnits(orgUnitIds);
+        mockPlacements(orgUnitIds,
+                placement(3L, mockProject.getId(), previousRoomId),
+                placement(1L, mockProject.getId(), null));
+        mockLogBatch();
+        mockReload(orgUnitIds, mockAssignedOrgUnit(3L, mockRoom), mockAssignedOrgUnit(1L, mockRoom));
 
         // Act: Assign multiple org units
-        Iterable<OrgUnit> movedOrgUnits = orgUnitService.assignOrgUnitsToRoom(
-                List.of(unassignedOrgUnit1.getId(), assignedOrgUnit.getId()),
-                mockRoom.getId());
+        List<OrgUnit> movedOrgUnits = orgUnitService.assignOrgUnitsToRoom(List.of(1L, 3L, 1L), mockRoom.getId());
 
-        // Assert: Verify all org units are assigned to the target room
+        // Assert: Org units are returned once each, in request order, in the target room
+        assertThat(movedOrgUnits).extracting(OrgUnit::getId).containsExactly(1L, 3L);
         assertThat(movedOrgUnits).allMatch(orgUnit -> orgUnit.getRoom().equals(mockRoom));
 
-        // Verify unassignment and reassignment for the previously assigned org unit
-        verify(roomRepository).save(previousRoom); // Unassign
-        verify(roomRepository, times(2)).save(mockRoom); // Assign all org units
-        verify(orgUnitRepository, times(2)).findById(anyLong());
-
-        verify(eventService, times(1)).logMoveEvent(
-                eq(ResourceType.ORGANIZATIONAL_UNIT), eq(assignedOrgUnit.getId()),
-                eq(ResourceType.ROOM), eq(previousRoom.getId()), eq(mockRoom.getId()));
+        // Assert: One UPDATE for all org units
+        verify(orgUnitRepository).assignRoomByIdIn(mockRoom.getId(), orgUnitIds);
+        verify(orgUnitRepository, never()).findById(anyLong());
+
+        // Assert: One event with a MOVE per org unit and the matching child changes
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getAction()).isEqualTo(EventChangeType.UPDATE);
+        assertThat(batch.getProject()).isEqualTo(mockProject);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                        EventBatch.Entry::getChange)
+                .containsExactlyInAnyOrder(
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, 1L, EventChangeType.MOVE),
+                        tuple(ResourceType.ROOM, mockRoom.getId(), EventChangeType.ADD_CHILD),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, 3L, EventChangeType.MOVE),
+                        tuple(ResourceType.ROOM, previousRoomId, EventChangeType.REMOVE_CHILD),
+                        tuple(ResourceType.ROOM, mockRoom.getId(), EventChangeType.ADD_CHILD));
+    }
 
-        verify(eventService, times(1)).logMoveEvent(
-                eq(ResourceType.ORGANIZATIONAL_UNIT), eq(unassignedOrgUnit1.getId()),
-                eq(ResourceType.ROOM), isNull(), eq(mockRoom.getId()));
+    @Test
+    void assignOrgUnitsToRoom_ShouldSkipOrgUnitsAlreadyInTarget() {
+        // Arrange: The only org unit is already in the target room
+        mockRoomLookup();
+        List<Long> orgUnitIds = List.of(1L);
+        mockOwnedOrgUnits(orgUnitIds);
+        mockPlacements(orgUnitIds, placement(1L, mockProject.getId(), mockRoom.getId()));
+        mockReload(orgUnitIds, mockAssignedOrgUnit(1L, mockRoom));
+
+        // Act
+        List<OrgUnit> movedOrgUnits = orgUnitService.assignOrgUnitsToRoom(orgUnitIds, mockRoom.getId());
+
+        // Assert: The org unit is returned, but nothing is written or logged
+        assertThat(movedOrgUnits).extracting(OrgUnit::getId).containsExactly(1L);
+        verify(orgUnitRepository, never()).assignRoomByIdIn(anyLong(), any());
+        verify(eventService, never()).logBatch(any(EventBatch.class));
     }
 
     @Test
@@ -485,62 +505,75 @@ public class OrgUnitServiceTests {
         mockRoomLookup();
 
         // Mock an org unit from a different project
-        Project differentProject = new TestDataFactory.ProjectBuilder().id(2L).user(mockUser).build();
-        OrgUnit orgUnitWithDifferentProject = new TestDataFactory.OrgUnitBuilder().project(differentProject).build();
-        when(orgUnitRepository.findById(2L)).thenReturn(Optional.of(orgUnitWithDifferentProject));
+        List<Long> orgUnitIds = List.of(2L);
+        mockOwnedOrgUnits(orgUnitIds);
+        mockPlacements(orgUnitIds, placement(2L, mockProject.getId() + 1, null));
 
         // Act & Assert: Expect IllegalArgumentException
         assertThrows(IllegalArgumentException.class,
-                () -> orgUnitService.assignOrgUnitsToRoom(List.of(2L), mockRoom.getId()),
+                () -> orgUnitService.assignOrgUnitsToRoom(orgUnitIds, mockRoom.getId()),
                 "Should throw IllegalArgumentException for org units from different projects");
 
         // Verify: Ensure no repository updates occurred
-        verify(orgUnitRepository, never()).save(any(OrgUnit.class));
+        verify(orgUnitRepository, never()).assignRoomByIdIn(anyLong(), any());
+        verify(eventService, never()).logBatch(any(EventBatch.class));
     }
 
     @Test
     void unassignOrgUnits_Success() {
-        // Arrange: Mock org units and associate them with the room
-        OrgUnit orgUnit1 = mockAssignedOrgUnitInRepository(1L);
-        OrgUnit orgUnit2 = mockAssignedOrgUnitInRepository(2L);
+        // Arrange: Two org units in the same room
+        List<Long> orgUnitIds = List.of(1L, 2L);
+        mockOwnedOrgUnits(orgUnitIds);
+        mockPlacements(orgUnitIds,
+                placement(1L, mockProject.getId(), mockRoom.getId()),
+                placement(2L, mockProject.getId(), mockRoom.getId()));
+        mockProjectLookup();
+        mockLogBatch();
+        mockReload(orgUnitIds, mockUnassignedOrgUnit(1L), mockUnassignedOrgUnit(2L));
 
         // Act: Call the service method
-        Iterable<OrgUnit> unassignedOrgUnits = orgUnitService
-                .unassignOrgUnits(List.of(orgUnit1.getId(), orgUnit2.getId()));
+        Iterable<OrgUnit> unassignedOrgUnits = orgUnitService.unassignOrgUnits(orgUnitIds);
 
         // Assert: Verify that each org unit is now unassigned
         unassignedOrgUnits.forEach(orgUnit -> assertThat(orgUnit.getRoom()).isNull());
 
-        // Verify repository interactions
-        verify(orgUnitRepository, times(2)).findById(anyLong());
-        verify(roomRepository, times(2)).save(any(Room.class));
-
-        verify(eventService, times(2)).logMoveEvent(
-                eq(ResourceType.ORGANIZATIONAL_UNIT), anyLong(),
-                eq(ResourceType.ROOM), eq(mockRoom.getId()), isNull());
+        // Verify one UPDATE for all org units
+        verify(orgUnitRepository).clearRoomByIdIn(orgUnitIds);
+
+        // Verify one event with a MOVE and REMOVE_CHILD per org unit
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getProject()).isEqualTo(mockProject);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                        EventBatch.Entry::getChange)
+                .containsExactlyInAnyOrder(
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, 1L, EventChangeType.MOVE),
+                        tuple(ResourceType.ROOM, mockRoom.getId(), EventChangeType.REMOVE_CHILD),
+                        tuple(ResourceType.ORGANIZATIONAL_UNIT, 2L, EventChangeType.MOVE),
+                        tuple(ResourceType.ROOM, mockRoom.getId(), EventChangeType.REMOVE_CHILD));
     }
 
     @Test
     void unassignOrgUnitsFromRoom_OrgUnitNotFound_ShouldThrowOrgUnitNotFoundException() {
         // Arrange: Set up a non-existent orgUnit ID
-        Long nonExistentOrgUnitId = 999L;
-        mockNonexistentOrgUnitInRepository(nonExistentOrgUnitId);
+        List<Long> orgUnitIds = List.of(999L);
+        mockOwnedOrgUnits(orgUnitIds);
+        mockPlacements(orgUnitIds);
 
         // Act & Assert: Expect ResourceNotFoundException
         assertThrows(ResourceNotFoundException.class, () -> {
-            orgUnitService.unassignOrgUnits(List.of(nonExistentOrgUnitId));
+            orgUnitService.unassignOrgUnits(orgUnitIds);
         });
 
-        // Verify: Ensure save was never called
-        verify(orgUnitRepository, never()).save(any(OrgUnit.class));
+        // Verify: Ensure no update was issued
+        verify(orgUnitRepository, never()).clearRoomByIdIn(any());
     }
 
     @Test
     void shouldThrowAccessDeniedExceptionWhenUserDoesNotOwnOrgUnit() {
-        // Overwrite the default stub for `isResourceOwner` to deny access to the org
-        // unit
+        // Arrange: Report every ID as not owned by the current user
         List<Long> orgUnitIds = List.of(1L, 2L, 3L);
-        when(securityService.isResourceOwner(anyLong(), eq(ResourceType.ORGANIZATIONAL_UNIT))).thenReturn(false);
+        when(securityService.getUnownedResourceIds(orgUnitIds, ResourceType.ORGANIZATIONAL_UNIT)).thenReturn(orgUnitIds);
 
         // Act & Assert:
         assertThrows(AccessDeniedException.class, () -> {
@@ -558,16 +591,40 @@ public class OrgUnitServiceTests {
         return mockOrgUnit;
     }
 
-    private OrgUnit mockAssignedOrgUnitInRepository(Long resourceId, Room room) {
-        OrgUnit mockOrgUnit = new TestDataFactory.OrgUnitBuilder().id(resourceId).room(room).build();
-        when(orgUnitRepository.findById(resourceId)).thenReturn(Optional.of(mockOrgUnit));
-        return mockOrgUnit;
+    private OrgUnit mockAssignedOrgUnit(Long resourceId, Room room) {
+        return new TestDataFactory.OrgUnitBuilder().id(resourceId).room(room).build();
     }
 
-    private OrgUnit mockUnassignedOrgUnitInRepository(Long resourceId) {
-        OrgUnit mockOrgUnit = new TestDataFactory.OrgUnitBuilder().id(resourceId).project(mockProject).build();
-        when(orgUnitRepository.findById(resourceId)).thenReturn(Optional.of(mockOrgUnit));
-        return mockOrgUnit;
+    private OrgUnit mockUnassignedOrgUnit(Long resourceId) {
+        return new TestDataFactory.OrgUnitBuilder().id(resourceId).project(mockProject).build();
+    }
+
+    private void mockOwnedOrgUnits(List<Long> orgUnitIds) {
+        when(securityService.getUnownedResourceIds(orgUnitIds, ResourceType.ORGANIZATIONAL_UNIT)).thenReturn(List.of());
+    }
+
+    private void mockPlacements(List<Long> orgUnitIds, ResourcePlacementProjection... placements) {
+        when(orgUnitRepository.findPlacementsByIdIn(orgUnitIds)).thenReturn(List.of(placements));
+    }
+
+    private void mockReload(List<Long> orgUnitIds, OrgUnit... orgUnits) {
+        when(orgUnitRepository.findAllWithPlacementByIdIn(orgUnitIds)).thenReturn(List.of(orgUnits));
+    }
+
+    private ResourcePlacementProjection placement(Long id, Long projectId, Long parentId) {
+        return new ResourcePlacementProjection() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            public Long getParentId() {
+                return parentId;
+            }
+        };
     }
 
     private void mockRoomLookup() {
@@ -582,4 +639,21 @@ public class OrgUnitServiceTests {
         when(eventService.logEvent(any(), anyLong(), any(), any())).thenReturn(new Event());
     }
 
+    private void mockLogBatch() {
+        when(eventService.logBatch(any(EventBatch.class))).thenReturn(new Event());
+    }
+
+    private EventBatch captureLoggedBatch() {
+        ArgumentCaptor<EventBatch> batchCaptor = ArgumentCaptor.forClass(EventBatch.class);
+        verify(eventService).logBatch(batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+
+    private CreatePayload findPayload(EventBatch batch, ResourceType entityType, EventChangeType change) {
+        return batch.getEntries().stream()
+                .filter(entry -> entry.getEntityType() == entityType && entry.getChange() == change)
+                .map(entry -> (CreatePayload) entry.getPayload())
+                .findFirst()
+                .orElseThrow();
+    }
 }
@@ -0,0 +1,122 @@
+package app.cluttermap.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import app.cluttermap.model.dto.EntityHistoryDTO;
+import app.cluttermap.model.dto.SyncPageDTO;
+import app.cluttermap.util.EventChangeType;
+import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ProjectChangeBroadcasterTests {
+
+    @InjectMocks
+    private ProjectChangeBroadcaster projectChangeBroadcaster;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private ProjectAccessService projectAccessService;
+
+    @AfterEach
+    void tearDown() {
+        projectChangeBroadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_WithCursor_ShouldSendChangesAfterIt() {
+        // Arrange
+        List<Long> projectIds = List.of(1L, 2L);
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+
+        SyncCursor cursor = new SyncCursor(100L, 7L);
+        List<EntityHistoryDTO> changes = List.of(new EntityHistoryDTO(ResourceType.ITEM, 5L,
+                EventChangeType.UPDATE, "{\"quantity\":2}", "Jane Smith", 1L, Instant.now()));
+        when(eventService.fetchChangesAfter(projectIds, cursor, ProjectChangeBroadcaster.PAGE_SIZE))
+                .thenReturn(new SyncPageDTO(changes, "101-9", false));
+
+        // Act
+        projectChangeBroadcaster.subscribe(cursor);
+
+        // Assert: Caught up from the given cursor without waiting for a change
+        verify(eventService, timeout(1000))
+                .fetchChangesAfter(projectIds, cursor, ProjectChangeBroadcaster.PAGE_SIZE);
+    }
+
+    @Test
+    void onProjectChanged_ShouldOnlyQueryForSubscribedProjects() {
+        // Arrange: Subscribed from now on to project 1
+        List<Long> projectIds = List.of(1L);
+        SyncCursor now = new SyncCursor(200L, 0L);
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+        when(eventService.getSnapshotCursor()).thenReturn(now);
+        when(eventService.fetchChangesAfter(projectIds, now, ProjectChangeBroadcaster.PAGE_SIZE))
+                .thenReturn(new SyncPageDTO(List.of(), now.toString(), false));
+
+        projectChangeBroadcaster.subscribe(null);
+
+        // Act & Assert: Nothing is read for another project's change
+        projectChangeBroadcaster.onProjectChanged(new ProjectChangedEvent(2L));
+        verify(eventService, after(200).never()).fetchChangesAfter(anyList(), any(SyncCursor.class), anyInt());
+
+        // Act & Assert: A change in the subscribed project is looked up
+        projectChangeBroadcaster.onProjectChanged(new ProjectChangedEvent(1L));
+        verify(eventService, timeout(1000)).fetchChangesAfter(eq(projectIds), eq(now), anyInt());
+        verify(eventService, never()).fetchChangesAfter(any(SyncCursor.class), anyInt());
+    }
+
+    @Test
+    void onProjectChanged_ShouldKeepRechecking_WhileChangeIsHeldBackByOlderTransaction() {
+        // Arrange: A committed change that the first two reads cannot see yet,
+        // because an older transaction is still running
+        List<Long> projectIds = List.of(1L);
+        SyncCursor now = new SyncCursor(200L, 0L);
+        when(projectAccessService.getAccessibleProjectIds()).thenReturn(projectIds);
+        when(eventService.getSnapshotCursor()).thenReturn(now);
+
+        SyncPageDTO nothingYet = new SyncPageDTO(List.of(), now.toString(), false);
+        List<EntityHistoryDTO> changes = List.of(new EntityHistoryDTO(ResourceType.ITEM, 5L,
+                EventChangeType.UPDATE, "{\"quantity\":2}", "Jane Smith", 1L, Instant.now()));
+        when(eventService.fetchChangesAfter(projectIds, now, ProjectChangeBroadcaster.PAGE_SIZE))
+                .thenReturn(nothingYet, nothingYet, new SyncPageDTO(changes, "201-1", false));
+        when(eventService.hasChangesAfter(projectIds, now)).thenReturn(true);
+
+        projectChangeBroadcaster.subscribe(null);
+
+        // Act
+        projectChangeBroadcaster.onProjectChanged(new ProjectChangedEvent(1L));
+
+        // Assert: Read again after the first recheck also found nothing, until the
+        // change was sent
+        verify(eventService, timeout(2000).times(3))
+                .fetchChangesAfter(projectIds, now, ProjectChangeBroadcaster.PAGE_SIZE);
+        verify(eventService, timeout(1000))
+                .hasChangesAfter(eq(projectIds), argThat(cursor -> cursor.toString().equals("201-1")));
+
+        // Assert: Once caught up, nothing more is read
+        verify(eventService, after(500).times(3)).fetchChangesAfter(anyList(), any(SyncCursor.class), anyInt());
+    }
+}
@@ -1,6 +1,7 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,9 +29,11 @@ import app.cluttermap.TestDataFactory;
 import app.cluttermap.model.Event;
 import app.cluttermap.model.Project;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ProjectSnapshotDTO;
 import app.cluttermap.model.dto.UpdateProjectDTO;
 import app.cluttermap.repository.ProjectRepository;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 
 @SpringBootTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -165,6 +168,38 @@ public class ProjectServiceSecurityTests {
         verify(securityService).isResourceOwner(resourceId, resourceType);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "true, Project snapshot should be returned when user has ownership",
+            "false, AccessDeniedException should be thrown when user lacks ownership"
+    })
+    @WithMockUser(username = "testUser")
+    void getProjectSnapshot_ShouldRespectOwnership(boolean isOwner, String description) {
+        // Arrange: Prepare mock data and configure security service
+        Long resourceId = 1L;
+        ResourceType resourceType = ResourceType.PROJECT;
+        when(securityService.isResourceOwner(resourceId, resourceType)).thenReturn(isOwner);
+
+        if (isOwner) {
+            when(eventService.getSnapshotCursor()).thenReturn(new SyncCursor(42L, 0L));
+
+            // Act: Call the method under test
+            ProjectSnapshotDTO snapshot = projectService.getProjectSnapshot(resourceId);
+            // Assert: Snapshot should be returned with its cursor
+            assertNotNull(snapshot, description);
+            assertEquals("42-0", snapshot.getCursor());
+        } else {
+            // Act & Assert: Validate access denial
+            assertThrows(AccessDeniedException.class,
+                    () -> projectService.getProjectSnapshot(resourceId),
+                    description);
+            verify(eventService, never()).getSnapshotCursor();
+        }
+
+        // Verify: Ensure ownership check was invoked
+        verify(securityService).isResourceOwner(resourceId, resourceType);
+    }
+
     private Project createMockProject() {
         User user = new User("mockProviderId");
         Project project = new TestDataFactory.ProjectBuilder().user(user).build();
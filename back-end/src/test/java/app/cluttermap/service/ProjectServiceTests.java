@@ -1,20 +1,22 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -33,13 +35,28 @@ import app.cluttermap.TestDataFactory;
 import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.exception.project.ProjectLimitReachedException;
 import app.cluttermap.model.Event;
+import app.cluttermap.model.Item;
+import app.cluttermap.model.OrgUnit;
 import app.cluttermap.model.Project;
+import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
+import app.cluttermap.model.dto.ItemDTO;
 import app.cluttermap.model.dto.NewProjectDTO;
+import app.cluttermap.model.dto.OrgUnitDTO;
+import app.cluttermap.model.dto.ProjectDTO;
+import app.cluttermap.model.dto.ProjectSnapshotDTO;
+import app.cluttermap.model.dto.RoomDTO;
 import app.cluttermap.model.dto.UpdateProjectDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
 import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ProjectChildProjection;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
+import app.cluttermap.util.SyncCursor;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -47,6 +64,15 @@ public class ProjectServiceTests {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private OrgUnitRepository orgUnitRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
     @Mock
     private SecurityService securityService;
 
@@ -70,7 +96,7 @@ public class ProjectServiceTests {
     @Test
     void getUserProjects_ShouldReturnProjectsOwnedByUser() {
         // Arrange: Mock the current user and projects
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
 
         Project project1 = new TestDataFactory.ProjectBuilder().user(mockUser).build();
         Project project2 = new TestDataFactory.ProjectBuilder().user(mockUser).build();
@@ -84,14 +110,14 @@ public class ProjectServiceTests {
                 .as("Projects owned by user should be returned when they exist");
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(projectRepository).findByOwnerId(mockUser.getId());
     }
 
     @Test
     void getUserProjects_ShouldReturnEmptyList_WhenNoProjectsExist() {
         // Arrange: Mock the current user and an empty repository result
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
         when(projectRepository.findByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
 
         // Act: Call service method
@@ -103,10 +129,49 @@ public class ProjectServiceTests {
                 .isEmpty();
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(projectRepository).findByOwnerId(mockUser.getId());
     }
 
+    @Test
+    void getUserProjectDTOs_ShouldGroupChildIdsByProject_WithOneQuery() {
+        // Arrange: Two projects, only the first of which has children
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
+
+        Project project1 = new TestDataFactory.ProjectBuilder().id(1L).user(mockUser).build();
+        Project project2 = new TestDataFactory.ProjectBuilder().id(2L).user(mockUser).build();
+        when(projectRepository.findByOwnerId(mockUser.getId())).thenReturn(List.of(project1, project2));
+        List<ProjectChildProjection> children = List.of(
+                mockChild(1L, ResourceType.ROOM, 10L),
+                mockChild(1L, ResourceType.ORGANIZATIONAL_UNIT, 20L),
+                mockChild(1L, ResourceType.ITEM, 30L),
+                mockChild(1L, ResourceType.ITEM, 31L));
+        when(projectRepository.findChildIdsByProjectIdIn(List.of(1L, 2L))).thenReturn(children);
+
+        // Act
+        List<ProjectDTO> projectDTOs = projectService.getUserProjectDTOs();
+
+        // Assert: Children are listed by project and type, and nothing is loaded
+        assertThat(projectDTOs)
+                .extracting(ProjectDTO::getId, ProjectDTO::getRoomIds, ProjectDTO::getOrgUnitIds,
+                        ProjectDTO::getItemIds)
+                .containsExactly(
+                        tuple(1L, List.of(10L), List.of(20L), List.of(30L, 31L)),
+                        tuple(2L, List.of(), List.of(), List.of()));
+        verifyNoInteractions(roomRepository, orgUnitRepository, itemRepository);
+    }
+
+    @Test
+    void getUserProjectDTOs_ShouldNotQueryChildren_WhenNoProjectsExist() {
+        // Arrange
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
+        when(projectRepository.findByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertThat(projectService.getUserProjectDTOs()).isEmpty();
+        verify(projectRepository, never()).findChildIdsByProjectIdIn(any());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "true, Project should be returned when it exists",
@@ -142,6 +207,31 @@ public class ProjectServiceTests {
         verify(projectRepository).findById(anyLong());
     }
 
+    @Test
+    void getProjectSnapshot_ShouldReturnEveryResourceWithCursor() {
+        // Arrange: A project with one room, org unit and item, nested in each other
+        Project project = new TestDataFactory.ProjectBuilder().name("Snapshot Project").user(mockUser).build();
+        Room room = new TestDataFactory.RoomBuilder().id(10L).project(project).build();
+        OrgUnit orgUnit = new TestDataFactory.OrgUnitBuilder().id(20L).room(room).build();
+        Item item = new TestDataFactory.ItemBuilder().id(30L).orgUnit(orgUnit).build();
+
+        when(projectRepository.findById(project.getId())).thenReturn(Optional.of(project));
+        when(roomRepository.findAllForSnapshotByProjectId(project.getId())).thenReturn(List.of(room));
+        when(orgUnitRepository.findAllForSnapshotByProjectId(project.getId())).thenReturn(List.of(orgUnit));
+        when(itemRepository.findAllForSnapshotByProjectId(project.getId())).thenReturn(List.of(item));
+        when(eventService.getSnapshotCursor()).thenReturn(new SyncCursor(42L, 0L));
+
+        // Act
+        ProjectSnapshotDTO snapshot = projectService.getProjectSnapshot(project.getId());
+
+        // Assert: Everything comes back flat, linked by IDs, with the /sync cursor
+        assertThat(snapshot.getProjectName()).isEqualTo("Snapshot Project");
+        assertThat(snapshot.getRooms()).extracting(RoomDTO::getOrgUnitIds).containsExactly(List.of(20L));
+        assertThat(snapshot.getOrgUnits()).extracting(OrgUnitDTO::getItemIds).containsExactly(List.of(30L));
+        assertThat(snapshot.getItems()).extracting(ItemDTO::getOrgUnitId).containsExactly(Optional.of(20L));
+        assertThat(snapshot.getCursor()).isEqualTo("42-0");
+    }
+
     @Test
     void createProject_ShouldCreateProject_WhenValid() {
         // Arrange: Set up mocks for the current user with no existing project
@@ -171,8 +261,7 @@ public class ProjectServiceTests {
         verify(projectRepository).save(any(Project.class));
 
         // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<CreatePayload> payloadCaptor = ArgumentCaptor.forClass(CreatePayload.class);
 
         // Assert: Verify event logging
         verify(eventService).logEvent(
@@ -180,9 +269,8 @@ public class ProjectServiceTests {
                 eq(EventChangeType.CREATE), payloadCaptor.capture());
 
         // Assert: Verify the payload contains the expected values
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", createdProject.getName());
+        CreatePayload capturedPayload = payloadCaptor.getValue();
+        assertThat(capturedPayload.name()).isEqualTo(createdProject.getName());
     }
 
     @Test
@@ -250,8 +338,7 @@ public class ProjectServiceTests {
         assertThat(savedProject.getName()).isEqualTo(projectDTO.getName());
 
         // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<FieldChangePayload> payloadCaptor = ArgumentCaptor.forClass(FieldChangePayload.class);
 
         // Verify the event was logged
         verify(eventService).logEvent(
@@ -259,9 +346,8 @@ public class ProjectServiceTests {
                 eq(EventChangeType.UPDATE), payloadCaptor.capture());
 
         // Assert: Verify the payload contains the expected changes
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", savedProject.getName());
+        FieldChangePayload capturedPayload = payloadCaptor.getValue();
+        assertThat(capturedPayload.name()).isEqualTo(savedProject.getName());
     }
 
     @Test
@@ -322,4 +408,11 @@ public class ProjectServiceTests {
         when(eventService.logEvent(any(), anyLong(), any(), any())).thenReturn(new Event());
     }
 
+    private ProjectChildProjection mockChild(Long projectId, ResourceType childType, Long childId) {
+        ProjectChildProjection child = mock(ProjectChildProjection.class);
+        when(child.getProjectId()).thenReturn(projectId);
+        when(child.getChildType()).thenReturn(childType);
+        when(child.getChildId()).thenReturn(childId);
+        return child;
+    }
 }
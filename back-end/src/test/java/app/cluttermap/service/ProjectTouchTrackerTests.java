@@ -0,0 +1,98 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.cluttermap.repository.ProjectRepository;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ProjectTouchTrackerTests {
+
+    @InjectMocks
+    private ProjectTouchTracker projectTouchTracker;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(projectTouchTracker);
+    }
+
+    @Test
+    void touch_WithoutTransaction_ShouldWriteImmediately() {
+        // Arrange
+        Instant timestamp = Instant.parse("2025-01-01T00:00:00Z");
+
+        // Act
+        projectTouchTracker.touch(1L, timestamp);
+
+        // Assert
+        verify(projectRepository).touch(1L, timestamp);
+    }
+
+    @Test
+    void touch_InTransaction_ShouldWriteLatestTimestampOncePerProjectBeforeCommit() {
+        // Arrange
+        Instant first = Instant.parse("2025-01-01T00:00:00Z");
+        Instant second = Instant.parse("2025-01-01T00:00:05Z");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        projectTouchTracker.touch(2L, first);
+        projectTouchTracker.touch(1L, second);
+        projectTouchTracker.touch(2L, second);
+        projectTouchTracker.touch(1L, first);
+
+        // Assert: Nothing is written until the transaction commits
+        verify(projectRepository, never()).touch(anyLong(), any(Instant.class));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+
+        // Assert: One write per project, in ID order, with the latest timestamp
+        InOrder order = inOrder(projectRepository);
+        order.verify(projectRepository).touch(1L, second);
+        order.verify(projectRepository).touch(2L, second);
+        verify(projectRepository, times(2)).touch(anyLong(), any(Instant.class));
+    }
+
+    @Test
+    void touch_AfterCompletion_ShouldStartNewBatch() {
+        // Arrange
+        Instant timestamp = Instant.parse("2025-01-01T00:00:00Z");
+        TransactionSynchronizationManager.initSynchronization();
+        projectTouchTracker.touch(1L, timestamp);
+
+        // Act: Complete the transaction
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert: The pending touches were released with the transaction
+        assertThat(TransactionSynchronizationManager.hasResource(projectTouchTracker)).isFalse();
+    }
+}
@@ -0,0 +1,128 @@
+package app.cluttermap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.WebRequest;
+
+import app.cluttermap.exception.ResourceNotFoundException;
+import app.cluttermap.repository.ItemRepository;
+import app.cluttermap.repository.OrgUnitRepository;
+import app.cluttermap.repository.ProjectRepository;
+import app.cluttermap.repository.RoomRepository;
+import app.cluttermap.repository.projection.ProjectSetVersionProjection;
+import app.cluttermap.repository.projection.ProjectVersionProjection;
+import app.cluttermap.util.ResourceType;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ProjectVersionServiceTests {
+
+    @InjectMocks
+    private ProjectVersionService projectVersionService;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private OrgUnitRepository orgUnitRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Spy
+    private AuthorizationContext authorizationContext;
+
+    @Mock
+    private WebRequest request;
+
+    @Test
+    void checkNotModified_ShouldTagWithProjectVersion_WhenUserOwnsResource() {
+        // Arrange: An item in a project owned by the current user
+        Instant lastUpdated = Instant.parse("2024-01-01T00:00:00.000123Z");
+        ProjectVersionProjection version = mockVersion(1L);
+        when(version.getLastUpdated()).thenReturn(lastUpdated);
+        when(itemRepository.findProjectVersionById(5L)).thenReturn(Optional.of(version));
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+        when(request.checkNotModified(anyString(), anyLong())).thenReturn(true);
+
+        // Act
+        boolean notModified = projectVersionService.checkNotModified(ResourceType.ITEM, 5L, request);
+
+        // Assert: Tagged with the project's version to the microsecond
+        assertThat(notModified).isTrue();
+        verify(request).checkNotModified("\"p1704067200000123\"", lastUpdated.toEpochMilli());
+    }
+
+    @Test
+    void checkNotModified_ShouldThrowAccessDenied_WhenUserDoesNotOwnResource() {
+        // Arrange: A room in another user's project
+        ProjectVersionProjection version = mockVersion(2L);
+        when(roomRepository.findProjectVersionById(5L)).thenReturn(Optional.of(version));
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class,
+                () -> projectVersionService.checkNotModified(ResourceType.ROOM, 5L, request));
+
+        // Assert: Nothing about the project's version is revealed
+        verify(request, never()).checkNotModified(anyString(), anyLong());
+    }
+
+    @Test
+    void checkNotModified_ShouldThrowNotFound_WhenResourceDoesNotExist() {
+        // Arrange
+        when(projectRepository.findProjectVersionById(5L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> projectVersionService.checkNotModified(ResourceType.PROJECT, 5L, request));
+    }
+
+    @Test
+    void checkNotModified_ForUserProjects_ShouldTagWithCountAndUpdateSum() {
+        // Arrange: Two projects, neither updated yet
+        ProjectSetVersionProjection version = mock(ProjectSetVersionProjection.class);
+        when(version.getProjectCount()).thenReturn(2L);
+        when(version.getLastUpdatedSum()).thenReturn(BigDecimal.ZERO);
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+        when(projectRepository.findProjectSetVersionByOwnerId(1L)).thenReturn(version);
+
+        // Act
+        projectVersionService.checkNotModified(request);
+
+        // Assert
+        verify(request).checkNotModified("\"u2-0\"");
+    }
+
+    /* ------------- Helpers ------------- */
+    private ProjectVersionProjection mockVersion(Long ownerId) {
+        ProjectVersionProjection version = mock(ProjectVersionProjection.class);
+        when(version.getOwnerId()).thenReturn(ownerId);
+        return version;
+    }
+}
@@ -1,11 +1,11 @@
 package app.cluttermap.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,7 +13,6 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +37,8 @@ import app.cluttermap.model.Room;
 import app.cluttermap.model.User;
 import app.cluttermap.model.dto.NewRoomDTO;
 import app.cluttermap.model.dto.UpdateRoomDTO;
+import app.cluttermap.model.payload.CreatePayload;
+import app.cluttermap.model.payload.FieldChangePayload;
 import app.cluttermap.repository.RoomRepository;
 import app.cluttermap.util.EventChangeType;
 import app.cluttermap.util.ResourceType;
@@ -76,7 +77,7 @@ public class RoomServiceTests {
     @Test
     void getUserRooms_ShouldReturnRoomsOwnedByUser() {
         // Arrange: Mock the current user and rooms
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
 
         Room room1 = new TestDataFactory.RoomBuilder().project(mockProject).build();
         Room room2 = new TestDataFactory.RoomBuilder().project(mockProject).build();
@@ -90,14 +91,14 @@ public class RoomServiceTests {
                 .as("Rooms owned by user should be returned when they exist");
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(roomRepository).findByOwnerId(mockUser.getId());
     }
 
     @Test
     void getUserRooms_ShouldReturnEmptyList_WhenNoRoomsExist() {
         // Arrange: Mock the current user and an empty repository result
-        when(securityService.getCurrentUser()).thenReturn(mockUser);
+        when(securityService.getCurrentUserId()).thenReturn(mockUser.getId());
         when(roomRepository.findByOwnerId(mockUser.getId())).thenReturn(Collections.emptyList());
 
         // Act: Call service method
@@ -109,7 +110,7 @@ public class RoomServiceTests {
                 .isEmpty();
 
         // Verify dependencies are called as expected
-        verify(securityService).getCurrentUser();
+        verify(securityService).getCurrentUserId();
         verify(roomRepository).findByOwnerId(mockUser.getId());
     }
 
@@ -161,7 +162,7 @@ public class RoomServiceTests {
         when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
 
         // Arrange: Mock event logging
-        mockLogEvent();
+        mockLogBatch();
 
         // Act: Call the service method
         Room createdRoom = roomService.createRoom(roomDTO);
@@ -176,21 +177,19 @@ public class RoomServiceTests {
         verify(projectService).getProjectById(mockProject.getId());
         verify(roomRepository).save(any(Room.class));
 
-        // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
-
-        // Assert: Verify event logging
-        verify(eventService).logEvent(
-                eq(ResourceType.ROOM), eq(mockRoom.getId()),
-                eq(EventChangeType.CREATE), payloadCaptor.capture());
+        // Assert: Verify the create and its ADD_CHILD entries were logged as one batch
+        EventBatch batch = captureLoggedBatch();
+        assertThat(batch.getAction()).isEqualTo(EventChangeType.CREATE);
+        assertThat(batch.getEntries())
+                .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getChange)
+                .contains(
+                        tuple(ResourceType.ROOM, EventChangeType.CREATE),
+                        tuple(ResourceType.PROJECT, EventChangeType.ADD_CHILD));
 
         // Assert: Verify the payload contains the expected values
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", createdRoom.getName());
-        assertThat(capturedPayload)
-                .containsEntry("description", createdRoom.getDescription());
+        CreatePayload capturedPayload = findPayload(batch, ResourceType.ROOM, EventChangeType.CREATE);
+        assertThat(capturedPayload.name()).isEqualTo(createdRoom.getName());
+        assertThat(capturedPayload.description()).isEqualTo(createdRoom.getDescription());
     }
 
     @Disabled("Feature under development")
@@ -263,8 +262,7 @@ public class RoomServiceTests {
                 .isEqualTo(updateDescription ? newDescription : oldDescription);
 
         // Capture and verify the arguments passed to logUpdateEvent
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<FieldChangePayload> payloadCaptor = ArgumentCaptor.forClass(FieldChangePayload.class);
 
         // Verify the event was logged
         verify(eventService).logEvent(
@@ -272,15 +270,12 @@ public class RoomServiceTests {
                 eq(EventChangeType.UPDATE), payloadCaptor.capture());
 
         // Assert: Verify the payload contains the expected changes
-        Map<String, Object> capturedPayload = payloadCaptor.getValue();
-        assertThat(capturedPayload)
-                .containsEntry("name", savedRoom.getName());
+        FieldChangePayload capturedPayload = payloadCaptor.getValue();
+        assertThat(capturedPayload.name()).isEqualTo(savedRoom.getName());
         if (updateDescription) {
-            assertThat(capturedPayload)
-                    .containsEntry("description", savedRoom.getDescription());
+            assertThat(capturedPayload.description()).isEqualTo(savedRoom.getDescription());
         } else {
-            assertThat(capturedPayload)
-                    .doesNotContainEntry("description", savedRoom.getDescription());
+            assertThat(capturedPayload.description()).isNull();
         }
     }
 
@@ -312,7 +307,7 @@ public class RoomServiceTests {
             mockRoomInRepository(resourceId);
 
             // Arrange: Mock event logging
-            mockLogEvent();
+            mockLogBatch();
 
             // Act: Call the service method
             roomService.deleteRoomById(resourceId);
@@ -321,9 +316,11 @@ public class RoomServiceTests {
             // correct ID
             verify(roomRepository).delete(any(Room.class));
 
-            verify(eventService).logEvent(
-                    eq(ResourceType.ROOM), eq(resourceId),
-                    eq(EventChangeType.DELETE), isNull());
+            EventBatch batch = captureLoggedBatch();
+            assertThat(batch.getEntries())
+                    .extracting(EventBatch.Entry::getEntityType, EventBatch.Entry::getEntityId,
+                            EventBatch.Entry::getChange)
+                    .contains(tuple(ResourceType.ROOM, resourceId, EventChangeType.DELETE));
         } else {
             // Arrange: Stub the repository to simulate not finding room
             mockNonexistentRoomInRepository(resourceId);
@@ -354,4 +351,22 @@ public class RoomServiceTests {
     private void mockLogEvent() {
         when(eventService.logEvent(any(), anyLong(), any(), any())).thenReturn(new Event());
     }
+
+    private void mockLogBatch() {
+        when(eventService.logBatch(any(EventBatch.class))).thenReturn(new Event());
+    }
+
+    private EventBatch captureLoggedBatch() {
+        ArgumentCaptor<EventBatch> batchCaptor = ArgumentCaptor.forClass(EventBatch.class);
+        verify(eventService).logBatch(batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+
+    private CreatePayload findPayload(EventBatch batch, ResourceType entityType, EventChangeType change) {
+        return batch.getEntries().stream()
+                .filter(entry -> entry.getEntityType() == entityType && entry.getChange() == change)
+                .map(entry -> (CreatePayload) entry.getPayload())
+                .findFirst()
+                .orElseThrow();
+    }
 }
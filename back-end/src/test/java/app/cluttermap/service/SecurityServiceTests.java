@@ -5,28 +5,38 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
-import app.cluttermap.TestDataFactory;
+import app.cluttermap.exception.ResourceNotFoundException;
 import app.cluttermap.exception.auth.InvalidAuthenticationException;
 import app.cluttermap.exception.auth.UserNotFoundException;
-import app.cluttermap.model.Project;
+import app.cluttermap.model.AuthenticatedPrincipal;
 import app.cluttermap.model.User;
 import app.cluttermap.repository.ItemRepository;
 import app.cluttermap.repository.OrgUnitRepository;
@@ -55,7 +65,10 @@ class SecurityServiceTests {
     private ItemRepository itemRepository;
 
     @Mock
-    private EntityResolutionService entityResolutionService;
+    private OwnershipResolutionService ownershipResolutionService;
+
+    @Spy
+    private AuthorizationContext authorizationContext = new AuthorizationContext();
 
     @InjectMocks
     private SecurityService securityService;
@@ -68,6 +81,11 @@ class SecurityServiceTests {
         mockUser.setId(1L);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     private void setUpJwtAuthentication(Long userId) {
         Jwt jwt = mock(Jwt.class);
         when(jwt.getSubject()).thenReturn(userId.toString());
@@ -108,41 +126,144 @@ class SecurityServiceTests {
         assertThrows(UserNotFoundException.class, () -> securityService.getCurrentUser());
     }
 
+    @Test
+    void getCurrentPrincipal_ShouldBuildPrincipalFromClaims_WithoutLoadingUser() {
+        // Arrange: Set up a JWT carrying the claims issued by AuthService
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getSubject()).thenReturn("1");
+        when(jwt.getClaimAsString("email")).thenReturn("user@example.com");
+        when(jwt.getClaimAsString("username")).thenReturn("mockUser");
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+        // Act
+        AuthenticatedPrincipal principal = securityService.getCurrentPrincipal();
+
+        // Assert: The principal matches the claims and the database was not touched
+        assertEquals(1L, principal.getId());
+        assertEquals("user@example.com", principal.getEmail());
+        assertEquals("mockUser", principal.getUsername());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getCurrentUserId_ShouldThrowException_WhenAuthenticationIsInvalid() {
+        // Arrange: Set an invalid authentication token in the SecurityContext
+        SecurityContextHolder.getContext().setAuthentication(null);
+
+        // Act & Assert: Verify that an exception is thrown
+        assertThrows(InvalidAuthenticationException.class, () -> securityService.getCurrentUserId());
+    }
+
     @Test
     void isResourceOwner_ShouldReturnTrue_WhenUserOwnsEntity() {
         // Arrange
         setUpJwtAuthentication(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
 
-        Project project = new TestDataFactory.ProjectBuilder().user(mockUser).build();
-
-        when(entityResolutionService.resolveProject(ResourceType.PROJECT, 1L)).thenReturn(project);
+        when(ownershipResolutionService.resolveOwnerId(ResourceType.PROJECT, 1L)).thenReturn(mockUser.getId());
 
         // Act
         boolean isOwner = securityService.isResourceOwner(1L, ResourceType.PROJECT);
 
         // Assert
         assertTrue(isOwner);
-        verify(entityResolutionService, times(1)).resolveProject(ResourceType.PROJECT, 1L);
+        verify(ownershipResolutionService, times(1)).resolveOwnerId(ResourceType.PROJECT, 1L);
     }
 
     @Test
     void isResourceOwner_ShouldReturnFalse_WhenUserDoesNotOwnEntity() {
         // Arrange
         setUpJwtAuthentication(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
 
-        User anotherUser = new User("otherProviderId");
-        anotherUser.setId(2L);
-
-        Project project = new TestDataFactory.ProjectBuilder().user(anotherUser).build();
-        when(entityResolutionService.resolveProject(ResourceType.PROJECT, 1L)).thenReturn(project);
+        when(ownershipResolutionService.resolveOwnerId(ResourceType.PROJECT, 1L)).thenReturn(2L);
 
         // Act
         boolean isOwner = securityService.isResourceOwner(1L, ResourceType.PROJECT);
 
         // Assert
         assertFalse(isOwner);
-        verify(entityResolutionService, times(1)).resolveProject(ResourceType.PROJECT, 1L);
+        verify(ownershipResolutionService, times(1)).resolveOwnerId(ResourceType.PROJECT, 1L);
+    }
+
+    @Test
+    void isResourceOwner_ShouldResolveOwnerOnce_WithinSameRequest() {
+        // Arrange: Bind a request so lookups are memoized
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        setUpJwtAuthentication(1L);
+
+        when(ownershipResolutionService.resolveOwnerId(ResourceType.PROJECT, 1L)).thenReturn(mockUser.getId());
+
+        // Act: Run the same check several times, as nested @PreAuthorize calls would
+        securityService.isResourceOwner(1L, ResourceType.PROJECT);
+        securityService.isResourceOwner(1L, ResourceType.PROJECT);
+        boolean isOwner = securityService.isResourceOwner(1L, ResourceType.PROJECT);
+
+        // Assert: The user comes from the token and ownership was looked up once
+        assertTrue(isOwner);
+        verify(userRepository, never()).findById(anyLong());
+        verify(ownershipResolutionService, times(1)).resolveOwnerId(ResourceType.PROJECT, 1L);
+    }
+
+    @Test
+    void isResourceOwner_ShouldNotCache_OutsideOfRequest() {
+        // Arrange
+        setUpJwtAuthentication(1L);
+
+        when(ownershipResolutionService.resolveOwnerId(ResourceType.PROJECT, 1L)).thenReturn(mockUser.getId());
+
+        // Act
+        securityService.isResourceOwner(1L, ResourceType.PROJECT);
+        securityService.isResourceOwner(1L, ResourceType.PROJECT);
+
+        // Assert: Each call goes to the repository
+        verify(ownershipResolutionService, times(2)).resolveOwnerId(ResourceType.PROJECT, 1L);
+    }
+
+    @Test
+    void getUnownedResourceIds_ShouldReturnOnlyUnownedIds_InInputOrder() {
+        // Arrange: Item 2 belongs to another user
+        setUpJwtAuthentication(1L);
+
+        List<Long> itemIds = List.of(3L, 2L, 1L);
+        when(ownershipResolutionService.resolveOwnerIds(ResourceType.ITEM, itemIds))
+                .thenReturn(Map.of(1L, 1L, 2L, 2L, 3L, 1L));
+
+        // Act
+        List<Long> unownedIds = securityService.getUnownedResourceIds(itemIds, ResourceType.ITEM);
+
+        // Assert: Ownership was resolved with a single bulk lookup
+        assertEquals(List.of(2L), unownedIds);
+        verify(ownershipResolutionService, times(1)).resolveOwnerIds(ResourceType.ITEM, itemIds);
+        verify(ownershipResolutionService, never()).resolveOwnerId(any(ResourceType.class), anyLong());
+    }
+
+    @Test
+    void getUnownedResourceIds_ShouldThrowResourceNotFoundException_WhenIdDoesNotExist() {
+        // Arrange: Item 2 is missing from the lookup result
+        setUpJwtAuthentication(1L);
+
+        List<Long> itemIds = List.of(1L, 2L);
+        when(ownershipResolutionService.resolveOwnerIds(ResourceType.ITEM, itemIds)).thenReturn(Map.of(1L, 1L));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> securityService.getUnownedResourceIds(itemIds, ResourceType.ITEM));
+    }
+
+    @Test
+    void getUnownedResourceIds_ShouldOnlyLoadUncachedIds_WithinSameRequest() {
+        // Arrange: Bind a request and warm the cache for item 1
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        setUpJwtAuthentication(1L);
+        when(ownershipResolutionService.resolveOwnerId(ResourceType.ITEM, 1L)).thenReturn(1L);
+        when(ownershipResolutionService.resolveOwnerIds(ResourceType.ITEM, List.of(2L))).thenReturn(Map.of(2L, 1L));
+
+        securityService.isResourceOwner(1L, ResourceType.ITEM);
+
+        // Act
+        List<Long> unownedIds = securityService.getUnownedResourceIds(List.of(1L, 2L), ResourceType.ITEM);
+
+        // Assert: Only item 2 was looked up in bulk
+        assertTrue(unownedIds.isEmpty());
+        verify(ownershipResolutionService, times(1)).resolveOwnerIds(ResourceType.ITEM, List.of(2L));
     }
-}
\ No newline at end of file
+}